@@ -0,0 +1,28 @@
+package buildchallengePartA;
+
+import java.util.List;
+
+/**
+ * Destination that accepts items in bulk, such as a file appender or a local
+ * database writer.
+ *
+ * Used by {@link BatchingConsumer}, which accumulates items and hands them over
+ * in a single call so the per-call cost of the sink is paid once per batch
+ * instead of once per item.
+ *
+ * @param <T> the type of items written
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+@FunctionalInterface
+interface BatchSink<T> {
+
+    /**
+     * Writes a batch of items. The list is reused by the caller once this
+     * method returns, so implementations must copy what they want to keep.
+     *
+     * @param batch the items to write, in queue order; never empty
+     */
+    void write(List<T> batch);
+}
@@ -0,0 +1,179 @@
+package buildchallengePartA;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer thread that accumulates items from a shared blocking queue into
+ * micro-batches and flushes each batch to a {@link BatchSink} in one call.
+ *
+ * A batch is flushed as soon as one of these holds:
+ *
+ *   it reached maxBatchSize items (SIZE)
+ *   lingerMillis elapsed since its first item was taken (LINGER)
+ *   all items this consumer should process have been taken (END_OF_INPUT)
+ *   the consumer was interrupted with items still pending (SHUTDOWN)
+ *
+ * A larger batch size or linger amortizes sink cost over more items at the
+ * price of latency; the metrics exposed here (batch sizes, flush reasons,
+ * flush latency and how long items lingered) are meant to tune that tradeoff.
+ *
+ * Thread Safety: One BatchingConsumer runs on one thread; its metrics can be
+ * read from any thread.
+ *
+ * @param <T> the type of items consumed
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class BatchingConsumer<T> implements Runnable {
+
+    /** Why a batch was flushed */
+    enum FlushReason { SIZE, LINGER, END_OF_INPUT, SHUTDOWN }
+
+    private final CustomBlockingQueue<T> sharedQueue;
+    private final BatchSink<T> sink;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final int itemsToConsume;
+
+    // Metrics, guarded by this
+    private long batchCount;
+    private long itemCount;
+    private int largestBatch;
+    private final long[] flushesByReason = new long[FlushReason.values().length];
+    private long totalFlushNanos;
+    private long maxFlushNanos;
+    private long totalLingerNanos;
+    private long maxLingerNanos;
+
+    /**
+     * Creates a new BatchingConsumer.
+     *
+     * @param sharedQueue the blocking queue from which items will be retrieved
+     * @param sink the bulk destination for flushed batches
+     * @param maxBatchSize the maximum number of items per batch
+     * @param lingerMillis how long a batch may wait for more items after its first one
+     * @param itemsToConsume the number of items this consumer should process
+     * @throws IllegalArgumentException if maxBatchSize is not positive or lingerMillis is negative
+     */
+    public BatchingConsumer(CustomBlockingQueue<T> sharedQueue,
+                            BatchSink<T> sink,
+                            int maxBatchSize,
+                            long lingerMillis,
+                            int itemsToConsume) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("Linger must not be negative: " + lingerMillis);
+        }
+        this.sharedQueue = sharedQueue;
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.itemsToConsume = itemsToConsume;
+    }
+
+    /**
+     * Executes the consumer logic: blocks for the first item of a batch, then
+     * collects more until the batch is full or its linger deadline passes.
+     */
+    @Override
+    public void run() {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        long firstItemNanos = 0;
+        int remaining = itemsToConsume;
+        try {
+            while (remaining > 0) {
+                batch.add(sharedQueue.take());
+                remaining--;
+                firstItemNanos = System.nanoTime();
+                long deadline = firstItemNanos + lingerNanos;
+
+                while (batch.size() < maxBatchSize && remaining > 0) {
+                    // Grab whatever is already queued under one lock acquisition
+                    remaining -= sharedQueue.drainTo(batch,
+                            Math.min(maxBatchSize - batch.size(), remaining));
+                    if (batch.size() == maxBatchSize || remaining == 0) {
+                        break;
+                    }
+                    long wait = deadline - System.nanoTime();
+                    T next = wait > 0 ? sharedQueue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break; // Linger deadline reached
+                    }
+                    batch.add(next);
+                    remaining--;
+                }
+
+                FlushReason reason = batch.size() == maxBatchSize ? FlushReason.SIZE
+                        : remaining == 0 ? FlushReason.END_OF_INPUT
+                        : FlushReason.LINGER;
+                flush(batch, reason, firstItemNanos);
+            }
+            System.out.println("\n[CONSUMER] Finished - All items consumed in " + getBatchCount() + " batches");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!batch.isEmpty()) {
+                flush(batch, FlushReason.SHUTDOWN, firstItemNanos);
+            }
+            System.err.println("Consumer interrupted");
+        }
+    }
+
+    private void flush(List<T> batch, FlushReason reason, long firstItemNanos) {
+        long start = System.nanoTime();
+        sink.write(batch);
+        long end = System.nanoTime();
+        record(batch.size(), reason, end - start, start - firstItemNanos);
+        batch.clear();
+    }
+
+    private synchronized void record(int size, FlushReason reason, long flushNanos, long lingeredNanos) {
+        batchCount++;
+        itemCount += size;
+        largestBatch = Math.max(largestBatch, size);
+        flushesByReason[reason.ordinal()]++;
+        totalFlushNanos += flushNanos;
+        maxFlushNanos = Math.max(maxFlushNanos, flushNanos);
+        totalLingerNanos += lingeredNanos;
+        maxLingerNanos = Math.max(maxLingerNanos, lingeredNanos);
+    }
+
+    /** Returns the number of batches flushed so far. */
+    public synchronized long getBatchCount() { return batchCount; }
+
+    /** Returns the number of items flushed so far. */
+    public synchronized long getItemCount() { return itemCount; }
+
+    /** Returns the mean number of items per flushed batch. */
+    public synchronized double getAverageBatchSize() {
+        return batchCount > 0 ? (double) itemCount / batchCount : 0;
+    }
+
+    /** Returns the size of the largest batch flushed. */
+    public synchronized int getLargestBatch() { return largestBatch; }
+
+    /** Returns how many batches were flushed for the given reason. */
+    public synchronized long getFlushCount(FlushReason reason) {
+        return flushesByReason[reason.ordinal()];
+    }
+
+    /** Returns the mean time spent inside {@link BatchSink#write}, in nanoseconds. */
+    public synchronized double getAverageFlushNanos() {
+        return batchCount > 0 ? (double) totalFlushNanos / batchCount : 0;
+    }
+
+    /** Returns the longest time spent inside {@link BatchSink#write}, in nanoseconds. */
+    public synchronized long getMaxFlushNanos() { return maxFlushNanos; }
+
+    /** Returns the mean time between a batch's first item and its flush, in nanoseconds. */
+    public synchronized double getAverageLingerNanos() {
+        return batchCount > 0 ? (double) totalLingerNanos / batchCount : 0;
+    }
+
+    /** Returns the longest time between a batch's first item and its flush, in nanoseconds. */
+    public synchronized long getMaxLingerNanos() { return maxLingerNanos; }
+}
@@ -0,0 +1,213 @@
+package buildchallengePartA;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded broadcast (multicast) queue where every item is delivered to each
+ * registered consumer group.
+ *
+ * Items are written once into a shared ring buffer. Each consumer group keeps
+ * its own read cursor over that buffer, so the archiver, indexer and metrics
+ * consumers can all see the full stream without copying it into separate
+ * queues. Consumers within the same group compete for items, exactly like
+ * consumers of a {@link CustomBlockingQueue}.
+ *
+ * A slot is only reused once the slowest group has read past it: producers
+ * block while the distance between the write cursor and the slowest group
+ * cursor equals the capacity. The distance for each individual group is
+ * reported as its lag.
+ *
+ * @param <T> the type of elements held in this queue
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class BroadcastBlockingQueue<T> {
+    private final Object[] buffer;
+    private final int capacity;
+    /** Read cursor of each group, in registration order */
+    private final Map<String, Long> cursors;
+    private final Lock lock;
+    private final Condition notFull;
+    private final Condition notEmpty;
+    /** Total number of items ever written; the next write goes to tail % capacity */
+    private long tail;
+
+    public BroadcastBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.buffer = new Object[capacity];
+        this.cursors = new LinkedHashMap<>();
+        this.lock = new ReentrantLock();
+        this.notFull = lock.newCondition();
+        this.notEmpty = lock.newCondition();
+    }
+
+    /**
+     * Registers a consumer group. The group starts reading at the current
+     * write position, so it only sees items put after registration.
+     *
+     * @param group the name of the consumer group
+     * @throws IllegalArgumentException if the group is already registered
+     */
+    public void addGroup(String group) {
+        lock.lock();
+        try {
+            if (cursors.putIfAbsent(group, tail) != null) {
+                throw new IllegalArgumentException("Group already registered: " + group);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a consumer group. Slots held back only by this group become
+     * available to producers immediately.
+     *
+     * @param group the name of the consumer group
+     */
+    public void removeGroup(String group) {
+        lock.lock();
+        try {
+            long before = slowestCursor();
+            if (cursors.remove(group) != null) {
+                releaseSlots(before);
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds item to the shared buffer, waits while the slowest group is a
+     * full buffer behind the producer.
+     */
+    public void put(T item) throws InterruptedException {
+        lock.lock();
+        try {
+            while (tail - slowestCursor() == capacity) {
+                notFull.await(); // Wait until the slowest group frees a slot
+            }
+            buffer[(int) (tail % capacity)] = item;
+            tail++;
+            notEmpty.signalAll(); // Every group may be waiting for this item
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next item for the given group, waits if the group has
+     * already read everything written so far.
+     *
+     * @param group the name of the consumer group
+     * @throws IllegalArgumentException if the group is not registered
+     */
+    @SuppressWarnings("unchecked")
+    public T take(String group) throws InterruptedException {
+        lock.lock();
+        try {
+            long cursor = cursorOf(group);
+            while (cursor == tail) {
+                notEmpty.await(); // Wait until a new item is written
+                cursor = cursorOf(group);
+            }
+            T item = (T) buffer[(int) (cursor % capacity)];
+            long before = slowestCursor();
+            cursors.put(group, cursor + 1);
+            if (releaseSlots(before)) {
+                notFull.signalAll(); // Slowest group moved, a slot is free
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many items the given group still has to read.
+     *
+     * @param group the name of the consumer group
+     * @throws IllegalArgumentException if the group is not registered
+     */
+    public long lag(String group) {
+        lock.lock();
+        try {
+            return tail - cursorOf(group);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the lag of every registered group.
+     *
+     * @return group name to unread item count, in registration order
+     */
+    public Map<String, Long> groupLags() {
+        lock.lock();
+        try {
+            Map<String, Long> lags = new LinkedHashMap<>();
+            cursors.forEach((group, cursor) -> lags.put(group, tail - cursor));
+            return lags;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of occupied slots, i.e. the lag of the slowest group.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (tail - slowestCursor());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private long cursorOf(String group) {
+        Long cursor = cursors.get(group);
+        if (cursor == null) {
+            throw new IllegalArgumentException("Unknown group: " + group);
+        }
+        return cursor;
+    }
+
+    /** Cursor of the slowest group; with no groups nothing holds slots back. */
+    private long slowestCursor() {
+        long slowest = tail;
+        for (long cursor : cursors.values()) {
+            slowest = Math.min(slowest, cursor);
+        }
+        return slowest;
+    }
+
+    /**
+     * Drops references to the slots every group has now passed, so they can
+     * be collected before being overwritten.
+     *
+     * @param previousSlowest the slowest cursor before the last cursor change
+     * @return true if at least one slot was freed
+     */
+    private boolean releaseSlots(long previousSlowest) {
+        long slowest = slowestCursor();
+        for (long seq = previousSlowest; seq < slowest; seq++) {
+            buffer[(int) (seq % capacity)] = null;
+        }
+        return slowest > previousSlowest;
+    }
+}
@@ -0,0 +1,124 @@
+package buildchallengePartA;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded blocking queue that keeps at most one pending item per key.
+ *
+ * Items are state updates (for example the latest price of a product) whose
+ * key is derived with a key extractor. If an item with the same key is still
+ * waiting in the queue, a new item replaces it in place and keeps its queue
+ * position, so consumers only ever see the newest state and never process
+ * stale intermediate values. Replaced items are counted as conflated.
+ *
+ * Capacity limits the number of distinct pending keys. A put that replaces a
+ * pending item never blocks, even when the queue is full, because it does not
+ * need a new slot.
+ *
+ * @param <K> the type of the conflation key
+ * @param <T> the type of elements held in this queue
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class ConflatingBlockingQueue<K, T> {
+    /** Pending items by key, in queue order; replacing a value keeps its position */
+    private final LinkedHashMap<K, T> pending;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final int capacity;
+    private final Lock lock;
+    private final Condition notFull;
+    private final Condition notEmpty;
+
+    private long conflatedCount;
+
+    /**
+     * Creates a conflating queue.
+     *
+     * @param capacity maximum number of distinct pending keys
+     * @param keyExtractor derives the conflation key of an item
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public ConflatingBlockingQueue(int capacity, Function<? super T, ? extends K> keyExtractor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keyExtractor = keyExtractor;
+        this.pending = new LinkedHashMap<>();
+        this.lock = new ReentrantLock();
+        this.notFull = lock.newCondition();
+        this.notEmpty = lock.newCondition();
+    }
+
+    /**
+     * Adds item to queue, replacing a pending item with the same key in
+     * place; waits only if the key is new and the queue is full.
+     *
+     * @return true if the item replaced (conflated) a pending one
+     */
+    public boolean put(T item) throws InterruptedException {
+        K key = keyExtractor.apply(item);
+        lock.lock();
+        try {
+            while (!pending.containsKey(key) && pending.size() == capacity) {
+                notFull.await(); // Wait until a slot frees up or the key becomes pending
+            }
+            if (pending.replace(key, item) != null) {
+                conflatedCount++;
+                return true;
+            }
+            pending.put(key, item);
+            notEmpty.signal(); // Signal consumer that queue is not empty
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest pending item (holding the newest state for its key),
+     * waits if queue is empty.
+     */
+    public T take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (pending.isEmpty()) {
+                notEmpty.await(); // Wait until queue has items
+            }
+            Iterator<Map.Entry<K, T>> head = pending.entrySet().iterator();
+            T item = head.next().getValue();
+            head.remove();
+            notFull.signal(); // Signal producer that queue has space
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of distinct pending keys. */
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many items were dropped because a newer item replaced them. */
+    public long getConflatedCount() {
+        lock.lock();
+        try {
+            return conflatedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
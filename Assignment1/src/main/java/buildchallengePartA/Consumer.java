@@ -22,6 +22,8 @@ class Consumer implements Runnable {
     private final CustomBlockingQueue<String> sharedQueue;
     private final List<String> destinationContainer;
     private final int itemsToConsume;
+    private final WorkerStats stats;
+    private final Runnable acknowledgement;
 
     /**
      * Creates a new Consumer with the specified queue, destination, and item count.
@@ -37,9 +39,30 @@ class Consumer implements Runnable {
     public Consumer(CustomBlockingQueue<String> sharedQueue,
                     List<String> destinationContainer,
                     int itemsToConsume) {
+        this(sharedQueue, destinationContainer, itemsToConsume, () -> { });
+    }
+
+    /**
+     * Creates a new Consumer that runs an acknowledgement after each item has
+     * been stored, for example {@link FileStreamingProducer#acknowledge()} so
+     * the source can checkpoint its progress.
+     *
+     * @param acknowledgement called once per item after it is stored
+     */
+    public Consumer(CustomBlockingQueue<String> sharedQueue,
+                    List<String> destinationContainer,
+                    int itemsToConsume,
+                    Runnable acknowledgement) {
         this.sharedQueue = sharedQueue;
         this.destinationContainer = destinationContainer;
         this.itemsToConsume = itemsToConsume;
+        this.stats = new WorkerStats(itemsToConsume);
+        this.acknowledgement = acknowledgement;
+    }
+
+    /** Returns the live statistics of this consumer, see {@link PipelineMonitor}. */
+    WorkerStats getStats() {
+        return stats;
     }
 
     /**
@@ -50,13 +73,16 @@ class Consumer implements Runnable {
     public void run() {
         try {
             for (int i = 0; i < itemsToConsume; i++) {
+                long start = System.nanoTime();
                 String item = sharedQueue.take();
+                stats.recordItem(System.nanoTime() - start);
                 System.out.println("\n[CONSUMER] Processing: " + item);
 
                 // Store in destination container with synchronization
                 synchronized (destinationContainer) {
                     destinationContainer.add(item);
                 }
+                acknowledgement.run();
 
                 Thread.sleep(250); // Simulate processing time (slower than producer)
             }
@@ -64,6 +90,8 @@ class Consumer implements Runnable {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.err.println("Consumer interrupted");
+        } finally {
+            stats.markFinished();
         }
     }
 }
@@ -1,7 +1,14 @@
 package buildchallengePartA;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -14,6 +21,18 @@ import java.util.concurrent.locks.ReentrantLock;
  * block until space becomes available. When empty, consumers block until
  * items are available.
  *
+ * Besides the blocking put/take, putAsync/takeAsync return CompletableFutures
+ * for event-loop code that must never block. Blocked threads and pending
+ * futures wait in one FIFO line per side, so sync and async waiters are served
+ * strictly in arrival order and neither kind can starve the other. Each
+ * blocked thread waits on its own Condition and is only signalled when it
+ * reaches the head of its line. Futures are always completed after the lock
+ * is released, so their callbacks never run while holding it.
+ *
+ * Cumulative statistics (puts, takes, full/empty waits, blocked time) are
+ * kept in LongAdders and the current depth in a volatile field, so monitoring
+ * code such as {@link QueueStats} reads them without taking the lock.
+ *
  * @param <T> the type of elements held in this queue
  * @author Manan Vijayvargiya
  * @version 1.0
@@ -24,18 +43,38 @@ import java.util.concurrent.locks.ReentrantLock;
  * Custom Blocking Queue implementation demonstrating wait/notify mechanism
  */
 class CustomBlockingQueue<T> {
-    private final Queue<T> queue;
+    private final Deque<T> queue;
     private final int capacity;
     private final Lock lock;
-    private final Condition notFull;
-    private final Condition notEmpty;
+    /** Consumers waiting for an item, in arrival order */
+    private final Deque<Waiter<T>> takers;
+    /** Producers waiting for space, in arrival order */
+    private final Deque<Waiter<T>> putters;
+    /** Future completions collected under the lock, run after unlocking */
+    private final List<Runnable> completions;
+    /**
+     * Slots held by async waiters whose futures are not completed yet: items
+     * handed to takers (a cancelled taker returns its item into its slot) and
+     * items of putters, added only once their futures complete
+     */
+    private int reserved;
+
+    // Statistics, readable without the lock
+    private volatile int depth;
+    private final LongAdder totalPuts = new LongAdder();
+    private final LongAdder totalTakes = new LongAdder();
+    private final LongAdder fullWaits = new LongAdder();
+    private final LongAdder emptyWaits = new LongAdder();
+    private final LongAdder putBlockedNanos = new LongAdder();
+    private final LongAdder takeBlockedNanos = new LongAdder();
 
     public CustomBlockingQueue(int capacity) {
         this.capacity = capacity;
         this.queue = new LinkedList<>();
         this.lock = new ReentrantLock();
-        this.notFull = lock.newCondition();
-        this.notEmpty = lock.newCondition();
+        this.takers = new ArrayDeque<>();
+        this.putters = new ArrayDeque<>();
+        this.completions = new ArrayList<>();
     }
 
     /**
@@ -44,15 +83,31 @@ class CustomBlockingQueue<T> {
     public void put(T item) throws InterruptedException {
         lock.lock();
         try {
-            while (queue.size() == capacity) {
-                System.out.println(Thread.currentThread().getName() + " - Queue FULL, waiting...");
-                notFull.await(); // Wait until queue has space
+            if (putters.isEmpty() && !isFull()) {
+                addItem(item);
+                dispatch();
+                return;
+            }
+            System.out.println(Thread.currentThread().getName() + " - Queue FULL, waiting...");
+            Waiter<T> waiter = Waiter.blocking(lock.newCondition(), item);
+            putters.addLast(waiter);
+            fullWaits.increment();
+            try {
+                while (putters.peekFirst() != waiter || isFull()) {
+                    waiter.turn.await(); // Wait until first in line and queue has space
+                }
+            } catch (InterruptedException e) {
+                putters.remove(waiter);
+                dispatch(); // The next waiter may be able to proceed now
+                throw e;
+            } finally {
+                putBlockedNanos.add(System.nanoTime() - waiter.since);
             }
-            queue.offer(item);
-            System.out.println(Thread.currentThread().getName() + " - Added: " + item + " | Queue size: " + queue.size());
-            notEmpty.signal(); // Signal consumer that queue is not empty
+            putters.removeFirst();
+            addItem(item);
+            dispatch();
         } finally {
-            lock.unlock();
+            unlockAndComplete();
         }
     }
 
@@ -62,16 +117,156 @@ class CustomBlockingQueue<T> {
     public T take() throws InterruptedException {
         lock.lock();
         try {
-            while (queue.isEmpty()) {
-                System.out.println(Thread.currentThread().getName() + " - Queue EMPTY, waiting...");
-                notEmpty.await(); // Wait until queue has items
+            if (takers.isEmpty() && !queue.isEmpty()) {
+                T item = removeItem();
+                dispatch();
+                return item;
             }
-            T item = queue.poll();
-            System.out.println(Thread.currentThread().getName() + " - Removed: " + item + " | Queue size: " + queue.size());
-            notFull.signal(); // Signal producer that queue has space
+            System.out.println(Thread.currentThread().getName() + " - Queue EMPTY, waiting...");
+            Waiter<T> waiter = Waiter.blocking(lock.newCondition(), null);
+            takers.addLast(waiter);
+            emptyWaits.increment();
+            try {
+                while (takers.peekFirst() != waiter || queue.isEmpty()) {
+                    waiter.turn.await(); // Wait until first in line and queue has items
+                }
+            } catch (InterruptedException e) {
+                takers.remove(waiter);
+                dispatch();
+                throw e;
+            } finally {
+                takeBlockedNanos.add(System.nanoTime() - waiter.since);
+            }
+            takers.removeFirst();
+            T item = removeItem();
+            dispatch();
             return item;
         } finally {
-            lock.unlock();
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Removes item from queue, waits up to the given timeout if queue is empty
+     *
+     * @return the item, or null if the timeout elapsed before one was available
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            if (takers.isEmpty() && !queue.isEmpty()) {
+                T item = removeItem();
+                dispatch();
+                return item;
+            }
+            if (nanos <= 0) {
+                return null;
+            }
+            Waiter<T> waiter = Waiter.blocking(lock.newCondition(), null);
+            takers.addLast(waiter);
+            emptyWaits.increment();
+            try {
+                while (takers.peekFirst() != waiter || queue.isEmpty()) {
+                    if (nanos <= 0) {
+                        takers.remove(waiter);
+                        dispatch();
+                        return null;
+                    }
+                    nanos = waiter.turn.awaitNanos(nanos); // Wait for an item or time runs out
+                }
+            } catch (InterruptedException e) {
+                takers.remove(waiter);
+                dispatch();
+                throw e;
+            } finally {
+                takeBlockedNanos.add(System.nanoTime() - waiter.since);
+            }
+            takers.removeFirst();
+            T item = removeItem();
+            dispatch();
+            return item;
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Moves up to maxElements available items into the given collection
+     * without waiting, under a single lock acquisition. Items already promised
+     * to waiting consumers are left for them.
+     *
+     * @return the number of items moved
+     */
+    public int drainTo(Collection<? super T> destination, int maxElements) {
+        lock.lock();
+        try {
+            if (!takers.isEmpty()) {
+                return 0; // Earlier consumers are first in line
+            }
+            int drained = 0;
+            while (drained < maxElements && !queue.isEmpty()) {
+                destination.add(queue.poll());
+                drained++;
+            }
+            if (drained > 0) {
+                depth = queue.size();
+                totalTakes.add(drained);
+                System.out.println(Thread.currentThread().getName() + " - Drained: " + drained + " items | Queue size: " + queue.size());
+                dispatch(); // Several slots may have been freed
+            }
+            return drained;
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Adds item without blocking the caller.
+     *
+     * @return a future completed once the item is accepted; immediately if
+     *         there is space and no producer is waiting ahead. The item is
+     *         added right after, ahead of later producers. Cancelling the
+     *         future before it completes withdraws the item.
+     */
+    public CompletableFuture<Void> putAsync(T item) {
+        lock.lock();
+        try {
+            if (putters.isEmpty() && !isFull()) {
+                addItem(item);
+                dispatch();
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            putters.addLast(Waiter.async(future, item));
+            fullWaits.increment();
+            return future;
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Removes an item without blocking the caller.
+     *
+     * @return a future completed with the item; immediately if one is
+     *         available and no consumer is waiting ahead. Cancelling the future
+     *         before that withdraws the request.
+     */
+    public CompletableFuture<T> takeAsync() {
+        lock.lock();
+        try {
+            if (takers.isEmpty() && !queue.isEmpty()) {
+                T item = removeItem();
+                dispatch();
+                return CompletableFuture.completedFuture(item);
+            }
+            CompletableFuture<T> future = new CompletableFuture<>();
+            takers.addLast(Waiter.async(future, null));
+            emptyWaits.increment();
+            return future;
+        } finally {
+            unlockAndComplete();
         }
     }
 
@@ -83,4 +278,191 @@ class CustomBlockingQueue<T> {
             lock.unlock();
         }
     }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Returns the current number of items without taking the lock; may be momentarily stale. */
+    int depth() { return depth; }
+
+    long getTotalPuts() { return totalPuts.sum(); }
+    long getTotalTakes() { return totalTakes.sum(); }
+    /** Number of puts (sync or async) that had to wait for space */
+    long getFullWaitCount() { return fullWaits.sum(); }
+    /** Number of takes/polls (sync or async) that had to wait for an item */
+    long getEmptyWaitCount() { return emptyWaits.sum(); }
+    long getPutBlockedNanos() { return putBlockedNanos.sum(); }
+    long getTakeBlockedNanos() { return takeBlockedNanos.sum(); }
+
+    private void addItem(T item) {
+        queue.offer(item);
+        depth = queue.size();
+        totalPuts.increment();
+        System.out.println(Thread.currentThread().getName() + " - Added: " + item + " | Queue size: " + queue.size());
+    }
+
+    private T removeItem() {
+        T item = queue.poll();
+        depth = queue.size();
+        totalTakes.increment();
+        System.out.println(Thread.currentThread().getName() + " - Removed: " + item + " | Queue size: " + queue.size());
+        return item;
+    }
+
+    /**
+     * Serves the heads of both waiting lines as far as the queue state allows.
+     * Async waiters are served on the spot (their futures are completed after
+     * unlocking); a blocked thread at the head is signalled and serves itself.
+     * Must be called with the lock held after every state change.
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatch() {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+
+            Waiter<T> taker = takers.peekFirst();
+            if (taker != null && taker.isAsync() && taker.future.isDone()) {
+                takers.removeFirst(); // Cancelled by its owner
+                progress = true;
+            } else if (taker != null && !queue.isEmpty()) {
+                if (taker.isAsync()) {
+                    takers.removeFirst();
+                    takeBlockedNanos.add(System.nanoTime() - taker.since);
+                    reserved++; // Until the future is completed
+                    T item = removeItem();
+                    CompletableFuture<T> future = (CompletableFuture<T>) taker.future;
+                    completions.add(() -> {
+                        if (future.complete(item)) {
+                            releaseReserved();
+                        } else {
+                            requeueAtHead(item); // Cancelled after being served
+                        }
+                    });
+                    progress = true;
+                } else {
+                    taker.turn.signal(); // Its turn: wake it to take the head item
+                }
+            }
+
+            Waiter<T> putter = putters.peekFirst();
+            if (putter != null && putter.served) {
+                // Its completion is in flight; later producers stay behind it
+            } else if (putter != null && putter.isAsync() && putter.future.isDone()) {
+                putters.removeFirst(); // Cancelled: the item is withdrawn
+                progress = true;
+            } else if (putter != null && !isFull()) {
+                if (putter.isAsync()) {
+                    putter.served = true;
+                    putBlockedNanos.add(System.nanoTime() - putter.since);
+                    reserved++; // Until the future is completed
+                    CompletableFuture<Void> future = (CompletableFuture<Void>) putter.future;
+                    completions.add(() -> addReserved(putter, future.complete(null)));
+                    progress = true;
+                } else {
+                    putter.turn.signal(); // Its turn: wake it to add its item
+                }
+            }
+        }
+    }
+
+    /** Whether no item may be added: counts the slots reserved for in-flight items. */
+    private boolean isFull() {
+        return queue.size() + reserved >= capacity;
+    }
+
+    /** Frees the slot of an item whose async taker has received it. */
+    private void releaseReserved() {
+        lock.lock();
+        try {
+            reserved--;
+            dispatch();
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Adds the item of a served async putter into the slot reserved for it,
+     * unless its future was cancelled first, and lets later producers go.
+     */
+    private void addReserved(Waiter<T> putter, boolean accepted) {
+        lock.lock();
+        try {
+            reserved--;
+            putters.remove(putter);
+            if (accepted) {
+                addItem(putter.item);
+            }
+            dispatch();
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /**
+     * Returns an item whose async taker was cancelled while its completion was
+     * in flight to the front of the queue, so it is not lost or reordered.
+     * The item goes back into the slot reserved for it, so the queue never
+     * exceeds its capacity.
+     */
+    private void requeueAtHead(T item) {
+        lock.lock();
+        try {
+            reserved--;
+            queue.addFirst(item);
+            depth = queue.size();
+            totalTakes.decrement(); // The earlier take did not happen after all
+            dispatch();
+        } finally {
+            unlockAndComplete();
+        }
+    }
+
+    /** Releases the lock, then completes the futures collected while holding it. */
+    private void unlockAndComplete() {
+        if (completions.isEmpty()) {
+            lock.unlock();
+            return;
+        }
+        List<Runnable> ready = new ArrayList<>(completions);
+        completions.clear();
+        lock.unlock();
+        ready.forEach(Runnable::run);
+    }
+
+    /**
+     * A place in one of the waiting lines: either a blocked thread with its
+     * own Condition, or a pending future.
+     */
+    private static final class Waiter<T> {
+        private final Condition turn;
+        private final CompletableFuture<?> future;
+        /** The item to add, for producers */
+        private final T item;
+        /** When the waiter joined the line, for blocked-time statistics */
+        private final long since;
+        /** Whether an async producer has been given a slot and awaits its completion */
+        private boolean served;
+
+        private Waiter(Condition turn, CompletableFuture<?> future, T item) {
+            this.turn = turn;
+            this.future = future;
+            this.item = item;
+            this.since = System.nanoTime();
+        }
+
+        static <T> Waiter<T> blocking(Condition turn, T item) {
+            return new Waiter<>(turn, null, item);
+        }
+
+        static <T> Waiter<T> async(CompletableFuture<?> future, T item) {
+            return new Waiter<>(null, future, item);
+        }
+
+        boolean isAsync() {
+            return future != null;
+        }
+    }
 }
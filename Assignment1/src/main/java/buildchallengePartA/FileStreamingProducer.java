@@ -0,0 +1,229 @@
+package buildchallengePartA;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Producer that streams newline-separated UTF-8 records from a file into a
+ * shared blocking queue, instead of requiring the whole input in a list.
+ *
+ * The file is read sequentially through a {@link FileChannel} into a reused
+ * direct buffer, so heap use is bounded by the buffer, the longest record and
+ * the queue, whatever the file size. A trailing '\r' is stripped from each
+ * record and a final record without a newline is still emitted.
+ *
+ * Every record put into the queue is remembered with the byte offset just
+ * past it. Consumers call {@link #acknowledge()} once a record has been fully
+ * processed; the acknowledged offset is written to an {@link OffsetCheckpoint}
+ * every checkpointInterval acknowledgements and when the last record is
+ * acknowledged. A new producer for the same file and checkpoint starts
+ * reading at the saved offset, so a restarted transfer skips everything
+ * already processed. Records taken but not yet acknowledged when the transfer
+ * stopped are delivered again (at-least-once).
+ *
+ * Acknowledgements are matched to records in queue order, so this assumes a
+ * single consumer that acknowledges each record in the order it took them.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class FileStreamingProducer implements Runnable {
+    private static final int DEFAULT_BUFFER_BYTES = 64 * 1024;
+
+    private final Path sourceFile;
+    private final CustomBlockingQueue<String> sharedQueue;
+    private final OffsetCheckpoint checkpoint;
+    private final int checkpointInterval;
+    private final int bufferBytes;
+
+    /** End offsets of records put but not yet acknowledged, oldest first */
+    private final Deque<Long> unacknowledged;
+    private final long startOffset;
+    private long acknowledgedOffset;
+    private long acknowledgedCount;
+    private long itemsProduced;
+    private boolean finished;
+
+    /**
+     * Creates a producer with a 64 KB read buffer.
+     *
+     * @param sourceFile file of newline-separated UTF-8 records
+     * @param sharedQueue the blocking queue where records will be placed
+     * @param checkpoint where acknowledged offsets are saved and resumed from
+     * @param checkpointInterval number of acknowledgements between checkpoint writes
+     */
+    public FileStreamingProducer(Path sourceFile, CustomBlockingQueue<String> sharedQueue,
+                                 OffsetCheckpoint checkpoint, int checkpointInterval) {
+        this(sourceFile, sharedQueue, checkpoint, checkpointInterval, DEFAULT_BUFFER_BYTES);
+    }
+
+    /**
+     * Creates a producer.
+     *
+     * @param bufferBytes size of the direct read buffer
+     * @throws IllegalArgumentException if checkpointInterval or bufferBytes is not positive
+     * @throws IllegalStateException if the saved checkpoint is corrupt
+     */
+    public FileStreamingProducer(Path sourceFile, CustomBlockingQueue<String> sharedQueue,
+                                 OffsetCheckpoint checkpoint, int checkpointInterval, int bufferBytes) {
+        if (checkpointInterval <= 0 || bufferBytes <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval and buffer size must be positive");
+        }
+        this.sourceFile = sourceFile;
+        this.sharedQueue = sharedQueue;
+        this.checkpoint = checkpoint;
+        this.checkpointInterval = checkpointInterval;
+        this.bufferBytes = bufferBytes;
+        this.unacknowledged = new ArrayDeque<>();
+        this.startOffset = checkpoint.load();
+        this.acknowledgedOffset = startOffset;
+    }
+
+    /**
+     * Executes the producer logic: reads records from the file, starting at
+     * the checkpointed offset, and places them in the queue.
+     *
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    @Override
+    public void run() {
+        try (FileChannel channel = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+            if (startOffset > channel.size()) {
+                throw new IllegalStateException("Checkpoint offset " + startOffset
+                        + " is beyond the end of " + sourceFile);
+            }
+            channel.position(startOffset);
+            streamRecords(channel);
+            System.out.println("\n[FILE PRODUCER] Finished - " + itemsProduced + " records produced");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + sourceFile, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("File producer interrupted");
+        }
+    }
+
+    private void streamRecords(FileChannel channel) throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+        byte[] record = new byte[256];
+        int recordLength = 0;
+        long offset = startOffset;
+
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                int newline = indexOfNewline(buffer, start);
+                int end = newline < 0 ? buffer.limit() : newline;
+
+                int chunk = end - start;
+                if (recordLength + chunk > record.length) {
+                    record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + chunk));
+                }
+                buffer.get(record, recordLength, chunk);
+                recordLength += chunk;
+                offset += chunk;
+
+                if (newline >= 0) {
+                    buffer.get(); // Skip the newline
+                    offset++;
+                    emit(record, recordLength, offset);
+                    recordLength = 0;
+                }
+            }
+            buffer.clear();
+        }
+        if (recordLength > 0) {
+            emit(record, recordLength, offset); // Last record without a newline
+        }
+        synchronized (this) {
+            finished = true;
+            if (unacknowledged.isEmpty() && acknowledgedCount % checkpointInterval != 0) {
+                checkpoint.save(acknowledgedOffset); // Consumer caught up before EOF was seen
+            }
+        }
+    }
+
+    private static int indexOfNewline(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void emit(byte[] record, int length, long endOffset) throws InterruptedException {
+        if (length > 0 && record[length - 1] == '\r') {
+            length--;
+        }
+        String item = new String(record, 0, length, StandardCharsets.UTF_8);
+        synchronized (this) {
+            unacknowledged.addLast(endOffset); // Before put, so an immediate ack finds it
+        }
+        try {
+            sharedQueue.put(item);
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                unacknowledged.pollLast();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            itemsProduced++;
+        }
+    }
+
+    /**
+     * Marks the oldest outstanding record as fully processed, saving a
+     * checkpoint when the interval is reached or the last record of the file
+     * has been acknowledged.
+     *
+     * @throws IllegalStateException if no record is outstanding
+     */
+    public synchronized void acknowledge() {
+        Long endOffset = unacknowledged.pollFirst();
+        if (endOffset == null) {
+            throw new IllegalStateException("No outstanding record to acknowledge");
+        }
+        acknowledgedOffset = endOffset;
+        acknowledgedCount++;
+        if (acknowledgedCount % checkpointInterval == 0 || (finished && unacknowledged.isEmpty())) {
+            checkpoint.save(acknowledgedOffset);
+        }
+    }
+
+    /** Saves the current acknowledged offset immediately, e.g. on shutdown. */
+    public synchronized void flushCheckpoint() {
+        checkpoint.save(acknowledgedOffset);
+    }
+
+    /** Returns the offset the producer started reading from. */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /** Returns the byte offset just past the last acknowledged record. */
+    public synchronized long getAcknowledgedOffset() {
+        return acknowledgedOffset;
+    }
+
+    /** Returns how many records have been acknowledged by this producer's consumers. */
+    public synchronized long getAcknowledgedCount() {
+        return acknowledgedCount;
+    }
+
+    /** Returns how many records were put into the queue by this producer. */
+    public synchronized long getItemsProduced() {
+        return itemsProduced;
+    }
+}
@@ -0,0 +1,281 @@
+package buildchallengePartA;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded single-producer/single-consumer queue that lives in a
+ * memory-mapped file, so a producer and a consumer running in separate JVMs
+ * on the same host can exchange items without sockets.
+ *
+ * File layout (all offsets in bytes, native byte order):
+ *
+ *   0   magic, identifies an initialized queue file
+ *   8   capacity of the data region
+ *   64  head: total bytes consumed, written only by the consumer
+ *   128 tail: total bytes produced, written only by the producer
+ *   192 data region, used as a ring buffer
+ *
+ * The head and tail cursors sit on separate cache lines and are accessed with
+ * {@link VarHandle} acquire/release semantics: the producer writes a record and
+ * then publishes it with a release store of the tail, and the consumer reads
+ * the tail with an acquire load before touching the record. The consumer frees
+ * space the same way through the head.
+ *
+ * Records are length-prefixed (4-byte length, then payload) and padded to 8
+ * bytes. A record never wraps around the end of the ring; when it does not fit,
+ * the producer writes a wrap marker (length -1) and continues at offset 0.
+ *
+ * A side that cannot proceed spins briefly and then parks for short, growing
+ * intervals, re-checking the opposite cursor each time; there is no way to
+ * wake a thread in another process directly.
+ *
+ * Thread Safety: At most one producing process and one consuming process.
+ * Within a process, put/offer and take/poll are each serialized, so several
+ * threads may share one side.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class MappedFileQueue implements AutoCloseable {
+    private static final long MAGIC = 0x4D4D_5155_4555_4531L; // "MMQUEUE1"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int HEAD_OFFSET = 64;
+    private static final int TAIL_OFFSET = 128;
+    private static final int DATA_OFFSET = 192;
+
+    private static final int LENGTH_PREFIX = 4;
+    private static final int WRAP_MARKER = -1;
+
+    private static final int SPIN_LIMIT = 1_000;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Object producerLock = new Object();
+    private final Object consumerLock = new Object();
+
+    private MappedFileQueue(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates (or resets) a queue file with the given data capacity.
+     *
+     * @param file the file backing the queue
+     * @param capacity size of the data region in bytes, rounded up to a multiple of 8
+     * @throws IOException if the file cannot be created or mapped
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public static MappedFileQueue create(Path file, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int dataCapacity = align(capacity);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + dataCapacity);
+            buffer.order(ByteOrder.nativeOrder());
+            LONGS.setRelease(buffer, HEAD_OFFSET, 0L);
+            LONGS.setRelease(buffer, TAIL_OFFSET, 0L);
+            LONGS.setRelease(buffer, CAPACITY_OFFSET, (long) dataCapacity);
+            LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC); // Published last: the file is ready
+            return new MappedFileQueue(channel, buffer, dataCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a queue file previously initialized by {@link #create}, typically
+     * from another process.
+     *
+     * @param file the file backing the queue
+     * @throws IOException if the file cannot be mapped or is not a queue file
+     */
+    public static MappedFileQueue open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < DATA_OFFSET) {
+                throw new IOException("Not a queue file (too small): " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET);
+            header.order(ByteOrder.nativeOrder());
+            if ((long) LONGS.getAcquire(header, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not an initialized queue file: " + file);
+            }
+            int dataCapacity = (int) (long) LONGS.getAcquire(header, CAPACITY_OFFSET);
+            if (channel.size() < DATA_OFFSET + (long) dataCapacity) {
+                throw new IOException("Queue file is truncated: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + dataCapacity);
+            buffer.order(ByteOrder.nativeOrder());
+            return new MappedFileQueue(channel, buffer, dataCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record, waits while there is not enough free space.
+     *
+     * @throws IllegalArgumentException if the record can never fit in the queue
+     */
+    public void put(byte[] payload) throws InterruptedException {
+        synchronized (producerLock) {
+            int idle = 0;
+            while (!tryWrite(payload)) {
+                idle = backOff(idle);
+            }
+        }
+    }
+
+    /**
+     * Appends a record if there is enough free space right now.
+     *
+     * @return true if the record was written
+     * @throws IllegalArgumentException if the record can never fit in the queue
+     */
+    public boolean offer(byte[] payload) {
+        synchronized (producerLock) {
+            return tryWrite(payload);
+        }
+    }
+
+    /**
+     * Removes the oldest record, waits while the queue is empty.
+     */
+    public byte[] take() throws InterruptedException {
+        synchronized (consumerLock) {
+            int idle = 0;
+            byte[] payload;
+            while ((payload = tryRead()) == null) {
+                idle = backOff(idle);
+            }
+            return payload;
+        }
+    }
+
+    /**
+     * Removes the oldest record if one is available right now.
+     *
+     * @return the record, or null if the queue is empty
+     */
+    public byte[] poll() {
+        synchronized (consumerLock) {
+            return tryRead();
+        }
+    }
+
+    /** Appends a UTF-8 encoded string, waits while the queue is full. */
+    public void putString(String item) throws InterruptedException {
+        put(item.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Removes the oldest record and decodes it as UTF-8, waits while the queue is empty. */
+    public String takeString() throws InterruptedException {
+        return new String(take(), StandardCharsets.UTF_8);
+    }
+
+    /** Returns the number of bytes currently occupied, including padding and wrap gaps. */
+    public long usedBytes() {
+        return (long) LONGS.getAcquire(buffer, TAIL_OFFSET) - (long) LONGS.getAcquire(buffer, HEAD_OFFSET);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // The mapping itself is released when the buffer is collected
+    }
+
+    private boolean tryWrite(byte[] payload) {
+        int recordSize = align(LENGTH_PREFIX + payload.length);
+        if (recordSize > capacity) {
+            throw new IllegalArgumentException("Record of " + payload.length
+                    + " bytes exceeds queue capacity " + capacity);
+        }
+        long tail = (long) LONGS.getAcquire(buffer, TAIL_OFFSET);
+        long head = (long) LONGS.getAcquire(buffer, HEAD_OFFSET);
+        int index = (int) (tail % capacity);
+        int toEnd = capacity - index;
+        long needed = toEnd < recordSize ? toEnd + (long) recordSize : recordSize;
+        if (tail + needed - head > capacity) {
+            return false; // Consumer has not freed enough space yet
+        }
+
+        if (toEnd < recordSize) {
+            buffer.putInt(DATA_OFFSET + index, WRAP_MARKER);
+            tail += toEnd;
+            index = 0;
+        }
+        buffer.put(DATA_OFFSET + index + LENGTH_PREFIX, payload);
+        buffer.putInt(DATA_OFFSET + index, payload.length);
+        LONGS.setRelease(buffer, TAIL_OFFSET, tail + recordSize); // Publish record to consumer
+        return true;
+    }
+
+    private byte[] tryRead() {
+        long head = (long) LONGS.getAcquire(buffer, HEAD_OFFSET);
+        long tail = (long) LONGS.getAcquire(buffer, TAIL_OFFSET);
+        if (head == tail) {
+            return null;
+        }
+
+        int index = (int) (head % capacity);
+        int length = buffer.getInt(DATA_OFFSET + index);
+        if (length == WRAP_MARKER) {
+            head += capacity - index;
+            index = 0;
+            length = buffer.getInt(DATA_OFFSET);
+        }
+        byte[] payload = new byte[length];
+        buffer.get(DATA_OFFSET + index + LENGTH_PREFIX, payload);
+        LONGS.setRelease(buffer, HEAD_OFFSET, head + align(LENGTH_PREFIX + length)); // Free space for producer
+        return payload;
+    }
+
+    /**
+     * Waits a little before the caller re-checks the opposite cursor: first
+     * busy-spins, then parks for exponentially growing intervals up to 1 ms.
+     *
+     * @return the updated idle count
+     */
+    private static int backOff(int idle) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (idle < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else {
+            int shift = Math.min(idle - SPIN_LIMIT, 10);
+            LockSupport.parkNanos(Math.min(1_000L << shift, MAX_PARK_NANOS));
+        }
+        return idle + 1;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+}
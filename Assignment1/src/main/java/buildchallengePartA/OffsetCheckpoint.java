@@ -0,0 +1,70 @@
+package buildchallengePartA;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Durable record of how far into a source file a transfer has been
+ * acknowledged, used by {@link FileStreamingProducer} to resume after a
+ * restart.
+ *
+ * The offset is stored as decimal text. Every save writes a temporary file
+ * next to the checkpoint and atomically moves it over the old one, so a crash
+ * mid-write leaves either the previous or the new offset, never a torn one.
+ *
+ * Disk failures are reported as {@link UncheckedIOException}.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class OffsetCheckpoint {
+    private final Path file;
+    private final Path tempFile;
+
+    /**
+     * @param file where the offset is stored; need not exist yet
+     */
+    public OffsetCheckpoint(Path file) {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /** Returns the saved offset, or 0 if no checkpoint has been written. */
+    public long load() {
+        try {
+            String text = Files.readString(file, StandardCharsets.US_ASCII).trim();
+            long offset = Long.parseLong(text);
+            if (offset < 0) {
+                throw new IllegalStateException("Negative offset in checkpoint " + file + ": " + offset);
+            }
+            return offset;
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Corrupt checkpoint " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read checkpoint " + file, e);
+        }
+    }
+
+    /** Atomically replaces the saved offset. */
+    public void save(long offset) {
+        try {
+            Files.writeString(tempFile, Long.toString(offset), StandardCharsets.US_ASCII);
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write checkpoint " + file, e);
+        }
+    }
+
+    /** Returns the path of the checkpoint file. */
+    public Path getFile() {
+        return file;
+    }
+}
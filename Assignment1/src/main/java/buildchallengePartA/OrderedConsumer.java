@@ -0,0 +1,62 @@
+package buildchallengePartA;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Consumer thread that processes sequenced items in parallel with other
+ * consumers and hands the results to a shared {@link ReorderBuffer}.
+ *
+ * Several OrderedConsumers can take from the same queue; each one processes
+ * whatever item it receives, so processing finishes out of order. The reorder
+ * buffer then releases results into the destination container strictly in
+ * source order.
+ *
+ * Thread Safety: This class is thread-safe. Multiple instances can share the
+ * same queue and reorder buffer.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class OrderedConsumer implements Runnable {
+    private final CustomBlockingQueue<SequencedItem<String>> sharedQueue;
+    private final ReorderBuffer<String> reorderBuffer;
+    private final UnaryOperator<String> processor;
+    private final int itemsToConsume;
+
+    /**
+     * Creates a new OrderedConsumer.
+     *
+     * @param sharedQueue the blocking queue from which sequenced items will be retrieved
+     * @param reorderBuffer the buffer that restores source order before the destination
+     * @param processor the processing applied to each item
+     * @param itemsToConsume the number of items this consumer should process
+     */
+    public OrderedConsumer(CustomBlockingQueue<SequencedItem<String>> sharedQueue,
+                           ReorderBuffer<String> reorderBuffer,
+                           UnaryOperator<String> processor,
+                           int itemsToConsume) {
+        this.sharedQueue = sharedQueue;
+        this.reorderBuffer = reorderBuffer;
+        this.processor = processor;
+        this.itemsToConsume = itemsToConsume;
+    }
+
+    /**
+     * Executes the consumer logic: takes an item, processes it and submits the
+     * result under the item's original sequence number.
+     */
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < itemsToConsume; i++) {
+                SequencedItem<String> sequenced = sharedQueue.take();
+                String result = processor.apply(sequenced.getItem());
+                reorderBuffer.submit(sequenced.getSequence(), result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Consumer interrupted");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package buildchallengePartA;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers queues, producers and consumers with the platform MBean server so
+ * running pipelines can be watched live (for example with JConsole or
+ * VisualVM) without restarts or log scraping.
+ *
+ * Object names follow {@code buildchallengePartA:type=<Queue|Producer|Consumer>,name=<name>}.
+ * A single daemon thread samples every registered bean once per second to
+ * feed the items-per-second windows; it only reads counters, so monitoring
+ * never contends with producers and consumers.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+final class PipelineMonitor {
+    static final String DOMAIN = "buildchallengePartA";
+
+    /** A bean whose rate windows are fed by the sampler thread */
+    interface Sampled {
+        void sample(long nanoTime);
+    }
+
+    private static final Map<ObjectName, Sampled> SAMPLED = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "Pipeline-Monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SAMPLER.scheduleAtFixedRate(PipelineMonitor::sampleAll, 0, 1, TimeUnit.SECONDS);
+    }
+
+    private PipelineMonitor() {
+    }
+
+    /**
+     * Registers an MBean exposing the statistics of the given queue.
+     *
+     * @return the object name the bean was registered under
+     * @throws IllegalStateException if the name is taken or registration fails
+     */
+    public static ObjectName register(String name, CustomBlockingQueue<?> queue) {
+        return register("Queue", name, new QueueStats(queue));
+    }
+
+    /**
+     * Registers an MBean exposing the statistics of the given producer.
+     *
+     * @return the object name the bean was registered under
+     * @throws IllegalStateException if the name is taken or registration fails
+     */
+    public static ObjectName register(String name, Producer producer) {
+        return register("Producer", name, producer.getStats());
+    }
+
+    /**
+     * Registers an MBean exposing the statistics of the given consumer.
+     *
+     * @return the object name the bean was registered under
+     * @throws IllegalStateException if the name is taken or registration fails
+     */
+    public static ObjectName register(String name, Consumer consumer) {
+        return register("Consumer", name, consumer.getStats());
+    }
+
+    /**
+     * Removes a bean registered through this class; unknown names are ignored.
+     */
+    public static void unregister(ObjectName objectName) {
+        SAMPLED.remove(objectName);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister " + objectName, e);
+        }
+    }
+
+    /** Takes one sample of every registered bean; also used by tests to avoid waiting. */
+    static void sampleAll() {
+        long now = System.nanoTime();
+        SAMPLED.values().forEach(bean -> bean.sample(now));
+    }
+
+    private static ObjectName register(String type, String name, Sampled bean) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, objectName);
+            bean.sample(System.nanoTime());
+            SAMPLED.put(objectName, bean);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register " + type + " MBean '" + name + "'", e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 class Producer implements Runnable {
     private final List<String> sourceContainer;
     private final CustomBlockingQueue<String> sharedQueue;
+    private final WorkerStats stats;
 
     /**
      * Creates a new Producer with the specified source container and shared queue.
@@ -35,6 +36,12 @@ class Producer implements Runnable {
     public Producer(List<String> sourceContainer, CustomBlockingQueue<String> sharedQueue) {
         this.sourceContainer = sourceContainer;
         this.sharedQueue = sharedQueue;
+        this.stats = new WorkerStats(sourceContainer.size());
+    }
+
+    /** Returns the live statistics of this producer, see {@link PipelineMonitor}. */
+    WorkerStats getStats() {
+        return stats;
     }
 
     /**
@@ -46,13 +53,17 @@ class Producer implements Runnable {
         try {
             for (String item : sourceContainer) {
                 System.out.println("\n[PRODUCER] Reading from source: " + item);
+                long start = System.nanoTime();
                 sharedQueue.put(item);
+                stats.recordItem(System.nanoTime() - start);
                 Thread.sleep(100); // Simulate processing time
             }
             System.out.println("\n[PRODUCER] Finished - All items produced");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.err.println("Producer interrupted");
+        } finally {
+            stats.markFinished();
         }
     }
 }
@@ -1,5 +1,6 @@
 package buildchallengePartA;
 
+import javax.management.ObjectName;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -59,14 +60,16 @@ public class ProducerConsumerSystem {
         System.out.println("=====================================\n");
 
         // Create producer and consumer threads
-        Thread producerThread = new Thread(
-                new Producer(sourceContainer, sharedQueue),
-                "Producer-Thread"
-        );
+        Producer producer = new Producer(sourceContainer, sharedQueue);
+        Consumer consumer = new Consumer(sharedQueue, destinationContainer, sourceContainer.size());
+        Thread producerThread = new Thread(producer, "Producer-Thread");
+        Thread consumerThread = new Thread(consumer, "Consumer-Thread");
 
-        Thread consumerThread = new Thread(
-                new Consumer(sharedQueue, destinationContainer, sourceContainer.size()),
-                "Consumer-Thread"
+        // Expose live statistics over JMX while the transfer runs
+        List<ObjectName> mbeans = List.of(
+                PipelineMonitor.register("shared", sharedQueue),
+                PipelineMonitor.register(producerThread.getName(), producer),
+                PipelineMonitor.register(consumerThread.getName(), consumer)
         );
 
         // Start both threads
@@ -86,10 +89,14 @@ public class ProducerConsumerSystem {
             destinationContainer.forEach(item -> System.out.println("  " + item));
             System.out.println("\nTransfer successful: " +
                     (sourceContainer.size() == destinationContainer.size()));
+            System.out.println("Queue waits (full/empty): " + sharedQueue.getFullWaitCount()
+                    + "/" + sharedQueue.getEmptyWaitCount());
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.err.println("Main thread interrupted");
+        } finally {
+            mbeans.forEach(PipelineMonitor::unregister);
         }
     }
 }
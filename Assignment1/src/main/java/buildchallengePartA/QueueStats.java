@@ -0,0 +1,53 @@
+package buildchallengePartA;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QueueStatsMXBean} implementation backed by a {@link CustomBlockingQueue}.
+ *
+ * Cumulative counters are read straight from the queue's lock-free
+ * statistics; windowed rates come from samples taken by {@link PipelineMonitor}.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class QueueStats implements QueueStatsMXBean, PipelineMonitor.Sampled {
+    private static final int HISTORY_SECONDS = 61;
+
+    private final CustomBlockingQueue<?> queue;
+    private final RateWindow puts = new RateWindow(HISTORY_SECONDS);
+    private final RateWindow takes = new RateWindow(HISTORY_SECONDS);
+
+    public QueueStats(CustomBlockingQueue<?> queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public void sample(long nanoTime) {
+        puts.record(nanoTime, queue.getTotalPuts());
+        takes.record(nanoTime, queue.getTotalTakes());
+    }
+
+    @Override public int getDepth() { return queue.depth(); }
+    @Override public int getCapacity() { return queue.capacity(); }
+    @Override public long getTotalPuts() { return queue.getTotalPuts(); }
+    @Override public long getTotalTakes() { return queue.getTotalTakes(); }
+    @Override public long getFullWaitCount() { return queue.getFullWaitCount(); }
+    @Override public long getEmptyWaitCount() { return queue.getEmptyWaitCount(); }
+
+    @Override
+    public long getPutBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queue.getPutBlockedNanos());
+    }
+
+    @Override
+    public long getTakeBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queue.getTakeBlockedNanos());
+    }
+
+    @Override public double getPutsPerSecondLast10s() { return puts.ratePerSecond(10); }
+    @Override public double getTakesPerSecondLast10s() { return takes.ratePerSecond(10); }
+    @Override public double getPutsPerSecondLast60s() { return puts.ratePerSecond(60); }
+    @Override public double getTakesPerSecondLast60s() { return takes.ratePerSecond(60); }
+}
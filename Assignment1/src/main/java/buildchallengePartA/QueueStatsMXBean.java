@@ -0,0 +1,44 @@
+package buildchallengePartA;
+
+/**
+ * Management interface exposing live statistics of a {@link CustomBlockingQueue}.
+ *
+ * Registered by {@link PipelineMonitor} under
+ * {@code buildchallengePartA:type=Queue,name=<name>}. All attributes are read
+ * without taking the queue's lock.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+public interface QueueStatsMXBean {
+
+    /** Current number of items in the queue */
+    int getDepth();
+
+    int getCapacity();
+
+    long getTotalPuts();
+
+    long getTotalTakes();
+
+    /** Number of puts that found the queue full and had to wait */
+    long getFullWaitCount();
+
+    /** Number of takes that found the queue empty and had to wait */
+    long getEmptyWaitCount();
+
+    /** Total time producers spent waiting for space */
+    long getPutBlockedMillis();
+
+    /** Total time consumers spent waiting for items */
+    long getTakeBlockedMillis();
+
+    double getPutsPerSecondLast10s();
+
+    double getTakesPerSecondLast10s();
+
+    double getPutsPerSecondLast60s();
+
+    double getTakesPerSecondLast60s();
+}
@@ -0,0 +1,67 @@
+package buildchallengePartA;
+
+/**
+ * Rolling history of a cumulative counter, used to report items per second
+ * over recent windows (for example the last 10 or 60 seconds).
+ *
+ * A monitoring thread records (time, count) samples about once per second;
+ * rates are derived from the newest sample and the oldest one still inside
+ * the requested window. The counter being sampled is never touched here, so
+ * computing rates adds no work to the hot path.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class RateWindow {
+    private final long[] sampleNanos;
+    private final long[] sampleCounts;
+    private int next;
+    private int filled;
+
+    /**
+     * @param maxSamples number of samples kept; bounds the longest window
+     */
+    public RateWindow(int maxSamples) {
+        if (maxSamples < 2) {
+            throw new IllegalArgumentException("At least two samples are needed: " + maxSamples);
+        }
+        this.sampleNanos = new long[maxSamples];
+        this.sampleCounts = new long[maxSamples];
+    }
+
+    /** Records the value of the cumulative counter at the given time. */
+    public synchronized void record(long nanoTime, long count) {
+        sampleNanos[next] = nanoTime;
+        sampleCounts[next] = count;
+        next = (next + 1) % sampleNanos.length;
+        filled = Math.min(filled + 1, sampleNanos.length);
+    }
+
+    /**
+     * Returns the average rate over roughly the last windowSeconds, or over
+     * the available history if it is shorter.
+     *
+     * @return events per second, or 0 with fewer than two samples
+     */
+    public synchronized double ratePerSecond(int windowSeconds) {
+        if (filled < 2) {
+            return 0;
+        }
+        int newest = Math.floorMod(next - 1, sampleNanos.length);
+        long windowStart = sampleNanos[newest] - windowSeconds * 1_000_000_000L;
+        int oldest = newest;
+        for (int i = 1; i < filled; i++) {
+            int candidate = Math.floorMod(newest - i, sampleNanos.length);
+            if (sampleNanos[candidate] < windowStart) {
+                break;
+            }
+            oldest = candidate;
+        }
+        if (oldest == newest) {
+            oldest = Math.floorMod(newest - 1, sampleNanos.length); // Window shorter than one interval
+        }
+        long elapsed = sampleNanos[newest] - sampleNanos[oldest];
+        return elapsed > 0 ? (sampleCounts[newest] - sampleCounts[oldest]) * 1e9 / elapsed : 0;
+    }
+}
@@ -0,0 +1,235 @@
+package buildchallengePartA;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded reorder buffer that releases results into a destination container
+ * in sequence order.
+ *
+ * Consumers submit results under the sequence number assigned by
+ * {@link SequencedProducer}. A result whose predecessors are all released goes
+ * straight to the destination; otherwise it is parked in a slot until the gap
+ * in front of it is filled (head-of-line blocking).
+ *
+ * The buffer only holds {@code window} sequence numbers past the oldest
+ * unreleased one. A consumer submitting a result further ahead blocks until the
+ * head of the line moves, so both memory use and how far consumers can run
+ * ahead are bounded by the window.
+ *
+ * Head-of-line blocking is measured twice: how long results sat in the buffer
+ * waiting for a predecessor, and how long consumers stalled because their
+ * result was outside the window.
+ *
+ * @param <T> the type of results released to the destination
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class ReorderBuffer<T> {
+    private final Object[] slots;
+    private final boolean[] occupied;
+    private final long[] parkedAtNanos;
+    private final int window;
+    private final List<T> destinationContainer;
+    private final Lock lock;
+    private final Condition windowAdvanced;
+
+    /** Sequence number of the next result to release */
+    private long nextSequence;
+    private int buffered;
+
+    // Head-of-line blocking metrics, guarded by lock
+    private long releasedCount;
+    private long parkedCount;
+    private long parkedNanos;
+    private long maxParkedNanos;
+    private int maxBuffered;
+    private long stallCount;
+    private long stallNanos;
+
+    /**
+     * Creates a reorder buffer in front of the given destination.
+     *
+     * @param window maximum distance between the oldest unreleased sequence
+     *               number and any buffered one
+     * @param destinationContainer the list receiving results in sequence order
+     * @throws IllegalArgumentException if window is not positive
+     */
+    public ReorderBuffer(int window, List<T> destinationContainer) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.window = window;
+        this.slots = new Object[window];
+        this.occupied = new boolean[window];
+        this.parkedAtNanos = new long[window];
+        this.destinationContainer = destinationContainer;
+        this.lock = new ReentrantLock();
+        this.windowAdvanced = lock.newCondition();
+    }
+
+    /**
+     * Submits the result for the given sequence number, waits while the
+     * sequence number is outside the reorder window.
+     *
+     * @param sequence the source position of the result
+     * @param result the processed item
+     * @throws IllegalArgumentException if the sequence number was already released
+     */
+    public void submit(long sequence, T result) throws InterruptedException {
+        lock.lock();
+        try {
+            if (sequence < nextSequence) {
+                throw new IllegalArgumentException("Sequence already released: " + sequence);
+            }
+            if (sequence >= nextSequence + window) {
+                long stallStart = System.nanoTime();
+                stallCount++;
+                while (sequence >= nextSequence + window) {
+                    windowAdvanced.await(); // Wait for the head of the line to move
+                }
+                stallNanos += System.nanoTime() - stallStart;
+            }
+
+            int slot = (int) (sequence % window);
+            if (occupied[slot]) {
+                throw new IllegalArgumentException("Duplicate sequence: " + sequence);
+            }
+            slots[slot] = result;
+            occupied[slot] = true;
+            parkedAtNanos[slot] = System.nanoTime();
+            buffered++;
+            maxBuffered = Math.max(maxBuffered, buffered);
+
+            if (sequence == nextSequence) {
+                releaseReady();
+            } else {
+                parkedCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases every contiguous result starting at the head of the line.
+     */
+    @SuppressWarnings("unchecked")
+    private void releaseReady() {
+        long now = System.nanoTime();
+        int slot = (int) (nextSequence % window);
+        synchronized (destinationContainer) {
+            while (occupied[slot]) {
+                long waited = now - parkedAtNanos[slot];
+                parkedNanos += waited;
+                maxParkedNanos = Math.max(maxParkedNanos, waited);
+
+                destinationContainer.add((T) slots[slot]);
+                slots[slot] = null;
+                occupied[slot] = false;
+                buffered--;
+                releasedCount++;
+                nextSequence++;
+                slot = (int) (nextSequence % window);
+            }
+        }
+        windowAdvanced.signalAll(); // Stalled consumers may now fit in the window
+    }
+
+    /** Returns the sequence number the buffer is waiting for. */
+    public long getNextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of results parked behind a missing predecessor. */
+    public int getBufferedCount() {
+        lock.lock();
+        try {
+            return buffered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the largest number of results ever held at once (at most the window). */
+    public int getMaxBuffered() {
+        lock.lock();
+        try {
+            return maxBuffered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of results released to the destination. */
+    public long getReleasedCount() {
+        lock.lock();
+        try {
+            return releasedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of results that had to wait for a predecessor. */
+    public long getParkedCount() {
+        lock.lock();
+        try {
+            return parkedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total time results spent waiting for a predecessor, in nanoseconds. */
+    public long getParkedNanos() {
+        lock.lock();
+        try {
+            return parkedNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the longest time a single result waited for a predecessor, in nanoseconds. */
+    public long getMaxParkedNanos() {
+        lock.lock();
+        try {
+            return maxParkedNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many submits blocked because they were outside the window. */
+    public long getStallCount() {
+        lock.lock();
+        try {
+            return stallCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total time consumers were blocked outside the window, in nanoseconds. */
+    public long getStallNanos() {
+        lock.lock();
+        try {
+            return stallNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWindow() {
+        return window;
+    }
+}
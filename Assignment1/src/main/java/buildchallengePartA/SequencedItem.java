@@ -0,0 +1,31 @@
+package buildchallengePartA;
+
+/**
+ * An item tagged with its position in the source stream.
+ *
+ * Sequence numbers are assigned by {@link SequencedProducer} in source order,
+ * starting at 0, and are used by {@link ReorderBuffer} to restore that order
+ * after items have been processed by several consumers in parallel.
+ *
+ * @param <T> the type of the wrapped item
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+final class SequencedItem<T> {
+    private final long sequence;
+    private final T item;
+
+    public SequencedItem(long sequence, T item) {
+        this.sequence = sequence;
+        this.item = item;
+    }
+
+    public long getSequence() { return sequence; }
+    public T getItem() { return item; }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + item;
+    }
+}
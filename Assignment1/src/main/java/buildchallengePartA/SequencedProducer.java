@@ -0,0 +1,54 @@
+package buildchallengePartA;
+
+import java.util.List;
+
+/**
+ * Producer thread that tags every item with its source position before
+ * placing it into a shared blocking queue.
+ *
+ * This is the sequencing counterpart of {@link Producer}: items are read from
+ * the source container in order and wrapped in a {@link SequencedItem} whose
+ * sequence number is the item's index in the source. Downstream consumers can
+ * then process items in parallel while a {@link ReorderBuffer} restores the
+ * original order.
+ *
+ * Thread Safety: Sequence numbers are only assigned by the producer thread,
+ * so a single SequencedProducer must own a source container.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SequencedProducer implements Runnable {
+    private final List<String> sourceContainer;
+    private final CustomBlockingQueue<SequencedItem<String>> sharedQueue;
+
+    /**
+     * Creates a new SequencedProducer with the specified source container and shared queue.
+     *
+     * @param sourceContainer the list containing items to be produced
+     * @param sharedQueue the blocking queue where sequenced items will be placed
+     */
+    public SequencedProducer(List<String> sourceContainer,
+                             CustomBlockingQueue<SequencedItem<String>> sharedQueue) {
+        this.sourceContainer = sourceContainer;
+        this.sharedQueue = sharedQueue;
+    }
+
+    /**
+     * Executes the producer logic: numbers each source item and places it in the queue.
+     */
+    @Override
+    public void run() {
+        try {
+            long sequence = 0;
+            for (String item : sourceContainer) {
+                sharedQueue.put(new SequencedItem<>(sequence++, item));
+            }
+            System.out.println("\n[PRODUCER] Finished - All items sequenced and produced");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Producer interrupted");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package buildchallengePartA;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs one side of a producer-consumer transfer across JVMs over a
+ * {@link MappedFileQueue}.
+ *
+ * Start the consumer side first so it creates the queue file, then start the
+ * producer side in another process on the same host:
+ *
+ *   java buildchallengePartA.SharedMemoryPipeline consumer /tmp/items.queue 10
+ *   java buildchallengePartA.SharedMemoryPipeline producer /tmp/items.queue 10
+ *
+ * The producer sends Item-1 ... Item-N; the consumer prints each item with the
+ * time it took since the previous one and reports the overall transfer rate.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+public class SharedMemoryPipeline {
+    /** Data region size of the queue file created by the consumer */
+    private static final int QUEUE_CAPACITY_BYTES = 64 * 1024;
+
+    /**
+     * Entry point for one side of the cross-process transfer.
+     *
+     * @param args role (producer or consumer), queue file path, item count
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: SharedMemoryPipeline <producer|consumer> <queue-file> <item-count>");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[1]);
+        int itemCount = Integer.parseInt(args[2]);
+
+        try {
+            if ("producer".equals(args[0])) {
+                runProducer(file, itemCount);
+            } else if ("consumer".equals(args[0])) {
+                runConsumer(file, itemCount);
+            } else {
+                System.err.println("Unknown role: " + args[0]);
+                System.exit(2);
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to use queue file " + file + ": " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(args[0] + " interrupted");
+        }
+    }
+
+    static void runProducer(Path file, int itemCount) throws IOException, InterruptedException {
+        try (MappedFileQueue queue = MappedFileQueue.open(file)) {
+            for (int i = 1; i <= itemCount; i++) {
+                queue.putString("Item-" + i);
+            }
+            System.out.println("[PRODUCER] Finished - " + itemCount + " items written to " + file);
+        }
+    }
+
+    static void runConsumer(Path file, int itemCount) throws IOException, InterruptedException {
+        try (MappedFileQueue queue = MappedFileQueue.create(file, QUEUE_CAPACITY_BYTES)) {
+            long start = 0;
+            long previous = 0;
+            for (int i = 0; i < itemCount; i++) {
+                String item = queue.takeString();
+                long now = System.nanoTime();
+                if (i == 0) {
+                    start = now;
+                    System.out.println("[CONSUMER] " + item);
+                } else {
+                    System.out.printf("[CONSUMER] %s (+%.1f us)%n", item, (now - previous) / 1_000.0);
+                }
+                previous = now;
+            }
+            double seconds = (previous - start) / 1e9;
+            System.out.printf("[CONSUMER] Finished - %d items, %.0f items/s%n",
+                    itemCount, seconds > 0 ? (itemCount - 1) / seconds : 0);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package buildchallengePartA;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts queue items to and from bytes so they can be written to disk by
+ * {@link SpillingBlockingQueue} when the in-memory buffer is full.
+ *
+ * @param <T> the type of items converted
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+interface SpillCodec<T> {
+
+    byte[] encode(T item);
+
+    T decode(byte[] bytes);
+
+    /**
+     * Returns a codec storing strings as UTF-8.
+     */
+    static SpillCodec<String> utf8() {
+        return new SpillCodec<>() {
+            @Override
+            public byte[] encode(String item) {
+                return item.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,378 @@
+package buildchallengePartA;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A blocking queue with a bounded in-memory buffer that overflows to local
+ * disk instead of blocking producers.
+ *
+ * While the in-memory buffer has room the queue behaves like
+ * {@link CustomBlockingQueue}. Once it is full, new items are encoded with a
+ * {@link SpillCodec} and appended to sequential segment files in the spill
+ * directory. From then on every new item goes to disk, so nothing overtakes
+ * the spilled items. When the in-memory buffer drains, consumers replay the
+ * spilled items from the oldest segment in order, and fully read segments are
+ * deleted. After the last spilled item has been replayed the queue returns to
+ * pure in-memory mode.
+ *
+ * Producers only block when the bytes of spilled items not yet replayed would
+ * exceed the disk budget. Segment files can additionally hold at most one
+ * segment of already replayed records until that segment is fully read and
+ * deleted. Spill and replay volume are exposed as metrics.
+ *
+ * Disk failures are reported as {@link UncheckedIOException}.
+ *
+ * @param <T> the type of elements held in this queue
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SpillingBlockingQueue<T> {
+    private static final int RECORD_HEADER_BYTES = 4;
+
+    private final Deque<T> memory;
+    private final int memoryCapacity;
+    private final Path spillDirectory;
+    private final long segmentBytes;
+    private final long diskBudgetBytes;
+    private final SpillCodec<T> codec;
+    private final Lock lock;
+    private final Condition notEmpty;
+    private final Condition underBudget;
+
+    /** Segment files not yet deleted, oldest first; the last one is being written */
+    private final Deque<Segment> segments;
+    private DataOutputStream writer;
+    private DataInputStream reader;
+    private long spilledPending;
+    private long diskBytes;
+    private int nextSegmentId;
+
+    // Metrics, guarded by lock
+    private long spilledItems;
+    private long spilledBytes;
+    private long replayedItems;
+    private long replayedBytes;
+    private long segmentsCreated;
+    private long maxDiskBytes;
+    private long budgetWaits;
+
+    /**
+     * Creates a spilling queue.
+     *
+     * @param memoryCapacity maximum number of items kept in memory
+     * @param spillDirectory directory for segment files; created if missing
+     * @param segmentBytes size after which a new segment file is started
+     * @param diskBudgetBytes maximum bytes of unreplayed items on disk before producers block
+     * @param codec converts items to and from bytes
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public SpillingBlockingQueue(int memoryCapacity, Path spillDirectory, long segmentBytes,
+                                 long diskBudgetBytes, SpillCodec<T> codec) {
+        if (memoryCapacity <= 0 || segmentBytes <= 0 || diskBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Capacity, segment size and disk budget must be positive");
+        }
+        this.memoryCapacity = memoryCapacity;
+        this.memory = new ArrayDeque<>(memoryCapacity);
+        this.spillDirectory = spillDirectory;
+        this.segmentBytes = segmentBytes;
+        this.diskBudgetBytes = diskBudgetBytes;
+        this.codec = codec;
+        this.segments = new ArrayDeque<>();
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.underBudget = lock.newCondition();
+    }
+
+    /**
+     * Adds item to the queue. Goes to memory when there is room and nothing is
+     * spilled, otherwise to disk; waits only if the disk budget is exhausted.
+     *
+     * @throws IllegalArgumentException if the encoded item alone exceeds the disk budget
+     */
+    public void put(T item) throws InterruptedException {
+        lock.lock();
+        try {
+            if (spilledPending == 0 && memory.size() < memoryCapacity) {
+                memory.offer(item);
+                notEmpty.signal();
+                return;
+            }
+
+            byte[] bytes = codec.encode(item);
+            long recordBytes = RECORD_HEADER_BYTES + (long) bytes.length;
+            if (recordBytes > diskBudgetBytes) {
+                throw new IllegalArgumentException("Item of " + bytes.length + " bytes exceeds the disk budget");
+            }
+            if (diskBytes + recordBytes > diskBudgetBytes) {
+                budgetWaits++;
+                while (diskBytes + recordBytes > diskBudgetBytes) {
+                    underBudget.await(); // Wait for consumers to replay and delete segments
+                    if (spilledPending == 0 && memory.size() < memoryCapacity) {
+                        memory.offer(item); // Spill fully drained meanwhile
+                        notEmpty.signal();
+                        return;
+                    }
+                }
+            }
+            spill(bytes);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest item, replaying from disk when memory is empty;
+     * waits if the queue is empty.
+     */
+    public T take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (memory.isEmpty() && spilledPending == 0) {
+                notEmpty.await();
+            }
+            if (memory.isEmpty()) {
+                replay();
+            }
+            return memory.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of items in memory and on disk. */
+    public long size() {
+        lock.lock();
+        try {
+            return memory.size() + spilledPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns true while items are held on disk. */
+    public boolean isSpilling() {
+        lock.lock();
+        try {
+            return spilledPending > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of items currently held on disk. */
+    public long getSpilledPending() {
+        lock.lock();
+        try {
+            return spilledPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the bytes of spilled items not yet replayed. */
+    public long getDiskBytes() {
+        lock.lock();
+        try {
+            return diskBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total number of items ever written to disk. */
+    public long getSpilledItems() {
+        lock.lock();
+        try {
+            return spilledItems;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total bytes ever written to disk, including record headers. */
+    public long getSpilledBytes() {
+        lock.lock();
+        try {
+            return spilledBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total number of items read back from disk. */
+    public long getReplayedItems() {
+        lock.lock();
+        try {
+            return replayedItems;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total bytes read back from disk, including record headers. */
+    public long getReplayedBytes() {
+        lock.lock();
+        try {
+            return replayedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of segment files created. */
+    public long getSegmentsCreated() {
+        lock.lock();
+        try {
+            return segmentsCreated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the largest number of unreplayed bytes held on disk at once. */
+    public long getMaxDiskBytes() {
+        lock.lock();
+        try {
+            return maxDiskBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many puts had to wait for the disk budget. */
+    public long getBudgetWaits() {
+        lock.lock();
+        try {
+            return budgetWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void spill(byte[] bytes) {
+        try {
+            Segment segment = segments.peekLast();
+            if (segment == null || segment.bytes >= segmentBytes) {
+                segment = startSegment();
+            }
+            writer.writeInt(bytes.length);
+            writer.write(bytes);
+
+            long recordBytes = RECORD_HEADER_BYTES + (long) bytes.length;
+            segment.written++;
+            segment.bytes += recordBytes;
+            spilledPending++;
+            diskBytes += recordBytes;
+            maxDiskBytes = Math.max(maxDiskBytes, diskBytes);
+            spilledItems++;
+            spilledBytes += recordBytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to spill item to " + spillDirectory, e);
+        }
+    }
+
+    private Segment startSegment() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        Files.createDirectories(spillDirectory);
+        Segment segment = new Segment(spillDirectory.resolve("spill-" + (nextSegmentId++) + ".seg"));
+        writer = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment.path)));
+        segments.addLast(segment);
+        segmentsCreated++;
+        return segment;
+    }
+
+    /**
+     * Reads the next batch of spilled items, up to the memory capacity, back
+     * into memory in order. Returns to pure in-memory mode once nothing is
+     * left on disk.
+     */
+    private void replay() {
+        try {
+            writer.flush(); // The active segment may hold buffered records
+            while (memory.size() < memoryCapacity && spilledPending > 0) {
+                Segment segment = segments.peekFirst();
+                if (segment.read == segment.written) {
+                    // Fully read, and items are still pending, so a newer segment exists
+                    if (reader != null) {
+                        reader.close();
+                        reader = null;
+                    }
+                    deleteSegment(segments.pollFirst());
+                    continue;
+                }
+                if (reader == null) {
+                    reader = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path)));
+                }
+                int length = reader.readInt();
+                byte[] bytes = new byte[length];
+                reader.readFully(bytes);
+                memory.offer(codec.decode(bytes));
+
+                segment.read++;
+                spilledPending--;
+                replayedItems++;
+                replayedBytes += RECORD_HEADER_BYTES + (long) length;
+                diskBytes -= RECORD_HEADER_BYTES + (long) length;
+            }
+            Segment head = segments.peekFirst();
+            if (head != null && head.read == head.written && head != segments.peekLast()) {
+                // Free its disk budget now rather than on the next replay
+                if (reader != null) {
+                    reader.close();
+                    reader = null;
+                }
+                deleteSegment(segments.pollFirst());
+            }
+            if (spilledPending == 0) {
+                closeSpill();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay spilled items from " + spillDirectory, e);
+        }
+        underBudget.signalAll();
+    }
+
+    private void closeSpill() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        writer.close();
+        writer = null;
+        while (!segments.isEmpty()) {
+            deleteSegment(segments.pollFirst());
+        }
+    }
+
+    private void deleteSegment(Segment segment) throws IOException {
+        Files.deleteIfExists(segment.path);
+    }
+
+    /** Bookkeeping for one append-only segment file */
+    private static final class Segment {
+        private final Path path;
+        private int written;
+        private int read;
+        private long bytes;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package buildchallengePartA;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics kept by a {@link Producer} or {@link Consumer} while it runs,
+ * exposed over JMX as a {@link WorkerStatsMXBean}.
+ *
+ * The worker thread only increments LongAdders; readers and the
+ * {@link PipelineMonitor} sampler never block it.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class WorkerStats implements WorkerStatsMXBean, PipelineMonitor.Sampled {
+    private static final int HISTORY_SECONDS = 61;
+
+    private final long targetItems;
+    private final LongAdder itemsProcessed = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final RateWindow rate = new RateWindow(HISTORY_SECONDS);
+    private volatile boolean finished;
+
+    /**
+     * @param targetItems items the worker intends to process, or -1 if unknown
+     */
+    public WorkerStats(long targetItems) {
+        this.targetItems = targetItems;
+    }
+
+    /** Records one item moved through the queue and the time the call blocked. */
+    void recordItem(long blockedNanosForItem) {
+        itemsProcessed.increment();
+        blockedNanos.add(blockedNanosForItem);
+    }
+
+    void markFinished() {
+        finished = true;
+    }
+
+    @Override
+    public void sample(long nanoTime) {
+        rate.record(nanoTime, itemsProcessed.sum());
+    }
+
+    @Override public long getItemsProcessed() { return itemsProcessed.sum(); }
+    @Override public long getTargetItems() { return targetItems; }
+    @Override public boolean isFinished() { return finished; }
+
+    @Override
+    public long getBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+    }
+
+    @Override public double getItemsPerSecondLast10s() { return rate.ratePerSecond(10); }
+    @Override public double getItemsPerSecondLast60s() { return rate.ratePerSecond(60); }
+}
@@ -0,0 +1,30 @@
+package buildchallengePartA;
+
+/**
+ * Management interface exposing live statistics of a {@link Producer} or
+ * {@link Consumer}.
+ *
+ * Registered by {@link PipelineMonitor} under
+ * {@code buildchallengePartA:type=Producer|Consumer,name=<name>}.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+public interface WorkerStatsMXBean {
+
+    /** Items moved through the queue so far */
+    long getItemsProcessed();
+
+    /** Items this worker intends to process, or -1 if unknown */
+    long getTargetItems();
+
+    boolean isFinished();
+
+    /** Total time spent blocked in put/take */
+    long getBlockedMillis();
+
+    double getItemsPerSecondLast10s();
+
+    double getItemsPerSecondLast60s();
+}
@@ -0,0 +1,88 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingConsumerTest {
+
+    @Test
+    @DisplayName("Test full batches are flushed by size")
+    void testFlushBySize() throws InterruptedException {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(10);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 1; i <= 6; i++) {
+            queue.put("Item-" + i);
+        }
+
+        BatchingConsumer<String> consumer = new BatchingConsumer<>(queue,
+                batch -> batches.add(new ArrayList<>(batch)), 3, 1000, 6);
+        Thread thread = new Thread(consumer);
+        thread.start();
+        thread.join(2000);
+
+        assertEquals(List.of(List.of("Item-1", "Item-2", "Item-3"),
+                List.of("Item-4", "Item-5", "Item-6")), batches);
+        assertEquals(2, consumer.getBatchCount());
+        assertEquals(6, consumer.getItemCount());
+        assertEquals(3.0, consumer.getAverageBatchSize(), 0.001);
+        assertEquals(2, consumer.getFlushCount(BatchingConsumer.FlushReason.SIZE));
+        assertEquals(0, consumer.getFlushCount(BatchingConsumer.FlushReason.LINGER));
+    }
+
+    @Test
+    @DisplayName("Test partial batch is flushed when linger expires")
+    void testFlushByLinger() throws InterruptedException {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(10);
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        queue.put("A");
+        queue.put("B");
+
+        BatchingConsumer<String> consumer = new BatchingConsumer<>(queue, destination::addAll, 10, 50, 3);
+        Thread thread = new Thread(consumer);
+        thread.start();
+        Thread.sleep(300); // Well past the linger deadline
+
+        assertEquals(List.of("A", "B"), destination, "Partial batch flushed after linger");
+        assertEquals(1, consumer.getFlushCount(BatchingConsumer.FlushReason.LINGER));
+        assertTrue(consumer.getMaxLingerNanos() >= 50_000_000L);
+
+        queue.put("C");
+        thread.join(2000);
+        assertEquals(List.of("A", "B", "C"), destination);
+        assertEquals(2, consumer.getBatchCount());
+    }
+
+    @Test
+    @DisplayName("Test pending batch is flushed on interruption")
+    void testFlushOnShutdown() throws InterruptedException {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(10);
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        queue.put("A");
+
+        BatchingConsumer<String> consumer = new BatchingConsumer<>(queue, destination::addAll, 10, 10_000, 5);
+        Thread thread = new Thread(consumer);
+        thread.start();
+        Thread.sleep(100);
+        thread.interrupt();
+        thread.join(1000);
+
+        assertEquals(List.of("A"), destination);
+        assertEquals(1, consumer.getFlushCount(BatchingConsumer.FlushReason.SHUTDOWN));
+    }
+
+    @Test
+    @DisplayName("Test invalid batch configuration is rejected")
+    void testInvalidConfiguration() {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(10);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingConsumer<>(queue, batch -> { }, 0, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingConsumer<>(queue, batch -> { }, 5, -1, 1));
+    }
+}
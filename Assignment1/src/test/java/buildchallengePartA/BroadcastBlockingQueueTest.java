@@ -0,0 +1,159 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BroadcastBlockingQueue
+ */
+class BroadcastBlockingQueueTest {
+
+    private BroadcastBlockingQueue<String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new BroadcastBlockingQueue<>(3);
+        queue.addGroup("archiver");
+        queue.addGroup("indexer");
+    }
+
+    @Test
+    @DisplayName("Test every group receives every item in order")
+    void testEveryGroupReceivesAllItems() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+
+        assertEquals("A", queue.take("archiver"));
+        assertEquals("B", queue.take("archiver"));
+        assertEquals("A", queue.take("indexer"));
+        assertEquals("B", queue.take("indexer"));
+    }
+
+    @Test
+    @DisplayName("Test per-group lag reporting")
+    void testGroupLag() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        queue.take("archiver");
+        queue.take("archiver");
+
+        assertEquals(1, queue.lag("archiver"));
+        assertEquals(3, queue.lag("indexer"));
+        assertEquals(Map.of("archiver", 1L, "indexer", 3L), queue.groupLags());
+        assertEquals(3, queue.size(), "Size follows the slowest group");
+    }
+
+    @Test
+    @DisplayName("Test producer blocks until the slowest group frees a slot")
+    void testSlowestGroupHoldsSlots() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        // The fast group drains everything, the slow one reads nothing
+        for (int i = 0; i < 3; i++) {
+            queue.take("archiver");
+        }
+
+        AtomicInteger putCount = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                latch.countDown();
+                queue.put("D"); // Blocks: indexer still needs slot of "A"
+                putCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        producer.start();
+        latch.await();
+        Thread.sleep(100);
+        assertEquals(0, putCount.get(), "Producer should be blocked by the slowest group");
+
+        assertEquals("A", queue.take("indexer"));
+        producer.join(1000);
+
+        assertEquals(1, putCount.get(), "Producer should have completed");
+        assertEquals("D", queue.take("archiver"));
+    }
+
+    @Test
+    @DisplayName("Test removing a slow group releases the producer")
+    void testRemoveGroupReleasesSlots() throws InterruptedException {
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        for (int i = 0; i < 3; i++) {
+            queue.take("archiver");
+        }
+        queue.removeGroup("indexer");
+
+        assertEquals(0, queue.size());
+        queue.put("D"); // Must not block
+        assertEquals("D", queue.take("archiver"));
+    }
+
+    @Test
+    @DisplayName("Test groups registered late only see new items")
+    void testLateGroupStartsAtTail() throws InterruptedException {
+        queue.put("A");
+        queue.addGroup("metrics");
+        queue.put("B");
+
+        assertEquals(1, queue.lag("metrics"));
+        assertEquals("B", queue.take("metrics"));
+        assertThrows(IllegalArgumentException.class, () -> queue.addGroup("metrics"));
+        assertThrows(IllegalArgumentException.class, () -> queue.lag("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test concurrent groups each consume the full stream")
+    void testConcurrentGroups() throws InterruptedException {
+        int itemCount = 500;
+        List<Integer> archived = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> indexed = Collections.synchronizedList(new ArrayList<>());
+        BroadcastBlockingQueue<Integer> intQueue = new BroadcastBlockingQueue<>(8);
+        intQueue.addGroup("archiver");
+        intQueue.addGroup("indexer");
+
+        Thread archiver = groupConsumer(intQueue, "archiver", itemCount, archived);
+        Thread indexer = groupConsumer(intQueue, "indexer", itemCount, indexed);
+        archiver.start();
+        indexer.start();
+
+        for (int i = 0; i < itemCount; i++) {
+            intQueue.put(i);
+        }
+        archiver.join(5000);
+        indexer.join(5000);
+
+        assertEquals(itemCount, archived.size());
+        assertEquals(archived, indexed);
+        assertEquals(0, intQueue.size());
+    }
+
+    private Thread groupConsumer(BroadcastBlockingQueue<Integer> intQueue, String group,
+                                 int count, List<Integer> destination) {
+        return new Thread(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    destination.add(intQueue.take(group));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConflatingBlockingQueue. Items are "key=value" price updates.
+ */
+class ConflatingBlockingQueueTest {
+
+    private ConflatingBlockingQueue<String, String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ConflatingBlockingQueue<>(2, update -> update.substring(0, update.indexOf('=')));
+    }
+
+    @Test
+    @DisplayName("Test newer update replaces pending one and keeps its position")
+    void testConflationKeepsPosition() throws InterruptedException {
+        assertFalse(queue.put("apple=1"));
+        assertFalse(queue.put("pear=5"));
+        assertTrue(queue.put("apple=2"));
+        assertTrue(queue.put("apple=3"));
+
+        assertEquals(2, queue.size());
+        assertEquals("apple=3", queue.take(), "Apple keeps its original position with newest value");
+        assertEquals("pear=5", queue.take());
+        assertEquals(2, queue.getConflatedCount());
+    }
+
+    @Test
+    @DisplayName("Test key taken by consumer is queued again as a new item")
+    void testKeyRequeuedAfterTake() throws InterruptedException {
+        queue.put("apple=1");
+        assertEquals("apple=1", queue.take());
+
+        assertFalse(queue.put("apple=2"), "Nothing pending for apple, so no conflation");
+        assertEquals("apple=2", queue.take());
+        assertEquals(0, queue.getConflatedCount());
+    }
+
+    @Test
+    @DisplayName("Test update for a pending key does not block on a full queue")
+    void testConflationDoesNotBlockWhenFull() throws InterruptedException {
+        queue.put("apple=1");
+        queue.put("pear=1");
+
+        AtomicInteger putCount = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                latch.countDown();
+                queue.put("plum=1"); // New key on a full queue: blocks
+                putCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        latch.await();
+
+        queue.put("pear=2"); // Pending key: must not block
+        Thread.sleep(100);
+        assertEquals(0, putCount.get(), "New key should wait for a free slot");
+
+        assertEquals("apple=1", queue.take());
+        producer.join(1000);
+        assertEquals(1, putCount.get());
+        assertEquals("pear=2", queue.take());
+        assertEquals("plum=1", queue.take());
+    }
+
+    @Test
+    @DisplayName("Test consumer always ends with the newest state under a bursty producer")
+    void testBurstyProducerConvergesToLatestState() throws InterruptedException {
+        int updatesPerKey = 2000;
+        String[] keys = {"apple", "pear", "plum"};
+        ConflatingBlockingQueue<String, String> prices =
+                new ConflatingBlockingQueue<>(keys.length, update -> update.substring(0, update.indexOf('=')));
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 1; i <= updatesPerKey; i++) {
+                    for (String key : keys) {
+                        prices.put(key + "=" + i);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        Map<String, Integer> latest = new HashMap<>();
+        int processed = 0;
+        while (latest.values().stream().filter(v -> v == updatesPerKey).count() < keys.length) {
+            String update = prices.take();
+            String[] parts = update.split("=");
+            latest.put(parts[0], Integer.parseInt(parts[1]));
+            processed++;
+        }
+        producer.join(5000);
+
+        assertEquals(keys.length * updatesPerKey, processed + prices.getConflatedCount(),
+                "Every update is either processed or counted as conflated");
+        assertEquals(0, prices.size());
+    }
+}
@@ -4,10 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -177,4 +181,211 @@ class CustomBlockingQueueTest {
         consumer.interrupt();
         consumer.join(1000);
     }
+
+    @Test
+    @DisplayName("Test poll returns null after timeout on empty queue")
+    void testPollTimeout() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        queue.put("Item1");
+        assertEquals("Item1", queue.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Test drainTo moves available items up to the limit")
+    void testDrainTo() throws InterruptedException {
+        queue.put("Item1");
+        queue.put("Item2");
+        queue.put("Item3");
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(List.of("Item1", "Item2"), drained);
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.drainTo(drained, 5));
+        assertEquals(0, queue.drainTo(drained, 5));
+    }
+
+    @Test
+    @DisplayName("Test async take completes immediately or when an item arrives")
+    void testTakeAsync() throws Exception {
+        queue.put("Item1");
+        CompletableFuture<String> ready = queue.takeAsync();
+        assertTrue(ready.isDone());
+        assertEquals("Item1", ready.get());
+
+        CompletableFuture<String> pending = queue.takeAsync();
+        assertFalse(pending.isDone(), "No item yet, future must stay pending");
+        queue.put("Item2");
+        assertEquals("Item2", pending.get(1, TimeUnit.SECONDS));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("Test async put completes when space becomes available")
+    void testPutAsync() throws Exception {
+        queue.put("Item1");
+        queue.put("Item2");
+        assertTrue(queue.putAsync("Item3").isDone());
+
+        CompletableFuture<Void> pending = queue.putAsync("Item4");
+        assertFalse(pending.isDone(), "Queue full, future must stay pending");
+        assertEquals(3, queue.size());
+
+        assertEquals("Item1", queue.take());
+        pending.get(1, TimeUnit.SECONDS);
+        assertEquals(3, queue.size());
+        assertEquals("Item2", queue.take());
+        assertEquals("Item3", queue.take());
+        assertEquals("Item4", queue.take());
+    }
+
+    @Test
+    @DisplayName("Test sync and async consumers are served in arrival order")
+    void testSyncAsyncFairness() throws Exception {
+        List<String> syncReceived = new ArrayList<>();
+        Thread syncConsumer = new Thread(() -> {
+            try {
+                syncReceived.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        syncConsumer.start();
+        Thread.sleep(100); // Sync consumer is first in line
+
+        CompletableFuture<String> asyncTake = queue.takeAsync();
+        queue.put("First");
+        queue.put("Second");
+
+        syncConsumer.join(1000);
+        assertEquals(List.of("First"), syncReceived);
+        assertEquals("Second", asyncTake.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test cancelled async take does not consume an item")
+    void testCancelledTakeAsync() throws Exception {
+        CompletableFuture<String> cancelled = queue.takeAsync();
+        CompletableFuture<String> next = queue.takeAsync();
+        assertTrue(cancelled.cancel(false));
+
+        queue.put("Item1");
+        assertEquals("Item1", next.get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> withdrawn;
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        withdrawn = queue.putAsync("D");
+        assertTrue(withdrawn.cancel(false));
+        queue.take();
+        assertEquals(2, queue.size(), "Cancelled put must not add its item");
+    }
+
+    @Test
+    @DisplayName("Test cancelling a served async take never exceeds capacity")
+    void testCancelServedTakeAsyncRespectsCapacity() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            CustomBlockingQueue<Object> single = new CustomBlockingQueue<>(1);
+            CompletableFuture<Object> served = single.takeAsync();
+            CountDownLatch putStarted = new CountDownLatch(1);
+            Thread blockedPutter = new Thread(() -> {
+                try {
+                    putStarted.await();
+                    single.put("Other");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            blockedPutter.start();
+
+            // Printed when added, then when removed for the async taker: cancel it right then,
+            // with the other put waiting on the lock to grab the slot just freed
+            Object item = new Object() {
+                private int printed;
+
+                @Override
+                public String toString() {
+                    if (++printed == 2) {
+                        served.cancel(false);
+                        putStarted.countDown();
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                        while (blockedPutter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return "Item";
+                }
+            };
+            single.put(item);
+
+            assertTrue(served.isCancelled());
+            assertTrue(single.size() <= single.capacity(), "Size " + single.size() + " in round " + round);
+            assertSame(item, single.take(), "The requeued item stays at the head");
+            blockedPutter.join(1000);
+            assertFalse(blockedPutter.isAlive(), "The blocked put proceeds once the slot is free");
+            assertEquals(1, single.size());
+            assertEquals("Other", single.take());
+        }
+    }
+
+    @Test
+    @DisplayName("Test cancelling a served async put never leaves its item queued")
+    void testCancelServedPutAsyncWithdrawsItem() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            CustomBlockingQueue<Object> single = new CustomBlockingQueue<>(1);
+            CountDownLatch headTaken = new CountDownLatch(1);
+            // Printed when added, then when taken: that take serves the waiting put
+            single.put(new Object() {
+                private int printed;
+
+                @Override
+                public String toString() {
+                    if (++printed == 2) {
+                        headTaken.countDown();
+                    }
+                    return "Head";
+                }
+            });
+
+            AtomicBoolean cancelled = new AtomicBoolean();
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            // Printed once the item is in the queue: cancelling it then must fail
+            Object item = new Object() {
+                @Override
+                public String toString() {
+                    if (pending.get(0).cancel(false)) {
+                        cancelled.set(true);
+                    }
+                    return "Item";
+                }
+            };
+            CompletableFuture<Void> put = single.putAsync(item);
+            pending.add(put);
+            Thread canceller = new Thread(() -> {
+                try {
+                    headTaken.await();
+                    if (put.cancel(false)) {
+                        cancelled.set(true);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            canceller.start();
+
+            single.take();
+            canceller.join(1000);
+
+            assertEquals(cancelled.get(), put.isCancelled());
+            assertEquals(put.isCancelled() ? 0 : 1, single.size(), "Item queued after cancel in round " + round);
+            if (!put.isCancelled()) {
+                assertSame(item, single.take());
+            }
+            assertTrue(single.putAsync("Next").isDone(), "The reserved slot is free again");
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileStreamingProducer and OffsetCheckpoint
+ */
+class FileStreamingProducerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test records spanning buffer boundaries are streamed intact and in order")
+    void testStreamsRecordsAcrossBuffers() throws Exception {
+        String longRecord = "L".repeat(50);
+        Path source = write("a.txt", "Item-1\r\nItem-é€\n\n" + longRecord + "\nLast");
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(10);
+        FileStreamingProducer producer = new FileStreamingProducer(
+                source, queue, new OffsetCheckpoint(tempDir.resolve("a.ckpt")), 100, 8);
+
+        producer.run(); // Fits in the queue, so runs to completion on this thread
+
+        List<String> received = new ArrayList<>();
+        while (queue.size() > 0) {
+            received.add(queue.take());
+        }
+        assertEquals(List.of("Item-1", "Item-é€", "", longRecord, "Last"), received);
+        assertEquals(5, producer.getItemsProduced());
+    }
+
+    @Test
+    @DisplayName("Test restarted transfer resumes after the last checkpointed record")
+    void testResumeFromCheckpoint() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            content.append("Item-").append(i).append('\n');
+        }
+        Path source = write("resume.txt", content.toString());
+        OffsetCheckpoint checkpoint = new OffsetCheckpoint(tempDir.resolve("resume.ckpt"));
+
+        // First run: consume and acknowledge five records, then stop
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(2);
+        FileStreamingProducer first = new FileStreamingProducer(source, queue, checkpoint, 3);
+        Thread producerThread = new Thread(first);
+        producerThread.start();
+        for (int i = 1; i <= 5; i++) {
+            assertEquals("Item-" + i, queue.take());
+            first.acknowledge();
+        }
+        producerThread.interrupt();
+        producerThread.join(1000);
+        assertEquals(offsetAfter(content, 3), checkpoint.load(), "Saved every third acknowledgement");
+
+        first.flushCheckpoint();
+        assertEquals(offsetAfter(content, 5), checkpoint.load());
+
+        // Second run: starts at Item-6 and checkpoints the end of file when done
+        CustomBlockingQueue<String> resumedQueue = new CustomBlockingQueue<>(2);
+        FileStreamingProducer second = new FileStreamingProducer(source, resumedQueue, checkpoint, 3);
+        assertEquals(offsetAfter(content, 5), second.getStartOffset());
+        producerThread = new Thread(second);
+        producerThread.start();
+        for (int i = 6; i <= 10; i++) {
+            assertEquals("Item-" + i, resumedQueue.take());
+            second.acknowledge();
+        }
+        producerThread.join(1000);
+        assertEquals(Files.size(source), checkpoint.load(), "Last acknowledgement saves the end offset");
+        assertEquals(0, resumedQueue.size());
+    }
+
+    @Test
+    @DisplayName("Test consumer acknowledgement callback drives the checkpoint")
+    void testConsumerAcknowledges() throws Exception {
+        Path source = write("consumer.txt", "X\nY\nZ\n");
+        OffsetCheckpoint checkpoint = new OffsetCheckpoint(tempDir.resolve("consumer.ckpt"));
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(5);
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+
+        FileStreamingProducer producer = new FileStreamingProducer(source, queue, checkpoint, 10);
+        Thread producerThread = new Thread(producer);
+        Thread consumerThread = new Thread(new Consumer(queue, destination, 3, producer::acknowledge));
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join(2000);
+        consumerThread.join(2000);
+
+        assertEquals(List.of("X", "Y", "Z"), destination);
+        assertEquals(3, producer.getAcknowledgedCount());
+        assertEquals(6, checkpoint.load());
+    }
+
+    @Test
+    @DisplayName("Test invalid acknowledgements and checkpoints are rejected")
+    void testRejectsInvalidState() throws Exception {
+        Path source = write("short.txt", "only\n");
+        OffsetCheckpoint checkpoint = new OffsetCheckpoint(tempDir.resolve("short.ckpt"));
+        FileStreamingProducer producer =
+                new FileStreamingProducer(source, new CustomBlockingQueue<>(1), checkpoint, 1);
+        assertThrows(IllegalStateException.class, producer::acknowledge);
+
+        checkpoint.save(1000);
+        FileStreamingProducer beyondEnd =
+                new FileStreamingProducer(source, new CustomBlockingQueue<>(1), checkpoint, 1);
+        assertThrows(IllegalStateException.class, beyondEnd::run);
+
+        Files.writeString(checkpoint.getFile(), "not a number");
+        assertThrows(IllegalStateException.class, checkpoint::load);
+    }
+
+    @Test
+    @DisplayName("Test checkpoint is replaced atomically and defaults to zero")
+    void testCheckpointSaveAndLoad() {
+        OffsetCheckpoint checkpoint = new OffsetCheckpoint(tempDir.resolve("offsets.ckpt"));
+        assertEquals(0, checkpoint.load());
+
+        checkpoint.save(42);
+        checkpoint.save(4_000_000_000L);
+        assertEquals(4_000_000_000L, checkpoint.load());
+        assertFalse(Files.exists(tempDir.resolve("offsets.ckpt.tmp")), "Temporary file moved into place");
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(tempDir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static long offsetAfter(CharSequence asciiLines, int lineCount) {
+        int offset = 0;
+        for (int i = 0; i < lineCount; i++) {
+            offset = asciiLines.toString().indexOf('\n', offset) + 1;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,133 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedFileQueue. Producer and consumer sides use separate
+ * mappings of the same file, as two processes would.
+ */
+class MappedFileQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test records written through one mapping are read through another")
+    void testPutAndTakeAcrossMappings() throws Exception {
+        Path file = tempDir.resolve("basic.queue");
+        try (MappedFileQueue consumerSide = MappedFileQueue.create(file, 256);
+             MappedFileQueue producerSide = MappedFileQueue.open(file)) {
+            producerSide.putString("Item-1");
+            producerSide.putString("");
+            producerSide.putString("Item-3");
+
+            assertEquals("Item-1", consumerSide.takeString());
+            assertEquals("", consumerSide.takeString());
+            assertEquals("Item-3", consumerSide.takeString());
+            assertNull(consumerSide.poll());
+            assertEquals(0, consumerSide.usedBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test offer fails when the ring is full and succeeds after a take")
+    void testOfferWhenFull() throws Exception {
+        Path file = tempDir.resolve("full.queue");
+        try (MappedFileQueue queue = MappedFileQueue.create(file, 32)) {
+            // Each 8-byte payload takes 16 bytes with prefix and padding
+            assertTrue(queue.offer(new byte[8]));
+            assertTrue(queue.offer(new byte[8]));
+            assertFalse(queue.offer(new byte[8]));
+
+            queue.take();
+            assertTrue(queue.offer(new byte[8]));
+            assertThrows(IllegalArgumentException.class, () -> queue.offer(new byte[64]));
+        }
+    }
+
+    @Test
+    @DisplayName("Test records of varying length survive many wrap-arounds in order")
+    void testWrapAroundConcurrent() throws Exception {
+        Path file = tempDir.resolve("wrap.queue");
+        int itemCount = 20_000;
+        List<String> received = new ArrayList<>();
+        try (MappedFileQueue consumerSide = MappedFileQueue.create(file, 100);
+             MappedFileQueue producerSide = MappedFileQueue.open(file)) {
+            assertEquals(104, consumerSide.capacity(), "Capacity rounded up to 8 bytes");
+
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemCount; i++) {
+                        producerSide.putString("x".repeat(i % 37) + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            for (int i = 0; i < itemCount; i++) {
+                received.add(consumerSide.takeString());
+            }
+            producer.join(10_000);
+        }
+
+        for (int i = 0; i < itemCount; i++) {
+            assertEquals("x".repeat(i % 37) + i, received.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test opening a file that is not a queue is rejected")
+    void testOpenRejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("foreign.queue");
+        Files.write(file, new byte[512]);
+
+        assertThrows(IOException.class, () -> MappedFileQueue.open(file));
+    }
+
+    @Test
+    @DisplayName("Test blocked take can be interrupted")
+    void testTakeInterruption() throws Exception {
+        Path file = tempDir.resolve("interrupt.queue");
+        try (MappedFileQueue queue = MappedFileQueue.create(file, 64)) {
+            Thread consumer = new Thread(() -> assertThrows(InterruptedException.class, queue::take));
+            consumer.start();
+            Thread.sleep(100);
+            consumer.interrupt();
+            consumer.join(1000);
+            assertFalse(consumer.isAlive());
+        }
+    }
+
+    @Test
+    @DisplayName("Test transfer from a producer running in a separate JVM")
+    void testCrossProcessTransfer() throws Exception {
+        Path file = tempDir.resolve("ipc.queue");
+        int itemCount = 1000;
+        try (MappedFileQueue consumerSide = MappedFileQueue.create(file, 4096)) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process producer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    SharedMemoryPipeline.class.getName(), "producer", file.toString(), String.valueOf(itemCount))
+                    .inheritIO()
+                    .start();
+
+            for (int i = 1; i <= itemCount; i++) {
+                assertEquals("Item-" + i, consumerSide.takeString());
+            }
+            assertTrue(producer.waitFor(30, TimeUnit.SECONDS));
+            assertEquals(0, producer.exitValue());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JMX exposure of queue, producer and consumer statistics
+ */
+class PipelineMonitorTest {
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    @DisplayName("Test queue MBean exposes depth, capacity and counters")
+    void testQueueMBeanAttributes() throws Exception {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(2);
+        ObjectName name = PipelineMonitor.register("queue-attributes", queue);
+        try {
+            queue.put("A");
+            queue.put("B");
+            queue.putAsync("C"); // Full: waits
+            queue.take();
+
+            assertTrue(server.isRegistered(name));
+            assertEquals(2, server.getAttribute(name, "Depth"));
+            assertEquals(2, server.getAttribute(name, "Capacity"));
+            assertEquals(3L, server.getAttribute(name, "TotalPuts"));
+            assertEquals(1L, server.getAttribute(name, "TotalTakes"));
+            assertEquals(1L, server.getAttribute(name, "FullWaitCount"));
+            assertEquals(0L, server.getAttribute(name, "EmptyWaitCount"));
+        } finally {
+            PipelineMonitor.unregister(name);
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    @DisplayName("Test producer and consumer MBeans track processed items")
+    void testWorkerMBeans() throws Exception {
+        List<String> source = Arrays.asList("A", "B", "C");
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(5);
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        Producer producer = new Producer(source, queue);
+        Consumer consumer = new Consumer(queue, destination, source.size());
+
+        ObjectName producerName = PipelineMonitor.register("worker-producer", producer);
+        ObjectName consumerName = PipelineMonitor.register("worker-consumer", consumer);
+        try {
+            Thread producerThread = new Thread(producer);
+            Thread consumerThread = new Thread(consumer);
+            producerThread.start();
+            consumerThread.start();
+            producerThread.join(5000);
+            consumerThread.join(5000);
+
+            assertEquals(3L, server.getAttribute(producerName, "ItemsProcessed"));
+            assertEquals(3L, server.getAttribute(consumerName, "TargetItems"));
+            assertEquals(3L, server.getAttribute(consumerName, "ItemsProcessed"));
+            assertEquals(true, server.getAttribute(consumerName, "Finished"));
+        } finally {
+            PipelineMonitor.unregister(producerName);
+            PipelineMonitor.unregister(consumerName);
+        }
+    }
+
+    @Test
+    @DisplayName("Test duplicate registration is rejected")
+    void testDuplicateName() {
+        CustomBlockingQueue<String> queue = new CustomBlockingQueue<>(2);
+        ObjectName name = PipelineMonitor.register("queue-duplicate", queue);
+        try {
+            assertThrows(IllegalStateException.class, () -> PipelineMonitor.register("queue-duplicate", queue));
+        } finally {
+            PipelineMonitor.unregister(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Test rate window reports items per second from samples")
+    void testRateWindow() {
+        RateWindow window = new RateWindow(61);
+        assertEquals(0, window.ratePerSecond(10), "No rate before two samples");
+
+        long second = 1_000_000_000L;
+        for (int i = 0; i <= 60; i++) {
+            // 100 items/s for the first 50 seconds, then 10 items/s
+            window.record(i * second, i <= 50 ? i * 100L : 5000 + (i - 50) * 10L);
+        }
+        assertEquals(10.0, window.ratePerSecond(10), 0.001);
+        assertEquals(5100 / 60.0, window.ratePerSecond(60), 0.001);
+        assertEquals(10.0, window.ratePerSecond(1), 0.001);
+    }
+}
@@ -0,0 +1,282 @@
+package buildchallengePartA;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.ref.Reference;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Soak harness that runs {@link CustomBlockingQueue} with several producers
+ * and consumers for a fixed duration while sampling the JVM over JMX.
+ *
+ * Every sample interval it records throughput, used heap, the allocation
+ * rate of the worker threads (from the HotSpot per-thread allocation
+ * counters) and GC time; the longest single collection is taken from the
+ * collectors' notifications. That is collection time, not stop-the-world
+ * pause time: for concurrent collectors it includes the concurrent phases.
+ * {@link Report#failures()} then checks for throughput degradation and
+ * retained heap growth:
+ * <ul>
+ *   <li>throughput: the median rate of the last quarter of samples must not
+ *       fall more than maxThroughputDrop below the median of the first
+ *       quarter (the very first sample is treated as warm-up);</li>
+ *   <li>memory: used heap measured after a full GC at the end must not exceed
+ *       the same measurement at the start by more than maxHeapGrowthBytes.</li>
+ * </ul>
+ *
+ * Settings come from system properties (see {@link Settings#fromSystemProperties()}).
+ * The soak is wall-clock and load dependent, so QueueSoakTest only runs it on
+ * demand, for example {@code mvn test -Dtest=QueueSoakTest -Dsoak.durationSeconds=14400}.
+ *
+ * The queue logs every operation to System.out; that output is discarded
+ * while the harness runs so the console does not dominate the measurement.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class QueueSoakHarness {
+
+    /** Soak configuration; all values can be overridden with soak.* system properties */
+    static final class Settings {
+        int producers = 2;
+        int consumers = 2;
+        int capacity = 64;
+        long durationSeconds = 3;
+        long sampleMillis = 250;
+        double maxThroughputDrop = 0.5;
+        long maxHeapGrowthBytes = 64L * 1024 * 1024;
+
+        /** Reads soak.producers, soak.consumers, soak.capacity, soak.durationSeconds,
+         *  soak.sampleMillis, soak.maxThroughputDrop and soak.maxHeapGrowthMb. */
+        static Settings fromSystemProperties() {
+            Settings settings = new Settings();
+            settings.producers = Integer.getInteger("soak.producers", settings.producers);
+            settings.consumers = Integer.getInteger("soak.consumers", settings.consumers);
+            settings.capacity = Integer.getInteger("soak.capacity", settings.capacity);
+            settings.durationSeconds = Long.getLong("soak.durationSeconds", settings.durationSeconds);
+            settings.sampleMillis = Long.getLong("soak.sampleMillis", settings.sampleMillis);
+            settings.maxThroughputDrop = Double.parseDouble(
+                    System.getProperty("soak.maxThroughputDrop", String.valueOf(settings.maxThroughputDrop)));
+            settings.maxHeapGrowthBytes = Long.getLong("soak.maxHeapGrowthMb",
+                    settings.maxHeapGrowthBytes / (1024 * 1024)) * 1024 * 1024;
+            return settings;
+        }
+    }
+
+    /** One observation over a sample interval */
+    record Sample(long elapsedMillis, double itemsPerSecond, long heapUsedBytes,
+                  double allocatedBytesPerSecond, long gcMillis, long gcCount) {
+    }
+
+    /** Outcome of a soak run */
+    static final class Report {
+        final Settings settings;
+        final List<Sample> samples;
+        final long totalItems;
+        final long baselineHeapBytes;
+        final long finalHeapBytes;
+        final long maxGcCollectionMillis;
+
+        Report(Settings settings, List<Sample> samples, long totalItems,
+               long baselineHeapBytes, long finalHeapBytes, long maxGcCollectionMillis) {
+            this.settings = settings;
+            this.samples = samples;
+            this.totalItems = totalItems;
+            this.baselineHeapBytes = baselineHeapBytes;
+            this.finalHeapBytes = finalHeapBytes;
+            this.maxGcCollectionMillis = maxGcCollectionMillis;
+        }
+
+        /** Returns the median throughput of the first quarter of samples, after warm-up. */
+        double earlyThroughput() {
+            List<Sample> measured = samples.subList(Math.min(1, samples.size()), samples.size());
+            return medianThroughput(measured.subList(0, Math.max(1, measured.size() / 4)));
+        }
+
+        /** Returns the median throughput of the last quarter of samples. */
+        double lateThroughput() {
+            int quarter = Math.max(1, (samples.size() - 1) / 4);
+            return medianThroughput(samples.subList(samples.size() - quarter, samples.size()));
+        }
+
+        /** Returns retained heap growth between the start and end of the run. */
+        long heapGrowthBytes() {
+            return finalHeapBytes - baselineHeapBytes;
+        }
+
+        /** Returns a description of every threshold that was exceeded; empty if the run passed. */
+        List<String> failures() {
+            List<String> failures = new ArrayList<>();
+            if (samples.size() < 3) {
+                failures.add("Too few samples to judge the run: " + samples.size());
+                return failures;
+            }
+            double early = earlyThroughput();
+            double late = lateThroughput();
+            if (late < early * (1 - settings.maxThroughputDrop)) {
+                failures.add(String.format("Throughput degraded from %.0f to %.0f items/s", early, late));
+            }
+            if (heapGrowthBytes() > settings.maxHeapGrowthBytes) {
+                failures.add(String.format("Retained heap grew by %d KB (limit %d KB)",
+                        heapGrowthBytes() / 1024, settings.maxHeapGrowthBytes / 1024));
+            }
+            return failures;
+        }
+
+        /** Returns a one-line summary suitable for the test log. */
+        String summary() {
+            double allocation = samples.stream().mapToDouble(Sample::allocatedBytesPerSecond).average().orElse(0);
+            long gcMillis = samples.stream().mapToLong(Sample::gcMillis).sum();
+            long gcCount = samples.stream().mapToLong(Sample::gcCount).sum();
+            return String.format("Soak: %d items, %.0f -> %.0f items/s, heap growth %d KB, "
+                            + "allocation %.1f MB/s, GC %d collections / %d ms (longest %d ms)",
+                    totalItems, earlyThroughput(), lateThroughput(), heapGrowthBytes() / 1024,
+                    allocation / (1024 * 1024), gcCount, gcMillis, maxGcCollectionMillis);
+        }
+
+        private static double medianThroughput(List<Sample> window) {
+            double[] rates = window.stream().mapToDouble(Sample::itemsPerSecond).sorted().toArray();
+            return rates.length == 0 ? 0 : rates[rates.length / 2];
+        }
+    }
+
+    private final Settings settings;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    QueueSoakHarness(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Runs the soak for the configured duration and returns the samples.
+     */
+    Report run() throws InterruptedException {
+        CustomBlockingQueue<Long> queue = new CustomBlockingQueue<>(settings.capacity);
+        LongAdder transferred = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < settings.producers; i++) {
+            workers.add(new Thread(() -> produce(queue), "Soak-Producer-" + i));
+        }
+        for (int i = 0; i < settings.consumers; i++) {
+            workers.add(new Thread(() -> consume(queue, transferred), "Soak-Consumer-" + i));
+        }
+
+        AtomicLong maxCollectionMillis = new AtomicLong();
+        NotificationListener collectionListener = (notification, handback) -> {
+            if ("com.sun.management.gc.notification".equals(notification.getType())) {
+                CompositeData info = (CompositeData) notification.getUserData();
+                long duration = (Long) ((CompositeData) info.get("gcInfo")).get("duration");
+                maxCollectionMillis.accumulateAndGet(duration, Math::max);
+            }
+        };
+        collectors.forEach(gc -> ((NotificationEmitter) gc).addNotificationListener(collectionListener, null, null));
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        List<Sample> samples = new ArrayList<>();
+        long baselineHeap;
+        long finalHeap;
+        try {
+            baselineHeap = retainedHeap();
+            workers.forEach(Thread::start);
+            long[] workerIds = workers.stream().mapToLong(Thread::threadId).toArray();
+
+            long start = System.nanoTime();
+            long end = start + settings.durationSeconds * 1_000_000_000L;
+            long lastNanos = start;
+            long lastItems = 0;
+            long lastAllocated = allocatedBytes(workerIds);
+            long lastGcMillis = gcMillis();
+            long lastGcCount = gcCount();
+            while (System.nanoTime() < end) {
+                Thread.sleep(settings.sampleMillis);
+                long now = System.nanoTime();
+                long items = transferred.sum();
+                long allocated = allocatedBytes(workerIds);
+                long gcMillis = gcMillis();
+                long gcCount = gcCount();
+                double seconds = (now - lastNanos) / 1e9;
+                samples.add(new Sample((now - start) / 1_000_000, (items - lastItems) / seconds,
+                        memory.getHeapMemoryUsage().getUsed(), (allocated - lastAllocated) / seconds,
+                        gcMillis - lastGcMillis, gcCount - lastGcCount));
+                lastNanos = now;
+                lastItems = items;
+                lastAllocated = allocated;
+                lastGcMillis = gcMillis;
+                lastGcCount = gcCount;
+            }
+        } finally {
+            workers.forEach(Thread::interrupt);
+            for (Thread worker : workers) {
+                worker.join(5000);
+            }
+            System.setOut(console);
+            for (GarbageCollectorMXBean gc : collectors) {
+                try {
+                    ((NotificationEmitter) gc).removeNotificationListener(collectionListener);
+                } catch (javax.management.ListenerNotFoundException ignored) {
+                    // Never registered on this collector
+                }
+            }
+        }
+        finalHeap = retainedHeap();
+        Reference.reachabilityFence(queue); // Anything the queue leaked must count as retained
+        return new Report(settings, samples, transferred.sum(), baselineHeap, finalHeap, maxCollectionMillis.get());
+    }
+
+    private static void produce(CustomBlockingQueue<Long> queue) {
+        try {
+            for (long i = 0; ; i++) {
+                queue.put(i);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void consume(CustomBlockingQueue<Long> queue, LongAdder transferred) {
+        try {
+            while (true) {
+                queue.take();
+                transferred.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Used heap after a full collection, i.e. what is actually retained. */
+    private long retainedHeap() {
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private long allocatedBytes(long[] threadIds) {
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        return Arrays.stream(threads.getThreadAllocatedBytes(threadIds)).filter(bytes -> bytes > 0).sum();
+    }
+
+    private long gcMillis() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    private long gcCount() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+}
@@ -0,0 +1,51 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Soak test for CustomBlockingQueue. Its thresholds depend on machine load,
+ * so the soak itself only runs when -Dsoak.durationSeconds=... is given (and
+ * other soak.* properties, see QueueSoakHarness); the default build only
+ * checks how reports are judged.
+ */
+class QueueSoakTest {
+
+    @Test
+    @EnabledIfSystemProperty(named = "soak.durationSeconds", matches = "\\d+")
+    @DisplayName("Test sustained load keeps throughput and retained heap stable")
+    void testSoak() throws InterruptedException {
+        QueueSoakHarness.Report report = new QueueSoakHarness(QueueSoakHarness.Settings.fromSystemProperties()).run();
+        System.out.println(report.summary());
+
+        assertTrue(report.totalItems > 0, "Items should flow through the queue");
+        assertEquals(List.of(), report.failures());
+    }
+
+    @Test
+    @DisplayName("Test report flags throughput degradation and heap growth")
+    void testReportDetectsRegressions() {
+        QueueSoakHarness.Settings settings = new QueueSoakHarness.Settings();
+        List<QueueSoakHarness.Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            double rate = i < 5 ? 10_000 : 2_000; // Collapses halfway through
+            samples.add(new QueueSoakHarness.Sample(i * 250L, rate, 0, 0, 0, 0));
+        }
+        long tooMuch = settings.maxHeapGrowthBytes + 1;
+        QueueSoakHarness.Report report = new QueueSoakHarness.Report(settings, samples, 1, 0, tooMuch, 0);
+
+        List<String> failures = report.failures();
+        assertEquals(2, failures.size());
+        assertTrue(failures.get(0).startsWith("Throughput degraded"));
+        assertTrue(failures.get(1).startsWith("Retained heap grew"));
+
+        QueueSoakHarness.Report healthy = new QueueSoakHarness.Report(settings, samples.subList(0, 5), 1, 0, 0, 0);
+        assertEquals(List.of(), healthy.failures());
+    }
+}
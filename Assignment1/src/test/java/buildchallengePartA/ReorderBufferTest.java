@@ -0,0 +1,123 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit and integration tests for ReorderBuffer with sequenced producers and
+ * parallel ordered consumers
+ */
+class ReorderBufferTest {
+
+    @Test
+    @DisplayName("Test out-of-order results are released in sequence order")
+    void testReleasesInOrder() throws InterruptedException {
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(4, destination);
+
+        buffer.submit(2, "C");
+        buffer.submit(1, "B");
+        assertTrue(destination.isEmpty(), "Nothing released before sequence 0 arrives");
+        assertEquals(2, buffer.getBufferedCount());
+
+        buffer.submit(0, "A");
+        assertEquals(List.of("A", "B", "C"), destination);
+        assertEquals(0, buffer.getBufferedCount());
+        assertEquals(3, buffer.getNextSequence());
+        assertEquals(2, buffer.getParkedCount());
+    }
+
+    @Test
+    @DisplayName("Test submits outside the window block until the head moves")
+    void testWindowBoundsRunAhead() throws InterruptedException {
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(2, destination);
+        buffer.submit(1, "B");
+
+        AtomicInteger submitted = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread runAhead = new Thread(() -> {
+            try {
+                latch.countDown();
+                buffer.submit(2, "C"); // Outside window [0, 2)
+                submitted.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        runAhead.start();
+        latch.await();
+        Thread.sleep(100);
+        assertEquals(0, submitted.get(), "Submit should stall outside the window");
+
+        buffer.submit(0, "A");
+        runAhead.join(1000);
+
+        assertEquals(1, submitted.get());
+        assertEquals(List.of("A", "B", "C"), destination);
+        assertEquals(1, buffer.getStallCount());
+        assertTrue(buffer.getStallNanos() > 0);
+        assertTrue(buffer.getMaxBuffered() <= buffer.getWindow());
+    }
+
+    @Test
+    @DisplayName("Test invalid sequence numbers are rejected")
+    void testRejectsReleasedAndDuplicateSequences() throws InterruptedException {
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(4, new ArrayList<>());
+        buffer.submit(0, "A");
+        buffer.submit(2, "C");
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.submit(0, "A"));
+        assertThrows(IllegalArgumentException.class, () -> buffer.submit(2, "C"));
+        assertThrows(IllegalArgumentException.class, () -> new ReorderBuffer<String>(0, new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Test parallel consumers preserve source order end to end")
+    void testParallelConsumersPreserveOrder() throws InterruptedException {
+        int itemCount = 200;
+        int consumerCount = 4;
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            source.add("Item-" + i);
+        }
+
+        CustomBlockingQueue<SequencedItem<String>> queue = new CustomBlockingQueue<>(16);
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(8, destination);
+
+        Thread producer = new Thread(new SequencedProducer(source, queue));
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < consumerCount; i++) {
+            consumers.add(new Thread(new OrderedConsumer(queue, buffer, item -> {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(3)); // Uneven processing time
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return item;
+            }, itemCount / consumerCount)));
+        }
+
+        producer.start();
+        consumers.forEach(Thread::start);
+        producer.join(10000);
+        for (Thread consumer : consumers) {
+            consumer.join(10000);
+        }
+
+        assertEquals(source, destination);
+        assertEquals(itemCount, buffer.getReleasedCount());
+        assertTrue(buffer.getMaxBuffered() <= 8, "Buffered results bounded by the window");
+    }
+}
@@ -0,0 +1,152 @@
+package buildchallengePartA;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpillingBlockingQueue
+ */
+class SpillingBlockingQueueTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    @DisplayName("Test put does not block when memory is full and items come back in order")
+    void testSpillAndReplayInOrder() throws Exception {
+        SpillingBlockingQueue<String> queue =
+                new SpillingBlockingQueue<>(3, spillDir, 64, 1024 * 1024, SpillCodec.utf8());
+
+        for (int i = 1; i <= 20; i++) {
+            queue.put("Item-" + i); // Would block after 3 items without spill-over
+        }
+        assertTrue(queue.isSpilling());
+        assertEquals(20, queue.size());
+        assertEquals(17, queue.getSpilledItems());
+        assertTrue(queue.getSegmentsCreated() > 1, "Small segments should roll over");
+
+        for (int i = 1; i <= 20; i++) {
+            assertEquals("Item-" + i, queue.take());
+        }
+        assertFalse(queue.isSpilling());
+        assertEquals(17, queue.getReplayedItems());
+        assertEquals(queue.getSpilledBytes(), queue.getReplayedBytes());
+        assertEquals(0, queue.getDiskBytes());
+        assertEquals(0, countSegmentFiles(), "Segments deleted after replay");
+    }
+
+    @Test
+    @DisplayName("Test queue returns to in-memory mode after catching up")
+    void testReturnsToMemoryMode() throws Exception {
+        SpillingBlockingQueue<String> queue =
+                new SpillingBlockingQueue<>(2, spillDir, 1024, 1024 * 1024, SpillCodec.utf8());
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        assertEquals(1, queue.getSpilledPending());
+
+        assertEquals("A", queue.take());
+        queue.put("D"); // Still spilling: must queue behind C on disk
+        assertEquals("B", queue.take());
+        assertEquals("C", queue.take());
+        assertEquals("D", queue.take());
+        assertFalse(queue.isSpilling());
+
+        queue.put("E");
+        assertEquals(2, queue.getSpilledItems(), "Back in memory mode, E is not spilled");
+        assertEquals("E", queue.take());
+    }
+
+    @Test
+    @DisplayName("Test producer blocks only once the disk budget is exhausted")
+    void testDiskBudgetBlocksProducer() throws Exception {
+        // Each "Item-N" record takes 4 + 6 bytes; the budget fits two of them
+        SpillingBlockingQueue<String> queue =
+                new SpillingBlockingQueue<>(1, spillDir, 1024, 20, SpillCodec.utf8());
+        queue.put("Item-1");
+        queue.put("Item-2");
+        queue.put("Item-3");
+
+        AtomicInteger putCount = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                latch.countDown();
+                queue.put("Item-4");
+                putCount.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        latch.await();
+        Thread.sleep(100);
+        assertEquals(0, putCount.get(), "Producer should wait for disk budget");
+
+        List<String> taken = new ArrayList<>();
+        taken.add(queue.take());
+        taken.add(queue.take());
+        producer.join(1000);
+        assertEquals(1, putCount.get());
+        taken.add(queue.take());
+        taken.add(queue.take());
+
+        assertEquals(List.of("Item-1", "Item-2", "Item-3", "Item-4"), taken);
+        assertEquals(1, queue.getBudgetWaits());
+        assertTrue(queue.getMaxDiskBytes() <= 20);
+    }
+
+    @Test
+    @DisplayName("Test concurrent producer and slow consumer lose nothing")
+    void testConcurrentSpill() throws Exception {
+        int itemCount = 5000;
+        SpillingBlockingQueue<String> queue =
+                new SpillingBlockingQueue<>(16, spillDir, 4096, 1024 * 1024, SpillCodec.utf8());
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < itemCount; i++) {
+                    queue.put("Item-" + i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < itemCount; i++) {
+            assertEquals("Item-" + i, queue.take());
+        }
+        producer.join(10_000);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("Test invalid configuration and oversized items are rejected")
+    void testRejectsInvalidInput() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpillingBlockingQueue<>(0, spillDir, 64, 64, SpillCodec.utf8()));
+
+        SpillingBlockingQueue<String> queue =
+                new SpillingBlockingQueue<>(1, spillDir, 64, 16, SpillCodec.utf8());
+        queue.put("fits in memory");
+        assertThrows(IllegalArgumentException.class, () -> queue.put("far too large for the disk budget"));
+    }
+
+    private long countSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package buildChallengePartB;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a large sales CSV file from the filesystem on several cores.
+ *
+ * Approach: The file is memory-mapped and cut into one byte range per
+ * thread. Cutting happens in two steps:
+ * <ol>
+ *   <li>every thread counts the line breaks in its nominal range and runs the
+ *       parser's line-scan state machine over it (see
+ *       {@link SalesCsvParser#nextScanState}) once for each start state, a
+ *       cheap scan compared to parsing;</li>
+ *   <li>each nominal cut is then moved forward to the next line end. The
+ *       scan state at the nominal cut follows from the end states of the
+ *       ranges before it, so a quoted field containing a line break is never
+ *       split, and a quote inside a value is ignored just as the parser
+ *       ignores it.</li>
+ * </ol>
+ * Each range is then parsed by its own {@link SalesCsvParser} into its own
+ * {@link SalesColumns}. The parser is told how many lines precede its range,
+ * so error line numbers refer to the whole file. The partial results are
+ * merged in file order with {@link SalesColumns#appendAll(SalesColumns)}.
+ * Rows, their order and the errors are therefore exactly those of a
+ * sequential parse, whatever the thread count.
+ *
+ * Small files are parsed in fewer ranges, since each range should be worth
+ * the cost of handing it to another thread.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class ParallelSalesLoader {
+    /** Smallest range worth parsing on a separate thread */
+    static final long MIN_RANGE_BYTES = 1 << 20;
+
+    /** Largest range one mapping can hold */
+    private static final long MAX_RANGE_BYTES = Integer.MAX_VALUE;
+    private static final int SCAN_BLOCK_BYTES = 1 << 16;
+
+    /**
+     * Rows and rejected lines of a loaded file
+     *
+     * @param rangeRows number of rows parsed from each range, in file order
+     */
+    record Result(SalesColumns columns, List<SalesCsvParser.ParseError> errors, List<Integer> rangeRows) {
+    }
+
+    /**
+     * Scan of one nominal range
+     *
+     * @param endStates the line-scan state after the range, by state before it
+     * @param newlines number of line breaks in the range
+     */
+    private record RangeCounts(int[] endStates, long newlines) {
+    }
+
+    private final int parallelism;
+    private final long minRangeBytes;
+
+    /**
+     * @param parallelism number of threads to parse with
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public ParallelSalesLoader(int parallelism) {
+        this(parallelism, MIN_RANGE_BYTES);
+    }
+
+    /**
+     * @param parallelism number of threads to parse with
+     * @param minRangeBytes smallest range handed to one thread
+     * @throws IllegalArgumentException if parallelism or minRangeBytes is not positive
+     */
+    ParallelSalesLoader(int parallelism, long minRangeBytes) {
+        if (parallelism <= 0 || minRangeBytes <= 0) {
+            throw new IllegalArgumentException("Parallelism and range size must be positive");
+        }
+        this.parallelism = parallelism;
+        this.minRangeBytes = minRangeBytes;
+    }
+
+    /**
+     * Loads all rows of a CSV file whose first line is a header.
+     *
+     * @param file the CSV file
+     * @return the rows in file order and the rejected lines in line order
+     * @throws IOException if the file cannot be read
+     */
+    public Result load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            long size = channel.size();
+            long[] cuts = nominalCuts(size);
+            int ranges = cuts.length - 1;
+
+            List<Future<RangeCounts>> counting = new ArrayList<>(ranges);
+            for (int i = 0; i < ranges; i++) {
+                long start = cuts[i];
+                long end = cuts[i + 1];
+                counting.add(executor.submit(() -> count(channel, start, end)));
+            }
+            List<RangeCounts> counts = await(counting);
+
+            // Move each cut to the next line end
+            long[] linesBefore = new long[ranges];
+            int state = SalesCsvParser.FIELD_START;
+            long newlines = 0;
+            for (int i = 1; i < ranges; i++) {
+                state = counts.get(i - 1).endStates()[state];
+                newlines += counts.get(i - 1).newlines();
+                if (cuts[i - 1] >= cuts[i]) {
+                    // The previous cut already moved past this one: empty range
+                    cuts[i] = cuts[i - 1];
+                    linesBefore[i] = linesBefore[i - 1];
+                    continue;
+                }
+                long[] aligned = alignCut(channel, cuts[i], size, state);
+                cuts[i] = aligned[0];
+                linesBefore[i] = newlines + aligned[1];
+            }
+
+            List<Future<SalesCsvParser>> parsing = new ArrayList<>(ranges);
+            List<SalesColumns> parts = new ArrayList<>(ranges);
+            for (int i = 0; i < ranges; i++) {
+                SalesColumns part = new SalesColumns();
+                SalesCsvParser parser = new SalesCsvParser(i == 0, linesBefore[i]);
+                long start = cuts[i];
+                long end = cuts[i + 1];
+                parts.add(part);
+                parsing.add(executor.submit(() -> {
+                    parser.parse(map(channel, start, end), part::add);
+                    return parser;
+                }));
+            }
+            List<SalesCsvParser> parsers = await(parsing);
+
+            int rows = parts.stream().mapToInt(SalesColumns::size).sum();
+            SalesColumns columns = new SalesColumns(rows);
+            List<SalesCsvParser.ParseError> errors = new ArrayList<>();
+            List<Integer> rangeRows = new ArrayList<>(ranges);
+            for (int i = 0; i < ranges; i++) {
+                columns.appendAll(parts.get(i));
+                errors.addAll(parsers.get(i).getErrors());
+                rangeRows.add(parts.get(i).size());
+            }
+            return new Result(columns, errors, List.copyOf(rangeRows));
+        }
+    }
+
+    /** Returns evenly spaced range boundaries, including 0 and size. */
+    private long[] nominalCuts(long size) {
+        long ranges = Math.max(1, Math.min(parallelism, size / minRangeBytes));
+        ranges = Math.max(ranges, (size + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        long[] cuts = new long[(int) ranges + 1];
+        for (int i = 0; i <= ranges; i++) {
+            cuts[i] = size * i / ranges;
+        }
+        return cuts;
+    }
+
+    private static RangeCounts count(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = map(channel, start, end);
+        byte[] block = new byte[SCAN_BLOCK_BYTES];
+        int[] states = new int[SalesCsvParser.SCAN_STATES];
+        for (int state = 0; state < states.length; state++) {
+            states[state] = state;
+        }
+        long newlines = 0;
+        for (int pos = 0; pos < buffer.limit(); pos += block.length) {
+            int length = Math.min(block.length, buffer.limit() - pos);
+            buffer.get(pos, block, 0, length);
+            for (int i = 0; i < length; i++) {
+                byte b = block[i];
+                if (b == '\n') {
+                    newlines++;
+                }
+                for (int s = 0; s < states.length; s++) {
+                    states[s] = SalesCsvParser.nextScanState(states[s], b);
+                }
+            }
+        }
+        return new RangeCounts(states, newlines);
+    }
+
+    /**
+     * Returns the offset after the first line end at or after from (or the
+     * end of the file), and the number of line breaks passed on the way,
+     * including that one.
+     *
+     * @param state the line-scan state at from
+     */
+    private static long[] alignCut(FileChannel channel, long from, long size, int state)
+            throws IOException {
+        byte[] block = new byte[SCAN_BLOCK_BYTES];
+        long newlines = 0;
+        for (long pos = from; pos < size; pos += block.length) {
+            int length = (int) Math.min(block.length, size - pos);
+            map(channel, pos, pos + length).get(0, block, 0, length);
+            for (int i = 0; i < length; i++) {
+                byte b = block[i];
+                if (b == '\n') {
+                    newlines++;
+                    if (state != SalesCsvParser.QUOTED) {
+                        return new long[] {pos + i + 1, newlines};
+                    }
+                }
+                state = SalesCsvParser.nextScanState(state, b);
+            }
+        }
+        return new long[] {size, newlines};
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long end) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Failed to parse range", e.getCause());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,108 @@
+package buildChallengePartB;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded cache of computed results with least-recently-used eviction.
+ *
+ * Approach: A {@link LinkedHashMap} in access order keeps the least recently
+ * used entry first, and evicts it whenever an insertion exceeds the capacity,
+ * so both lookups and evictions are O(1). Keys are expected to carry
+ * everything a result depends on (e.g. a dataset version), which makes stale
+ * entries unreachable; {@link #clear()} frees them early.
+ *
+ * Thread Safety: All methods synchronize on the cache. A missing value is
+ * computed outside the lock, so two threads missing the same key at once
+ * both compute it and the last one is kept.
+ *
+ * @param <K> the key type, with value-based equals and hashCode
+ * @param <V> the result type
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class ResultCache<K, V> {
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    };
+    private int capacity;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity the maximum number of results kept; 0 disables caching
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public ResultCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Returns the cached result for a key, computing and caching it on a miss.
+     */
+    public V get(K key, Supplier<? extends V> compute) {
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        V value = compute.get();
+        synchronized (this) {
+            if (capacity > 0) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Changes the maximum number of results kept, evicting the least
+     * recently used ones if there are more.
+     *
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        var iterator = entries.keySet().iterator();
+        while (entries.size() > capacity) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /** Drops all cached results; hit and miss counts are kept. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /** Returns the number of cached results. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Returns the number of lookups served from the cache. */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** Returns the number of lookups that had to compute their result. */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d cached results, %d hits, %d misses", entries.size(), hits, misses);
+    }
+}
@@ -0,0 +1,286 @@
+package buildChallengePartB;
+
+import buildChallengePartB.SalesQuery.Aggregate;
+import buildChallengePartB.SalesQuery.Dimension;
+import buildChallengePartB.SalesQuery.Direction;
+import buildChallengePartB.SalesQuery.Group;
+import buildChallengePartB.SalesQuery.Measure;
+import buildChallengePartB.SalesQuery.Result;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import static buildChallengePartB.SalesQuery.Aggregate.*;
+
+/**
+ * Single-pass accumulator for every aggregate used by the sales reports.
+ *
+ * Architecture: Each report is a {@link SalesQuery} (the constants below,
+ * plus the high-value query for the instance's threshold), and all of them
+ * run as one fused {@link SalesQueryPlan}. One {@link #accept(SalesRow)}
+ * call per record updates all group-bys at once (region, rep, category,
+ * month, quarter by region, customer type, channel, payment method,
+ * product, discount bucket), the overall summary and the bounded list of
+ * high-value transactions, and {@link #acceptAll(List)} scans only the
+ * columns the reports read. Reports then only read and format the query
+ * results ({@link #result(SalesQuery)}), so running all of them costs one
+ * scan of the data instead of one or more scans per report. The getters
+ * return the same results as maps keyed by the decoded values.
+ *
+ * Sums use {@link DoubleSummaryStatistics}, which applies the same
+ * compensated summation as Collectors.summingDouble and DoubleStream.sum,
+ * so totals and averages match the per-report stream pipelines exactly.
+ *
+ * Design Decision: Partial aggregates can be merged with
+ * {@link #combine(SalesAggregates)}, which makes the class usable as a
+ * stream {@link Collector} (see {@link #collector(double)}), including for
+ * parallel streams.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesAggregates {
+    /** Number of high-value transactions kept, largest first */
+    static final int HIGH_VALUE_LIMIT = 10;
+
+    /** Discount buckets in display order */
+    static final List<String> DISCOUNT_BUCKETS = List.of("No Discount", "1-10%", "11-20%", "21%+");
+
+    // The reports as queries; the high-value query depends on the threshold
+    static final SalesQuery SUMMARY = SalesQuery.aggregate(count(),
+            sum(Measure.SALES_AMOUNT), avg(Measure.SALES_AMOUNT), min(Measure.SALES_AMOUNT), max(Measure.SALES_AMOUNT),
+            sum(Measure.PROFIT), avg(Measure.PROFIT), min(Measure.PROFIT), max(Measure.PROFIT));
+    static final SalesQuery SALES_BY_REGION = SalesQuery.aggregate(sum(Measure.SALES_AMOUNT))
+            .groupBy(Dimension.REGION)
+            .orderBy(sum(Measure.SALES_AMOUNT), Direction.DESCENDING);
+    static final SalesQuery SALES_BY_REP = SalesQuery.aggregate(sum(Measure.SALES_AMOUNT))
+            .groupBy(Dimension.SALES_REP)
+            .orderBy(sum(Measure.SALES_AMOUNT), Direction.DESCENDING);
+    static final SalesQuery CATEGORY_PERFORMANCE = SalesQuery.aggregate(count(),
+                    sum(Measure.SALES_AMOUNT), avg(Measure.SALES_AMOUNT), min(Measure.SALES_AMOUNT), max(Measure.SALES_AMOUNT))
+            .groupBy(Dimension.CATEGORY);
+    static final SalesQuery MONTHLY_TREND = SalesQuery.aggregate(sum(Measure.SALES_AMOUNT))
+            .groupBy(Dimension.MONTH)
+            .orderByKey();
+    static final SalesQuery CUSTOMER_TYPES = SalesQuery.aggregate(count(),
+                    sum(Measure.SALES_AMOUNT), avg(Measure.SALES_AMOUNT), avg(Measure.PROFIT), avg(Measure.DISCOUNT))
+            .groupBy(Dimension.CUSTOMER_TYPE);
+    static final SalesQuery PROFIT_BY_PRODUCT = SalesQuery.aggregate(sum(Measure.PROFIT))
+            .groupBy(Dimension.PRODUCT)
+            .orderBy(sum(Measure.PROFIT), Direction.DESCENDING);
+    static final SalesQuery PAYMENT_METHODS = SalesQuery.aggregate(count())
+            .groupBy(Dimension.PAYMENT_METHOD)
+            .orderBy(count(), Direction.DESCENDING);
+    static final SalesQuery QUARTERLY_BY_REGION = SalesQuery.aggregate(sum(Measure.SALES_AMOUNT))
+            .groupBy(Dimension.REGION, Dimension.QUARTER);
+    static final SalesQuery SALES_CHANNELS = SalesQuery.aggregate(count(),
+                    sum(Measure.SALES_AMOUNT), avg(Measure.PROFIT), avg(Measure.DISCOUNT))
+            .groupBy(Dimension.SALES_CHANNEL)
+            .orderBy(sum(Measure.SALES_AMOUNT), Direction.DESCENDING);
+    static final SalesQuery DISCOUNT_IMPACT = SalesQuery.aggregate(count(),
+                    avg(Measure.SALES_AMOUNT), avg(Measure.PROFIT), avg(Measure.DISCOUNT))
+            .groupBy(Dimension.DISCOUNT_BUCKET);
+
+    /** Sales, profit and discount statistics for one group */
+    static final class GroupMetrics {
+        final DoubleSummaryStatistics sales;
+        final DoubleSummaryStatistics profit;
+        final DoubleSummaryStatistics discount;
+
+        GroupMetrics(Group group) {
+            this.sales = group.statistics(Measure.SALES_AMOUNT);
+            this.profit = group.statistics(Measure.PROFIT);
+            this.discount = group.statistics(Measure.DISCOUNT);
+        }
+    }
+
+    private final double highValueThreshold;
+    private final SalesQuery highValue;
+    private final SalesQueryPlan.Execution execution;
+
+    /**
+     * @param highValueThreshold minimum sales amount (exclusive) for the high-value list
+     */
+    public SalesAggregates(double highValueThreshold) {
+        this(highValueThreshold, plan(highValueThreshold));
+    }
+
+    private SalesAggregates(double highValueThreshold, SalesQueryPlan plan) {
+        this.highValueThreshold = highValueThreshold;
+        this.highValue = plan.queries().get(plan.queries().size() - 1);
+        this.execution = plan.newExecution();
+    }
+
+    /** Plans all report queries, high-value last. */
+    private static SalesQueryPlan plan(double highValueThreshold) {
+        SalesQuery highValue = SalesQuery.rows()
+                .where(Measure.SALES_AMOUNT, amount -> amount > highValueThreshold)
+                .orderBy(Measure.SALES_AMOUNT, Direction.DESCENDING)
+                .limit(HIGH_VALUE_LIMIT);
+        return SalesQueryPlan.of(SUMMARY, SALES_BY_REGION, SALES_BY_REP, CATEGORY_PERFORMANCE, MONTHLY_TREND,
+                CUSTOMER_TYPES, PROFIT_BY_PRODUCT, PAYMENT_METHODS, QUARTERLY_BY_REGION, SALES_CHANNELS,
+                DISCOUNT_IMPACT, highValue);
+    }
+
+    /**
+     * Returns a collector that aggregates a stream of records in one pass.
+     *
+     * @param highValueThreshold minimum sales amount (exclusive) for the high-value list
+     */
+    public static Collector<SalesRow, ?, SalesAggregates> collector(double highValueThreshold) {
+        SalesQueryPlan plan = plan(highValueThreshold); // Planned once for all partial results
+        return Collector.of(
+                () -> new SalesAggregates(highValueThreshold, plan),
+                SalesAggregates::accept,
+                SalesAggregates::combine
+        );
+    }
+
+    /**
+     * Maps a discount rate to its report bucket.
+     *
+     * @param discount discount rate (0.10 = 10%)
+     * @return one of {@link #DISCOUNT_BUCKETS}
+     */
+    static String discountBucket(double discount) {
+        return DISCOUNT_BUCKETS.get(discountBucketIndex(discount));
+    }
+
+    /** Returns the position of a discount rate's bucket in {@link #DISCOUNT_BUCKETS}. */
+    static int discountBucketIndex(double discount) {
+        if (discount == 0) return 0;
+        if (discount <= 0.10) return 1;
+        if (discount <= 0.20) return 2;
+        return 3;
+    }
+
+    /**
+     * Adds one record to every aggregate. The record is kept by reference if
+     * it enters the high-value list.
+     */
+    public void accept(SalesRow record) {
+        execution.accept(record);
+    }
+
+    /**
+     * Adds a row that is only valid during the call, such as the reused row
+     * of {@link SalesCsvParser}. Only a row entering the high-value list is
+     * copied, so streaming input keeps memory bounded by the number of groups.
+     */
+    public void acceptTransient(SalesRow row) {
+        execution.acceptTransient(row);
+    }
+
+    /**
+     * Adds all records in one scan; for {@link SalesColumns} the scan reads
+     * only the columns the reports use, straight from the column arrays.
+     */
+    public void acceptAll(List<? extends SalesRow> records) {
+        execution.acceptAll(records);
+    }
+
+    /**
+     * Merges aggregates of records that follow this one's records in
+     * encounter order.
+     *
+     * @return this, for use as a collector combiner
+     */
+    public SalesAggregates combine(SalesAggregates other) {
+        execution.combine(other.execution);
+        return this;
+    }
+
+    /**
+     * Returns an independent copy in O(groups), e.g. to read while this one
+     * keeps receiving records.
+     */
+    public SalesAggregates copy() {
+        return new SalesAggregates(highValueThreshold, execution.plan()).combine(this);
+    }
+
+    /**
+     * Returns the typed result of one of the report queries, e.g.
+     * {@link #SALES_BY_REGION}.
+     *
+     * @throws IllegalArgumentException if the query is not a report query
+     */
+    public Result result(SalesQuery query) {
+        return execution.result(query);
+    }
+
+    /**
+     * Returns the first limit groups of one of the report queries, ranked
+     * with a bounded heap (see {@link TopN}) rather than a full sort.
+     *
+     * @throws IllegalArgumentException if the query is not a report query
+     */
+    public Result result(SalesQuery query, int limit) {
+        return execution.result(query, limit);
+    }
+
+    /** Returns the overall summary group. */
+    private Group summary() {
+        return result(SUMMARY).groups().get(0);
+    }
+
+    /** Returns the first key and a value of each group, in a map with the given iteration order. */
+    private static <R> Map<String, R> toMap(Result result, Map<String, R> map, Function<Group, R> value) {
+        result.groups().forEach(group -> map.put(group.key(0), value.apply(group)));
+        return map;
+    }
+
+    // Getters - Aggregates are read-only once collected
+    public long getCount() { return summary().count(); }
+    public double getHighValueThreshold() { return highValueThreshold; }
+    public DoubleSummaryStatistics getSalesSummary() { return summary().statistics(Measure.SALES_AMOUNT); }
+    public DoubleSummaryStatistics getProfitSummary() { return summary().statistics(Measure.PROFIT); }
+    public List<SalesRow> getHighValueTransactions() { return result(highValue).rows(); }
+
+    public Map<String, DoubleSummaryStatistics> getSalesByMonth() {
+        return Collections.unmodifiableMap(toMap(result(MONTHLY_TREND), new TreeMap<>(),
+                group -> group.statistics(Measure.SALES_AMOUNT)));
+    }
+
+    public Map<String, DoubleSummaryStatistics> getProfitByProduct() {
+        return Collections.unmodifiableMap(toMap(result(PROFIT_BY_PRODUCT), new HashMap<>(),
+                group -> group.statistics(Measure.PROFIT)));
+    }
+
+    public Map<String, DoubleSummaryStatistics> getSalesByRegion() {
+        return toMap(result(SALES_BY_REGION), new HashMap<>(), group -> group.statistics(Measure.SALES_AMOUNT));
+    }
+
+    public Map<String, DoubleSummaryStatistics> getSalesByRep() {
+        return toMap(result(SALES_BY_REP), new HashMap<>(), group -> group.statistics(Measure.SALES_AMOUNT));
+    }
+
+    public Map<String, DoubleSummaryStatistics> getSalesByCategory() {
+        return toMap(result(CATEGORY_PERFORMANCE), new HashMap<>(), group -> group.statistics(Measure.SALES_AMOUNT));
+    }
+
+    public Map<String, Map<String, DoubleSummaryStatistics>> getSalesByRegionAndQuarter() {
+        Map<String, Map<String, DoubleSummaryStatistics>> byRegion = new HashMap<>();
+        result(QUARTERLY_BY_REGION).groups().forEach(group -> byRegion
+                .computeIfAbsent(group.key(0), region -> new HashMap<>())
+                .put(group.key(1), group.statistics(Measure.SALES_AMOUNT)));
+        return byRegion;
+    }
+
+    public Map<String, Long> getPaymentCounts() {
+        return toMap(result(PAYMENT_METHODS), new HashMap<>(), Group::count);
+    }
+
+    public Map<String, GroupMetrics> getCustomerTypes() {
+        return toMap(result(CUSTOMER_TYPES), new HashMap<>(), GroupMetrics::new);
+    }
+
+    public Map<String, GroupMetrics> getSalesChannels() {
+        return toMap(result(SALES_CHANNELS), new HashMap<>(), GroupMetrics::new);
+    }
+
+    public Map<String, GroupMetrics> getDiscountBuckets() {
+        return toMap(result(DISCOUNT_IMPACT), new HashMap<>(), GroupMetrics::new);
+    }
+}
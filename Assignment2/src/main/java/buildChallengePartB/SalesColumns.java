@@ -0,0 +1,292 @@
+package buildChallengePartB;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Columnar in-memory store of sales transactions.
+ *
+ * Architecture: Instead of one {@link SalesRecord} object per row (object
+ * header, seven String references each pointing at its own String and byte
+ * array, and a LocalDate), every field is held in its own primitive array:
+ * doubles and ints as-is, the sale date as int epoch days, and categorical
+ * strings as int codes into a per-column {@link StringDictionary} (shared
+ * across datasets for the low-cardinality columns, see
+ * {@link SalesDictionaries}). A scan of
+ * one column walks a contiguous array instead of chasing pointers.
+ *
+ * Memory per row on the bundled dataset (measured with
+ * {@link #estimatedBytesPerRow()} and heap deltas): about 457 bytes as
+ * List&lt;SalesRecord&gt; versus 68 bytes here, plus a few KB of
+ * dictionary shared by all rows.
+ *
+ * Design Decision: The class is a {@code List<SalesRow>} so the existing
+ * stream-based analyses run on it unchanged; {@link #get(int)} returns a
+ * small view that reads the columns on demand. Rows are appended with
+ * {@link #add(SalesRow)} (so {@code Collectors.toCollection(SalesColumns::new)}
+ * works) and cannot be changed or removed.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesColumns extends AbstractList<SalesRow> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Dictionaries for the categorical columns; low-cardinality ones are shared
+    private final StringDictionary productIds;
+    private final StringDictionary salesReps = SalesDictionaries.SALES_REPS;
+    private final StringDictionary regions = SalesDictionaries.REGIONS;
+    private final StringDictionary categories = SalesDictionaries.CATEGORIES;
+    private final StringDictionary customerTypes = SalesDictionaries.CUSTOMER_TYPES;
+    private final StringDictionary paymentMethods = SalesDictionaries.PAYMENT_METHODS;
+    private final StringDictionary salesChannels = SalesDictionaries.SALES_CHANNELS;
+
+    // One array per column, valid up to size
+    private int[] productIdCodes;
+    private int[] saleEpochDays;
+    private int[] salesRepCodes;
+    private int[] regionCodes;
+    private double[] salesAmounts;
+    private int[] quantitiesSold;
+    private int[] categoryCodes;
+    private double[] unitCosts;
+    private double[] unitPrices;
+    private int[] customerTypeCodes;
+    private double[] discounts;
+    private int[] paymentMethodCodes;
+    private int[] salesChannelCodes;
+    private int size;
+
+    public SalesColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity number of rows to allocate space for up front
+     */
+    public SalesColumns(int initialCapacity) {
+        this.productIds = new StringDictionary();
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Creates a store over existing column arrays, e.g. read from a
+     * {@link SalesSnapshot}. The arrays are used as they are, not copied.
+     *
+     * @param productIds dictionary of the product id codes
+     * @param size number of rows
+     * @param ints int columns in the order of {@link #intColumns()}
+     * @param doubles double columns in the order of {@link #doubleColumns()}
+     */
+    SalesColumns(StringDictionary productIds, int size, int[][] ints, double[][] doubles) {
+        this.productIds = productIds;
+        this.productIdCodes = ints[0];
+        this.saleEpochDays = ints[1];
+        this.salesRepCodes = ints[2];
+        this.regionCodes = ints[3];
+        this.quantitiesSold = ints[4];
+        this.categoryCodes = ints[5];
+        this.customerTypeCodes = ints[6];
+        this.paymentMethodCodes = ints[7];
+        this.salesChannelCodes = ints[8];
+        this.salesAmounts = doubles[0];
+        this.unitCosts = doubles[1];
+        this.unitPrices = doubles[2];
+        this.discounts = doubles[3];
+        this.size = size;
+    }
+
+    /**
+     * Returns the int column arrays, valid up to {@link #size()}: product id,
+     * sale epoch day, sales rep, region, quantity, category, customer type,
+     * payment method and sales channel.
+     */
+    int[][] intColumns() {
+        return new int[][] {productIdCodes, saleEpochDays, salesRepCodes, regionCodes, quantitiesSold,
+                categoryCodes, customerTypeCodes, paymentMethodCodes, salesChannelCodes};
+    }
+
+    /**
+     * Returns the double column arrays, valid up to {@link #size()}: sales
+     * amount, unit cost, unit price and discount.
+     */
+    double[][] doubleColumns() {
+        return new double[][] {salesAmounts, unitCosts, unitPrices, discounts};
+    }
+
+    /** Returns the dictionary of the product id codes. */
+    StringDictionary productIdDictionary() {
+        return productIds;
+    }
+
+    /**
+     * Appends a row, encoding its categorical fields.
+     *
+     * @return always true
+     */
+    @Override
+    public boolean add(SalesRow row) {
+        if (size == salesAmounts.length) {
+            allocate(Math.max(size + (size >> 1), INITIAL_CAPACITY));
+        }
+        int i = size;
+        productIdCodes[i] = productIds.encode(row.getProductId());
+        saleEpochDays[i] = row.getSaleEpochDay();
+        salesRepCodes[i] = row.getSalesRepCode();
+        regionCodes[i] = row.getRegionCode();
+        salesAmounts[i] = row.getSalesAmount();
+        quantitiesSold[i] = row.getQuantitySold();
+        categoryCodes[i] = row.getCategoryCode();
+        unitCosts[i] = row.getUnitCost();
+        unitPrices[i] = row.getUnitPrice();
+        customerTypeCodes[i] = row.getCustomerTypeCode();
+        discounts[i] = row.getDiscount();
+        paymentMethodCodes[i] = row.getPaymentMethodCode();
+        salesChannelCodes[i] = row.getSalesChannelCode();
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Appends all rows of another column store with bulk array copies.
+     * Product id codes are translated into this store's dictionary.
+     */
+    public void appendAll(SalesColumns other) {
+        if (size + other.size > salesAmounts.length) {
+            allocate(Math.max(size + other.size, size + (size >> 1)));
+        }
+        int[] productIdMapping = new int[other.productIds.size()];
+        for (int code = 0; code < productIdMapping.length; code++) {
+            productIdMapping[code] = productIds.encode(other.productIds.decode(code));
+        }
+        for (int i = 0; i < other.size; i++) {
+            productIdCodes[size + i] = productIdMapping[other.productIdCodes[i]];
+        }
+        System.arraycopy(other.saleEpochDays, 0, saleEpochDays, size, other.size);
+        System.arraycopy(other.salesRepCodes, 0, salesRepCodes, size, other.size);
+        System.arraycopy(other.regionCodes, 0, regionCodes, size, other.size);
+        System.arraycopy(other.salesAmounts, 0, salesAmounts, size, other.size);
+        System.arraycopy(other.quantitiesSold, 0, quantitiesSold, size, other.size);
+        System.arraycopy(other.categoryCodes, 0, categoryCodes, size, other.size);
+        System.arraycopy(other.unitCosts, 0, unitCosts, size, other.size);
+        System.arraycopy(other.unitPrices, 0, unitPrices, size, other.size);
+        System.arraycopy(other.customerTypeCodes, 0, customerTypeCodes, size, other.size);
+        System.arraycopy(other.discounts, 0, discounts, size, other.size);
+        System.arraycopy(other.paymentMethodCodes, 0, paymentMethodCodes, size, other.size);
+        System.arraycopy(other.salesChannelCodes, 0, salesChannelCodes, size, other.size);
+        size += other.size;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of the row at index; it stays valid as more rows are added.
+     */
+    @Override
+    public SalesRow get(int index) {
+        return new Row(Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Shrinks the column arrays to the number of rows, e.g. after loading. */
+    public void trimToSize() {
+        if (salesAmounts.length != size) {
+            allocate(size);
+        }
+    }
+
+    /**
+     * Returns the approximate heap bytes per row held by the column arrays,
+     * excluding dictionaries and spare capacity.
+     */
+    public static int estimatedBytesPerRow() {
+        // Four double columns, two int columns and seven int code columns
+        return 4 * Double.BYTES + 2 * Integer.BYTES + 7 * Integer.BYTES;
+    }
+
+    /**
+     * Returns the approximate total heap bytes of columns (with spare
+     * capacity) and the product id dictionary; the shared dictionaries are
+     * not counted against any one dataset.
+     */
+    public long estimatedBytes() {
+        long capacity = salesAmounts.length;
+        return capacity * estimatedBytesPerRow() + 13 * 16L + productIds.estimatedBytes();
+    }
+
+    private void allocate(int capacity) {
+        productIdCodes = grow(productIdCodes, capacity);
+        saleEpochDays = grow(saleEpochDays, capacity);
+        salesRepCodes = grow(salesRepCodes, capacity);
+        regionCodes = grow(regionCodes, capacity);
+        salesAmounts = grow(salesAmounts, capacity);
+        quantitiesSold = grow(quantitiesSold, capacity);
+        categoryCodes = grow(categoryCodes, capacity);
+        unitCosts = grow(unitCosts, capacity);
+        unitPrices = grow(unitPrices, capacity);
+        customerTypeCodes = grow(customerTypeCodes, capacity);
+        discounts = grow(discounts, capacity);
+        paymentMethodCodes = grow(paymentMethodCodes, capacity);
+        salesChannelCodes = grow(salesChannelCodes, capacity);
+    }
+
+    private static int[] grow(int[] column, int capacity) {
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+
+    private static double[] grow(double[] column, int capacity) {
+        return column == null ? new double[capacity] : Arrays.copyOf(column, capacity);
+    }
+
+    /** Row view reading the columns at one index */
+    private final class Row implements SalesRow {
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+
+        @Override public String getProductId() { return productIds.decode(productIdCodes[index]); }
+        @Override public LocalDate getSaleDate() { return LocalDate.ofEpochDay(saleEpochDays[index]); }
+        @Override public int getSaleEpochDay() { return saleEpochDays[index]; }
+        @Override public String getSalesRep() { return salesReps.decode(salesRepCodes[index]); }
+        @Override public String getRegion() { return regions.decode(regionCodes[index]); }
+        @Override public double getSalesAmount() { return salesAmounts[index]; }
+        @Override public int getQuantitySold() { return quantitiesSold[index]; }
+        @Override public String getProductCategory() { return categories.decode(categoryCodes[index]); }
+        @Override public double getUnitCost() { return unitCosts[index]; }
+        @Override public double getUnitPrice() { return unitPrices[index]; }
+        @Override public String getCustomerType() { return customerTypes.decode(customerTypeCodes[index]); }
+        @Override public double getDiscount() { return discounts[index]; }
+        @Override public String getPaymentMethod() { return paymentMethods.decode(paymentMethodCodes[index]); }
+        @Override public String getSalesChannel() { return salesChannels.decode(salesChannelCodes[index]); }
+        @Override public int getSalesRepCode() { return salesRepCodes[index]; }
+        @Override public int getRegionCode() { return regionCodes[index]; }
+        @Override public int getCategoryCode() { return categoryCodes[index]; }
+        @Override public int getCustomerTypeCode() { return customerTypeCodes[index]; }
+        @Override public int getPaymentMethodCode() { return paymentMethodCodes[index]; }
+        @Override public int getSalesChannelCode() { return salesChannelCodes[index]; }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Row row && row.owner() == SalesColumns.this && row.index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
+
+        private SalesColumns owner() {
+            return SalesColumns.this;
+        }
+    }
+}
@@ -0,0 +1,708 @@
+package buildChallengePartB;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hand-written CSV parser that turns sales data bytes directly into rows.
+ *
+ * Approach: The parser walks the bytes of a {@link ByteBuffer} once, finding
+ * delimiters and converting each field in place as it goes - no line
+ * Strings, no split regex, no per-field Strings:
+ * <ul>
+ *   <li>decimals are accumulated as a long mantissa and scaled by a power of
+ *       ten, which is exact (Clinger's fast path) and so gives the same double
+ *       as Double.parseDouble; unusual forms such as exponents or more than
+ *       15 significant digits fall back to Double.parseDouble;</li>
+ *   <li>ints are parsed digit by digit with overflow checks;</li>
+ *   <li>ISO dates (yyyy-MM-dd) are validated and converted to epoch days
+ *       arithmetically; other forms fall back to LocalDate.parse;</li>
+ *   <li>string fields are looked up by their bytes in small per-column
+ *       tables, so a String (and its dictionary code, see
+ *       {@link SalesDictionaries}) is created once per distinct value.</li>
+ * </ul>
+ * Quoted fields follow RFC 4180: they may contain delimiters, line breaks and
+ * doubled quotes. Unquoted fields are trimmed like String.trim(). Blank lines
+ * are skipped, columns after the 13th are ignored.
+ *
+ * Each valid line is handed to the sink as one reused mutable {@link SalesRow}
+ * that is only valid during the call; copy it (e.g. with
+ * {@link SalesColumns#add(SalesRow)}) to keep it. Invalid lines are skipped
+ * and reported through {@link #getErrors()} with their line number.
+ *
+ * Direct buffers are copied into a heap array in 1 MB blocks cut at line
+ * boundaries, so the scan itself always runs over a byte[]. Streams are read
+ * the same way; a line longer than 16 MB is rejected there rather than
+ * buffered, so a broken quote cannot pull the rest of the input into memory.
+ *
+ * Thread Safety: Not thread-safe; use one parser per thread.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesCsvParser {
+    /** Number of columns a sales line must have */
+    static final int FIELD_COUNT = 13;
+
+    /**
+     * States of the scan for line ends, which recognizes quotes like
+     * parseLine: only a quote at the start of a field opens a quoted field,
+     * one inside a value is an ordinary character.
+     */
+    static final int FIELD_START = 0;
+    static final int UNQUOTED = 1;
+    static final int QUOTED = 2;
+    static final int QUOTE_IN_QUOTED = 3;
+    static final int SCAN_STATES = 4;
+
+    /** Longest line accepted when parsing block by block */
+    static final int MAX_LINE_BYTES = 1 << 24;
+
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** A line that could not be parsed */
+    record ParseError(long line, String message) {
+    }
+
+    private final boolean skipHeader;
+    private final int maxLineBytes;
+    private final MutableRow row = new MutableRow();
+    private final ByteStringTable productIds = new ByteStringTable(null);
+    private final ByteStringTable salesReps = new ByteStringTable(SalesDictionaries.SALES_REPS);
+    private final ByteStringTable regions = new ByteStringTable(SalesDictionaries.REGIONS);
+    private final ByteStringTable categories = new ByteStringTable(SalesDictionaries.CATEGORIES);
+    private final ByteStringTable customerTypes = new ByteStringTable(SalesDictionaries.CUSTOMER_TYPES);
+    private final ByteStringTable paymentMethods = new ByteStringTable(SalesDictionaries.PAYMENT_METHODS);
+    private final ByteStringTable salesChannels = new ByteStringTable(SalesDictionaries.SALES_CHANNELS);
+    private final List<ParseError> errors = new ArrayList<>();
+
+    /** Scratch space for quoted fields containing doubled quotes */
+    private byte[] unescaped = new byte[64];
+    private boolean headerPending;
+    private long lineNumber;
+    private long rowCount;
+    private long byteCount;
+
+    /**
+     * @param skipHeader whether the first line of the input is a header row
+     */
+    public SalesCsvParser(boolean skipHeader) {
+        this(skipHeader, 0);
+    }
+
+    /**
+     * Creates a parser for input that starts after the given number of lines,
+     * so reported line numbers refer to the whole file.
+     *
+     * @param skipHeader whether the first line of the input is a header row
+     * @param linesBefore number of lines preceding the input
+     */
+    public SalesCsvParser(boolean skipHeader, long linesBefore) {
+        this(skipHeader, linesBefore, MAX_LINE_BYTES);
+    }
+
+    /**
+     * @param skipHeader whether the first line of the input is a header row
+     * @param linesBefore number of lines preceding the input
+     * @param maxLineBytes longest line accepted when parsing block by block
+     * @throws IllegalArgumentException if maxLineBytes is not positive
+     */
+    SalesCsvParser(boolean skipHeader, long linesBefore, int maxLineBytes) {
+        if (maxLineBytes <= 0) {
+            throw new IllegalArgumentException("Line limit must be positive: " + maxLineBytes);
+        }
+        this.skipHeader = skipHeader;
+        this.maxLineBytes = maxLineBytes;
+        this.headerPending = skipHeader;
+        this.lineNumber = linesBefore;
+    }
+
+    /**
+     * Parses all complete and trailing lines between the buffer's position and
+     * limit. The buffer's position is not changed.
+     *
+     * @param buffer UTF-8 CSV bytes
+     * @param sink receives each valid row; the row object is reused
+     * @return number of rows passed to the sink
+     */
+    public long parse(ByteBuffer buffer, Consumer<? super SalesRow> sink) {
+        long before = rowCount;
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            parse(buffer.array(), offset + buffer.position(), offset + buffer.limit(), sink);
+            byteCount += buffer.remaining();
+        } else {
+            // Copy a direct or mapped buffer block by block (a bulk copy is far cheaper than parsing)
+            int[] pos = {buffer.position()};
+            parseInBlocks(Math.min(BLOCK_BYTES, buffer.remaining()), (block, offset, length) -> {
+                int read = Math.min(length, buffer.limit() - pos[0]);
+                buffer.get(pos[0], block, offset, read);
+                pos[0] += read;
+                return read;
+            }, sink);
+        }
+        return rowCount - before;
+    }
+
+    /**
+     * Parses all lines read from a stream until its end, one block of whole
+     * lines at a time, so memory use does not grow with the input. The
+     * stream is not closed.
+     *
+     * @param in UTF-8 CSV bytes, e.g. a file or a GZIPInputStream
+     * @param sink receives each valid row; the row object is reused
+     * @return number of rows passed to the sink
+     * @throws IOException if reading fails
+     */
+    public long parse(InputStream in, Consumer<? super SalesRow> sink) throws IOException {
+        long before = rowCount;
+        parseInBlocks(BLOCK_BYTES, in::readNBytes, sink);
+        return rowCount - before;
+    }
+
+    private void parse(byte[] data, int pos, int limit, Consumer<? super SalesRow> sink) {
+        while (pos < limit) {
+            pos = parseLine(data, pos, limit, sink);
+        }
+    }
+
+    /**
+     * Fills part of a block; reading fewer bytes than requested means the
+     * input has ended.
+     *
+     * @param <E> the exception reading may throw
+     */
+    @FunctionalInterface
+    private interface BlockReader<E extends Exception> {
+        int read(byte[] block, int offset, int length) throws E;
+    }
+
+    /**
+     * Reads the input into a reused array and parses it one block of whole
+     * lines at a time; a partial last line is carried over to the next block.
+     * A line that outgrows maxLineBytes, e.g. after an unterminated quote, is
+     * rejected, and parsing resumes after its first line break.
+     */
+    private <E extends Exception> void parseInBlocks(int blockBytes, BlockReader<E> reader,
+                                                     Consumer<? super SalesRow> sink) throws E {
+        byte[] block = new byte[Math.max(Math.min(blockBytes, maxLineBytes), 1)];
+        int carried = 0;
+        boolean ended = false;
+        boolean discarding = false;
+        while (!ended) {
+            int length = reader.read(block, carried, block.length - carried);
+            ended = length < block.length - carried;
+            byteCount += length;
+            int filled = carried + length;
+            if (discarding) {
+                int skipped = 0;
+                while (skipped < filled && block[skipped] != '\n') {
+                    skipped++;
+                }
+                discarding = skipped == filled;
+                if (!discarding) {
+                    skipped++; // The line break ending the rejected line
+                }
+                filled -= skipped;
+                System.arraycopy(block, skipped, block, 0, filled);
+            }
+            int end = ended ? filled : endOfLastLine(block, filled);
+            if (end == 0 && !ended) {
+                if (filled == block.length && block.length >= maxLineBytes) {
+                    errors.add(new ParseError(++lineNumber, "Line longer than " + maxLineBytes + " bytes"));
+                    headerPending = false;
+                    discarding = true;
+                } else if (filled == block.length) {
+                    // One line longer than the block
+                    block = Arrays.copyOf(block, (int) Math.min(2L * block.length, maxLineBytes));
+                }
+                carried = filled;
+                continue;
+            }
+            parse(block, 0, end, sink);
+            carried = filled - end;
+            System.arraycopy(block, end, block, 0, carried);
+        }
+    }
+
+    /** Returns the index after the last line end, or 0 if there is none. */
+    private static int endOfLastLine(byte[] data, int limit) {
+        int end = 0;
+        int state = FIELD_START;
+        for (int i = 0; i < limit; i++) {
+            byte b = data[i];
+            if (b == '\n' && state != QUOTED) {
+                end = i + 1;
+            }
+            state = nextScanState(state, b);
+        }
+        return end;
+    }
+
+    /** Returns the lines rejected so far. */
+    public List<ParseError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /** Returns the number of rows passed to sinks so far. */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /** Returns the number of bytes parsed so far. */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /** Returns the number of lines read so far, including header, blank and invalid lines. */
+    public long getLineCount() {
+        return lineNumber;
+    }
+
+    /** Returns whether this parser was created to skip a header row. */
+    public boolean skipsHeader() {
+        return skipHeader;
+    }
+
+    private int parseLine(byte[] buf, int pos, int limit, Consumer<? super SalesRow> sink) {
+        long line = ++lineNumber;
+        if (headerPending) {
+            headerPending = false;
+            return skipLine(buf, pos, limit);
+        }
+
+        String error = null;
+        int field = 0;
+        boolean blank = true;
+        while (true) {
+            while (pos < limit && isBlank(buf[pos]) && buf[pos] != '\n') {
+                pos++; // Leading whitespace
+            }
+            int start;
+            int end;
+            byte[] source = buf;
+            if (pos < limit && buf[pos] == '"') {
+                blank = false;
+                int close = pos + 1;
+                boolean escaped = false;
+                while (true) {
+                    if (close >= limit) {
+                        error = error != null ? error : "Unterminated quoted field";
+                        break;
+                    }
+                    byte b = buf[close];
+                    if (b == '"') {
+                        if (close + 1 < limit && buf[close + 1] == '"') {
+                            escaped = true;
+                            close += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b == '\n') {
+                        lineNumber++; // Line break inside quotes
+                    }
+                    close++;
+                }
+                start = pos + 1;
+                end = Math.min(close, limit);
+                pos = Math.min(close + 1, limit);
+                while (pos < limit && isBlank(buf[pos]) && buf[pos] != '\n') {
+                    pos++;
+                }
+                if (pos < limit && buf[pos] != ',' && buf[pos] != '\n' && error == null) {
+                    error = "Unexpected character after quoted field " + (field + 1);
+                    pos = skipTo(buf, pos, limit, UNQUOTED);
+                }
+                if (escaped) {
+                    end = unescape(buf, start, end);
+                    start = 0;
+                    source = unescaped;
+                }
+            } else {
+                start = pos;
+                while (pos < limit) {
+                    byte b = buf[pos];
+                    if (b == ',' || b == '\n') {
+                        break;
+                    }
+                    pos++;
+                }
+                end = pos;
+                while (end > start && isBlank(buf[end - 1])) {
+                    end--; // Trailing whitespace, including '\r'
+                }
+                if (end > start || (pos < limit && buf[pos] == ',')) {
+                    blank = false;
+                }
+            }
+
+            if (field < FIELD_COUNT && error == null) {
+                error = store(field, source, start, end);
+            }
+            field++;
+
+            if (pos < limit && buf[pos] == ',') {
+                pos++;
+                continue;
+            }
+            if (pos < limit) {
+                pos++; // Newline
+            }
+            break;
+        }
+
+        if (blank) {
+            return pos;
+        }
+        if (error == null && field < FIELD_COUNT) {
+            error = "Expected " + FIELD_COUNT + " fields but found " + field;
+        }
+        if (error != null) {
+            errors.add(new ParseError(line, error));
+        } else {
+            rowCount++;
+            sink.accept(row);
+        }
+        return pos;
+    }
+
+    /** Converts one field into the row; returns an error message or null. */
+    private String store(int field, byte[] buf, int start, int end) {
+        try {
+            switch (field) {
+                case 0 -> row.productId = productIds.lookup(buf, start, end).value;
+                case 1 -> row.saleEpochDay = parseDate(buf, start, end);
+                case 2 -> row.salesRepCode = salesReps.lookup(buf, start, end).code;
+                case 3 -> row.regionCode = regions.lookup(buf, start, end).code;
+                case 4 -> row.salesAmount = parseDouble(buf, start, end);
+                case 5 -> row.quantitySold = parseInt(buf, start, end);
+                case 6 -> row.categoryCode = categories.lookup(buf, start, end).code;
+                case 7 -> row.unitCost = parseDouble(buf, start, end);
+                case 8 -> row.unitPrice = parseDouble(buf, start, end);
+                case 9 -> row.customerTypeCode = customerTypes.lookup(buf, start, end).code;
+                case 10 -> row.discount = parseDouble(buf, start, end);
+                case 11 -> row.paymentMethodCode = paymentMethods.lookup(buf, start, end).code;
+                case 12 -> row.salesChannelCode = salesChannels.lookup(buf, start, end).code;
+                default -> throw new IllegalStateException("No column " + field);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage(); // Rare path: invalid field
+        }
+    }
+
+    /**
+     * Returns the line-scan state after a byte. A newline read in any state
+     * but {@link #QUOTED} ends a line.
+     */
+    static int nextScanState(int state, byte b) {
+        return switch (state) {
+            case FIELD_START -> b == '"' ? QUOTED : b == ',' || isBlank(b) ? FIELD_START : UNQUOTED;
+            case QUOTED -> b == '"' ? QUOTE_IN_QUOTED : QUOTED;
+            case QUOTE_IN_QUOTED -> b == '"' ? QUOTED : b == ',' || b == '\n' ? FIELD_START : UNQUOTED;
+            default -> b == ',' || b == '\n' ? FIELD_START : UNQUOTED;
+        };
+    }
+
+    /**
+     * Parses a decimal without creating a String, falling back to
+     * Double.parseDouble for forms the fast path cannot round exactly.
+     */
+    static double parseDouble(byte[] buf, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return fallbackDouble(buf, start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (point) {
+                    scale++;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                return fallbackDouble(buf, start, end); // Exponent, NaN, garbage...
+            }
+        }
+        if (digits == 0 || mantissa > MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+            return fallbackDouble(buf, start, end);
+        }
+        double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double fallbackDouble(byte[] buf, int start, int end) {
+        return Double.parseDouble(text(buf, start, end));
+    }
+
+    /**
+     * Parses a decimal int without creating a String.
+     *
+     * @throws NumberFormatException if the field is not a valid int
+     */
+    static int parseInt(byte[] buf, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            throw numberFormat(buf, start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            byte b = buf[i];
+            if (b < '0' || b > '9' || value > Integer.MAX_VALUE) {
+                throw numberFormat(buf, start, end);
+            }
+            value = value * 10 + (b - '0');
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberFormat(buf, start, end);
+        }
+        return (int) value;
+    }
+
+    private static NumberFormatException numberFormat(byte[] buf, int start, int end) {
+        return new NumberFormatException("For input string: \"" + text(buf, start, end) + "\"");
+    }
+
+    /**
+     * Parses an ISO yyyy-MM-dd date to epoch days without creating a String
+     * or LocalDate; other forms fall back to LocalDate.parse.
+     *
+     * @throws java.time.format.DateTimeParseException if the date is invalid
+     */
+    static int parseDate(byte[] buf, int start, int end) {
+        if (end - start != 10 || buf[start + 4] != '-' || buf[start + 7] != '-') {
+            return fallbackDate(buf, start, end);
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return fallbackDate(buf, start, end); // Produces the standard parse error
+        }
+        return (int) toEpochDay(year, month, day);
+    }
+
+    private static int fallbackDate(byte[] buf, int start, int end) {
+        return Math.toIntExact(LocalDate.parse(text(buf, start, end)).toEpochDay());
+    }
+
+    /** Reads count ASCII digits; returns -1 if any byte is not a digit. */
+    private static int digits(byte[] buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = buf[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /** Same arithmetic as LocalDate.toEpochDay for non-negative years. */
+    private static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static String text(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isBlank(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static int skipLine(byte[] buf, int pos, int limit) {
+        pos = skipTo(buf, pos, limit, FIELD_START);
+        return pos < limit ? pos + 1 : pos;
+    }
+
+    /** Advances to the newline ending the line (or the limit), scanning from the given state. */
+    private static int skipTo(byte[] buf, int pos, int limit, int state) {
+        for (; pos < limit; pos++) {
+            byte b = buf[pos];
+            if (b == '\n' && state != QUOTED) {
+                return pos;
+            }
+            state = nextScanState(state, b);
+        }
+        return pos;
+    }
+
+    /** Copies a quoted field's content with doubled quotes collapsed; returns its length. */
+    private int unescape(byte[] buf, int start, int end) {
+        if (unescaped.length < end - start) {
+            unescaped = new byte[Math.max(end - start, unescaped.length * 2)];
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+            unescaped[length++] = b;
+            if (b == '"') {
+                i++; // Skip the second quote of the pair
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Open-addressing table from field bytes to the String (and dictionary
+     * code) they decode to, so each distinct value is decoded once.
+     */
+    private static final class ByteStringTable {
+        private final StringDictionary dictionary;
+        private Entry[] entries = new Entry[16];
+        private int size;
+
+        private ByteStringTable(StringDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        Entry lookup(byte[] buf, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buf[i];
+            }
+            int mask = entries.length - 1;
+            for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+                Entry entry = entries[slot];
+                if (entry == null) {
+                    return insert(slot, hash, buf, start, end);
+                }
+                if (entry.hash == hash && entry.matches(buf, start, end)) {
+                    return entry;
+                }
+            }
+        }
+
+        private Entry insert(int slot, int hash, byte[] buf, int start, int end) {
+            byte[] bytes = Arrays.copyOfRange(buf, start, end);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            Entry entry = new Entry(bytes, hash, value, dictionary != null ? dictionary.encode(value) : -1);
+            entries[slot] = entry;
+            if (++size * 2 > entries.length) {
+                rehash();
+            }
+            return entry;
+        }
+
+        private void rehash() {
+            Entry[] old = entries;
+            entries = new Entry[old.length * 2];
+            int mask = entries.length - 1;
+            for (Entry entry : old) {
+                if (entry != null) {
+                    int slot = mix(entry.hash) & mask;
+                    while (entries[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    entries[slot] = entry;
+                }
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /** One distinct field value */
+    private record Entry(byte[] bytes, int hash, String value, int code) {
+        boolean matches(byte[] buf, int start, int end) {
+            return Arrays.equals(bytes, 0, bytes.length, buf, start, end);
+        }
+    }
+
+    /** The reused row handed to sinks */
+    private static final class MutableRow implements SalesRow {
+        private String productId;
+        private int saleEpochDay;
+        private int salesRepCode;
+        private int regionCode;
+        private double salesAmount;
+        private int quantitySold;
+        private int categoryCode;
+        private double unitCost;
+        private double unitPrice;
+        private int customerTypeCode;
+        private double discount;
+        private int paymentMethodCode;
+        private int salesChannelCode;
+
+        @Override public String getProductId() { return productId; }
+        @Override public LocalDate getSaleDate() { return LocalDate.ofEpochDay(saleEpochDay); }
+        @Override public int getSaleEpochDay() { return saleEpochDay; }
+        @Override public String getSalesRep() { return SalesDictionaries.SALES_REPS.decode(salesRepCode); }
+        @Override public String getRegion() { return SalesDictionaries.REGIONS.decode(regionCode); }
+        @Override public double getSalesAmount() { return salesAmount; }
+        @Override public int getQuantitySold() { return quantitySold; }
+        @Override public String getProductCategory() { return SalesDictionaries.CATEGORIES.decode(categoryCode); }
+        @Override public double getUnitCost() { return unitCost; }
+        @Override public double getUnitPrice() { return unitPrice; }
+        @Override public String getCustomerType() { return SalesDictionaries.CUSTOMER_TYPES.decode(customerTypeCode); }
+        @Override public double getDiscount() { return discount; }
+        @Override public String getPaymentMethod() { return SalesDictionaries.PAYMENT_METHODS.decode(paymentMethodCode); }
+        @Override public String getSalesChannel() { return SalesDictionaries.SALES_CHANNELS.decode(salesChannelCode); }
+        @Override public int getSalesRepCode() { return salesRepCode; }
+        @Override public int getRegionCode() { return regionCode; }
+        @Override public int getCategoryCode() { return categoryCode; }
+        @Override public int getCustomerTypeCode() { return customerTypeCode; }
+        @Override public int getPaymentMethodCode() { return paymentMethodCode; }
+        @Override public int getSalesChannelCode() { return salesChannelCode; }
+    }
+}
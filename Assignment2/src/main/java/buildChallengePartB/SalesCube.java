@@ -0,0 +1,342 @@
+package buildChallengePartB;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense pre-aggregated cube of sales over region x month x category x sales
+ * channel x customer type.
+ *
+ * Architecture: Every cell (one combination of dimension values) holds the
+ * count and the sum, min and max of sales amount and profit of its records.
+ * Categorical axes are indexed by the codes of the shared
+ * {@link SalesDictionaries}; the time axis by month, counted from the first
+ * month in the data. Cells are stored column-wise in flat arrays, so a
+ * query is a loop over a few thousand array slots rather than a scan of
+ * the records:
+ * <ul>
+ *   <li>{@link #rollUp(Dimension...)} aggregates the cells up to the given
+ *       dimensions (and {@link #total()} to a single cell);</li>
+ *   <li>{@link #slice(Dimension, String)} restricts one dimension to a
+ *       value; slices share the cells of the cube and can be chained;</li>
+ *   <li>drilling down is a roll-up to more dimensions, e.g. from
+ *       {@code rollUp(REGION)} to {@code rollUp(REGION, QUARTER)}.</li>
+ * </ul>
+ * {@link Dimension#QUARTER} rolls months up to quarter of the year (Q1-Q4
+ * across years), as in the quarterly report.
+ *
+ * Sums are plain double sums per cell, so they can differ from the
+ * compensated report totals in the last bits.
+ *
+ * The cube is a snapshot of the data it was built from; build a new one to
+ * include later records.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesCube {
+    /** Dimensions a query can group or slice by */
+    enum Dimension { REGION, QUARTER, MONTH, CATEGORY, SALES_CHANNEL, CUSTOMER_TYPE }
+
+    /** Statistics of one cell or roll-up */
+    record Cell(long count, double salesSum, double salesMin, double salesMax,
+                double profitSum, double profitMin, double profitMax) {
+        static final Cell EMPTY = new Cell(0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+        double averageSales() {
+            return count > 0 ? salesSum / count : 0;
+        }
+
+        double averageProfit() {
+            return count > 0 ? profitSum / count : 0;
+        }
+    }
+
+    // Stored axes, outermost first
+    private static final int REGION_AXIS = 0;
+    private static final int MONTH_AXIS = 1;
+    private static final int CATEGORY_AXIS = 2;
+    private static final int CHANNEL_AXIS = 3;
+    private static final int CUSTOMER_AXIS = 4;
+    private static final int AXES = 5;
+
+    /** Shared cell storage; slices of one cube use the same instance */
+    private static final class Cells {
+        final int[] extents;
+        final YearMonth firstMonth;
+        final long[] counts;
+        final double[] salesSums;
+        final double[] salesMins;
+        final double[] salesMaxes;
+        final double[] profitSums;
+        final double[] profitMins;
+        final double[] profitMaxes;
+
+        Cells(int[] extents, YearMonth firstMonth) {
+            this.extents = extents;
+            this.firstMonth = firstMonth;
+            int size = 1;
+            for (int extent : extents) {
+                size = Math.multiplyExact(size, extent);
+            }
+            counts = new long[size];
+            salesSums = new double[size];
+            salesMins = filled(size, Double.POSITIVE_INFINITY);
+            salesMaxes = filled(size, Double.NEGATIVE_INFINITY);
+            profitSums = new double[size];
+            profitMins = filled(size, Double.POSITIVE_INFINITY);
+            profitMaxes = filled(size, Double.NEGATIVE_INFINITY);
+        }
+
+        private static double[] filled(int size, double value) {
+            double[] array = new double[size];
+            Arrays.fill(array, value);
+            return array;
+        }
+    }
+
+    private final Cells cells;
+    /** Selected coordinates per axis; null selects all */
+    private final boolean[][] selected;
+
+    private SalesCube(Cells cells, boolean[][] selected) {
+        this.cells = cells;
+        this.selected = selected;
+    }
+
+    /**
+     * Builds a cube from records in two passes: one to find the extent of
+     * each axis, one to fill the cells.
+     *
+     * @param records the records to aggregate
+     * @return the cube, empty if there are no records
+     */
+    static SalesCube build(List<? extends SalesRow> records) {
+        int[] extents = new int[AXES];
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+        for (SalesRow record : records) {
+            extents[REGION_AXIS] = Math.max(extents[REGION_AXIS], record.getRegionCode() + 1);
+            extents[CATEGORY_AXIS] = Math.max(extents[CATEGORY_AXIS], record.getCategoryCode() + 1);
+            extents[CHANNEL_AXIS] = Math.max(extents[CHANNEL_AXIS], record.getSalesChannelCode() + 1);
+            extents[CUSTOMER_AXIS] = Math.max(extents[CUSTOMER_AXIS], record.getCustomerTypeCode() + 1);
+            int day = record.getSaleEpochDay();
+            firstDay = Math.min(firstDay, day);
+            lastDay = Math.max(lastDay, day);
+        }
+        if (records.isEmpty()) {
+            return new SalesCube(new Cells(new int[AXES], YearMonth.of(1970, 1)), new boolean[AXES][]);
+        }
+
+        // Month offset of every day in range, so the fill pass does no date arithmetic
+        YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(firstDay));
+        int[] monthOfDay = new int[lastDay - firstDay + 1];
+        for (int day = firstDay; day <= lastDay; day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            monthOfDay[day - firstDay] = (int) firstMonth.until(YearMonth.from(date), ChronoUnit.MONTHS);
+        }
+        extents[MONTH_AXIS] = monthOfDay[monthOfDay.length - 1] + 1;
+
+        Cells cells = new Cells(extents, firstMonth);
+        for (SalesRow record : records) {
+            int cell = record.getRegionCode();
+            cell = cell * extents[MONTH_AXIS] + monthOfDay[record.getSaleEpochDay() - firstDay];
+            cell = cell * extents[CATEGORY_AXIS] + record.getCategoryCode();
+            cell = cell * extents[CHANNEL_AXIS] + record.getSalesChannelCode();
+            cell = cell * extents[CUSTOMER_AXIS] + record.getCustomerTypeCode();
+
+            double amount = record.getSalesAmount();
+            double profit = record.getProfit();
+            cells.counts[cell]++;
+            cells.salesSums[cell] += amount;
+            cells.salesMins[cell] = Math.min(cells.salesMins[cell], amount);
+            cells.salesMaxes[cell] = Math.max(cells.salesMaxes[cell], amount);
+            cells.profitSums[cell] += profit;
+            cells.profitMins[cell] = Math.min(cells.profitMins[cell], profit);
+            cells.profitMaxes[cell] = Math.max(cells.profitMaxes[cell], profit);
+        }
+        return new SalesCube(cells, new boolean[AXES][]);
+    }
+
+    /**
+     * Returns the sub-cube where a dimension has the given value. Slicing
+     * twice on the same dimension keeps only values selected by both.
+     *
+     * @param dimension the dimension to restrict
+     * @param value a region, category, channel or customer type name, a
+     *              month as yyyy-MM, or a quarter as Q1-Q4
+     * @return the slice; empty if the value does not occur
+     * @throws IllegalArgumentException if a month or quarter is malformed
+     */
+    SalesCube slice(Dimension dimension, String value) {
+        int axis = axisOf(dimension);
+        boolean[] mask = new boolean[cells.extents[axis]];
+        switch (dimension) {
+            case MONTH -> {
+                int month = monthOffset(value);
+                if (month >= 0 && month < mask.length) {
+                    mask[month] = true;
+                }
+            }
+            case QUARTER -> {
+                int quarter = quarterIndex(value);
+                for (int month = 0; month < mask.length; month++) {
+                    mask[month] = quarterOfMonth(month) == quarter;
+                }
+            }
+            default -> {
+                int code = dictionaryOf(dimension).find(value);
+                if (code >= 0 && code < mask.length) {
+                    mask[code] = true;
+                }
+            }
+        }
+        boolean[][] narrowed = selected.clone();
+        if (narrowed[axis] != null) {
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] &= narrowed[axis][i];
+            }
+        }
+        narrowed[axis] = mask;
+        return new SalesCube(cells, narrowed);
+    }
+
+    /** Returns the statistics of all selected cells together. */
+    Cell total() {
+        return rollUp().getOrDefault(List.of(), Cell.EMPTY);
+    }
+
+    /**
+     * Aggregates the selected cells up to the given dimensions.
+     *
+     * @param dimensions dimensions to group by, in key order
+     * @return statistics per combination of dimension values that has
+     *         records, keyed by the values in the order of dimensions; keys
+     *         are in code order (first appearance) for names and in time
+     *         order for months and quarters
+     */
+    Map<List<String>, Cell> rollUp(Dimension... dimensions) {
+        int[] groupExtents = new int[dimensions.length];
+        int groups = 1;
+        for (int d = 0; d < dimensions.length; d++) {
+            groupExtents[d] = dimensions[d] == Dimension.QUARTER ? 4 : cells.extents[axisOf(dimensions[d])];
+            groups = Math.multiplyExact(groups, groupExtents[d]);
+        }
+        long[] counts = new long[groups];
+        double[] salesSums = new double[groups];
+        double[] salesMins = Cells.filled(groups, Double.POSITIVE_INFINITY);
+        double[] salesMaxes = Cells.filled(groups, Double.NEGATIVE_INFINITY);
+        double[] profitSums = new double[groups];
+        double[] profitMins = Cells.filled(groups, Double.POSITIVE_INFINITY);
+        double[] profitMaxes = Cells.filled(groups, Double.NEGATIVE_INFINITY);
+
+        int[] coordinates = new int[AXES];
+        for (int cell = 0; cell < cells.counts.length; cell++) {
+            if (cells.counts[cell] == 0) {
+                continue;
+            }
+            int rest = cell;
+            boolean inSlice = true;
+            for (int axis = AXES - 1; axis >= 0; axis--) {
+                coordinates[axis] = rest % cells.extents[axis];
+                rest /= cells.extents[axis];
+                inSlice &= selected[axis] == null || selected[axis][coordinates[axis]];
+            }
+            if (!inSlice) {
+                continue;
+            }
+            int group = 0;
+            for (int d = 0; d < dimensions.length; d++) {
+                int coordinate = coordinates[axisOf(dimensions[d])];
+                if (dimensions[d] == Dimension.QUARTER) {
+                    coordinate = quarterOfMonth(coordinate);
+                }
+                group = group * groupExtents[d] + coordinate;
+            }
+            counts[group] += cells.counts[cell];
+            salesSums[group] += cells.salesSums[cell];
+            salesMins[group] = Math.min(salesMins[group], cells.salesMins[cell]);
+            salesMaxes[group] = Math.max(salesMaxes[group], cells.salesMaxes[cell]);
+            profitSums[group] += cells.profitSums[cell];
+            profitMins[group] = Math.min(profitMins[group], cells.profitMins[cell]);
+            profitMaxes[group] = Math.max(profitMaxes[group], cells.profitMaxes[cell]);
+        }
+
+        Map<List<String>, Cell> result = new LinkedHashMap<>();
+        for (int group = 0; group < groups; group++) {
+            if (counts[group] == 0) {
+                continue;
+            }
+            String[] key = new String[dimensions.length];
+            int rest = group;
+            for (int d = dimensions.length - 1; d >= 0; d--) {
+                key[d] = label(dimensions[d], rest % groupExtents[d]);
+                rest /= groupExtents[d];
+            }
+            result.put(List.of(key), new Cell(counts[group], salesSums[group], salesMins[group],
+                    salesMaxes[group], profitSums[group], profitMins[group], profitMaxes[group]));
+        }
+        return result;
+    }
+
+    /** Returns the number of cells, including empty ones. */
+    int cellCount() {
+        return cells.counts.length;
+    }
+
+    private String label(Dimension dimension, int coordinate) {
+        return switch (dimension) {
+            case MONTH -> cells.firstMonth.plusMonths(coordinate).toString();
+            case QUARTER -> "Q" + (coordinate + 1);
+            default -> dictionaryOf(dimension).decode(coordinate);
+        };
+    }
+
+    private int quarterOfMonth(int monthOffset) {
+        return (cells.firstMonth.plusMonths(monthOffset).getMonthValue() - 1) / 3;
+    }
+
+    private int monthOffset(String month) {
+        try {
+            YearMonth value = YearMonth.parse(month);
+            return (int) cells.firstMonth.until(value, ChronoUnit.MONTHS);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Month must be yyyy-MM: " + month, e);
+        }
+    }
+
+    private static int quarterIndex(String quarter) {
+        if (quarter.length() != 2 || quarter.charAt(0) != 'Q' || quarter.charAt(1) < '1' || quarter.charAt(1) > '4') {
+            throw new IllegalArgumentException("Quarter must be Q1-Q4: " + quarter);
+        }
+        return quarter.charAt(1) - '1';
+    }
+
+    private static int axisOf(Dimension dimension) {
+        return switch (dimension) {
+            case REGION -> REGION_AXIS;
+            case QUARTER, MONTH -> MONTH_AXIS;
+            case CATEGORY -> CATEGORY_AXIS;
+            case SALES_CHANNEL -> CHANNEL_AXIS;
+            case CUSTOMER_TYPE -> CUSTOMER_AXIS;
+        };
+    }
+
+    private static StringDictionary dictionaryOf(Dimension dimension) {
+        return switch (dimension) {
+            case REGION -> SalesDictionaries.REGIONS;
+            case CATEGORY -> SalesDictionaries.CATEGORIES;
+            case SALES_CHANNEL -> SalesDictionaries.SALES_CHANNELS;
+            case CUSTOMER_TYPE -> SalesDictionaries.CUSTOMER_TYPES;
+            case QUARTER, MONTH -> throw new IllegalArgumentException("Not a categorical dimension: " + dimension);
+        };
+    }
+}
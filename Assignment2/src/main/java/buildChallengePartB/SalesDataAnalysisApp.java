@@ -1,6 +1,9 @@
 package buildChallengePartB;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
 
 public class SalesDataAnalysisApp {
 
@@ -13,25 +16,46 @@ public class SalesDataAnalysisApp {
      */
     private static final String CSV_FILE_PATH = "/sales_data.csv";
 
+    /** Suffix of the binary snapshot kept next to the CSV file */
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    /** System property that turns on the secondary indexes, e.g. -Dsales.indexes=true */
+    private static final String INDEXES_PROPERTY = "sales.indexes";
+
     /**
      * Main method - Application entry point.
      *
+     * With a file path argument the file (plain or gzip-compressed CSV) is
+     * analyzed in streaming mode, without loading it into memory. With
+     * -Dsales.indexes=true the loaded data is indexed and the index build
+     * time and memory are printed.
+     *
      */
     public static void main(String[] args) {
         // Display application header
         printHeader();
 
+        if (args.length > 0) {
+            analyzeStreaming(Path.of(args[0]));
+            return;
+        }
+
         try {
             // Step 1: Create analyzer instance
             SalesDataAnalyzer analyzer = new SalesDataAnalyzer();
+            analyzer.setIndexing(Boolean.getBoolean(INDEXES_PROPERTY));
 
             // Step 2: Load data from CSV file
             System.out.println(" Loading sales data from CSV...");
             System.out.println("   File: " + CSV_FILE_PATH);
 
-            int recordCount = analyzer.loadDataFromFile(CSV_FILE_PATH);
+            int recordCount = loadData(analyzer);
 
             System.out.println(" Successfully loaded " + recordCount + " sales records");
+            SalesIndexes.Stats indexStats = analyzer.getIndexStats();
+            if (indexStats != null) {
+                System.out.println(" " + indexStats);
+            }
             System.out.println();
 
             // Step 3: Execute all analyses
@@ -58,6 +82,38 @@ public class SalesDataAnalysisApp {
         }
     }
 
+    /**
+     * Loads the CSV file. When it is a plain file (not inside a jar), a binary
+     * snapshot is kept next to it, so later runs skip parsing.
+     */
+    private static int loadData(SalesDataAnalyzer analyzer) throws IOException {
+        URL resource = SalesDataAnalysisApp.class.getResource(CSV_FILE_PATH);
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            Path csv = Path.of(URI.create(resource.toString()));
+            return analyzer.loadDataWithSnapshot(csv, csv.resolveSibling(csv.getFileName() + SNAPSHOT_SUFFIX));
+        }
+        return analyzer.loadDataFromFile(CSV_FILE_PATH);
+    }
+
+    /**
+     * Runs all analyses on a filesystem file in one streaming pass.
+     */
+    private static void analyzeStreaming(Path file) {
+        try {
+            System.out.println(" Streaming sales data from " + file + "...\n");
+
+            long recordCount = new SalesDataAnalyzer().runAllAnalysesStreaming(file);
+
+            System.out.println("=".repeat(70));
+            System.out.println("Analysis complete! Streamed " + recordCount + " sales records.");
+
+        } catch (IOException e) {
+            System.err.println("\n ERROR: Unable to read CSV file");
+            System.err.println("   Reason: " + e.getMessage());
+            System.err.println("   File path: " + file);
+        }
+    }
+
     /**
      * Prints application header with branding and information.
      */
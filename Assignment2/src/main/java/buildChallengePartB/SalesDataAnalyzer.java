@@ -1,15 +1,31 @@
 package buildChallengePartB;
 
+import buildChallengePartB.SalesQuery.Measure;
+
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static buildChallengePartB.SalesQuery.Aggregate.avg;
+import static buildChallengePartB.SalesQuery.Aggregate.sum;
 
 /**
  * Core analysis engine for sales data.
  *
- * Architecture: Single-responsibility methods, each performing one type of analysis.
- * All methods are non-mutating and use functional stream operations.
+ * Architecture: Single-responsibility methods, each formatting one report.
+ * Reports are {@link SalesQuery} results computed together in one scan
+ * ({@link SalesAggregates}); the setters add parallel scans, secondary
+ * indexes ({@link SalesIndexes}) and a report cache ({@link ResultCache}).
+ *
+ * Thread Safety: Loading, appending and aggregating synchronize on the
+ * analyzer, so sales can be appended while another thread prints reports.
  *
  * Design Pattern: This class follows the Service/Business Logic pattern.
  * It has no knowledge of how it's instantiated or where data comes from (Dependency Injection ready).
@@ -19,11 +35,42 @@ import java.util.stream.Collectors;
  * @version 1.0
  */
 class SalesDataAnalyzer {
-    /** In-memory storage of all sales records after loading from CSV */
-    private List<SalesRecord> salesData;
+    /** Threshold used for the high-value report by {@link #runAllAnalyses()} */
+    static final double DEFAULT_HIGH_VALUE_THRESHOLD = 9000;
+
+    /** In-memory storage of all sales records after loading from CSV (columnar, see {@link SalesColumns}) */
+    private List<? extends SalesRow> salesData;
+
+    /** Aggregates kept up to date by {@link #appendBatch(Collection)}, or null before the first append */
+    private SalesAggregates materialized;
+
+    /** Whether loads build {@link SalesIndexes} */
+    private boolean indexing;
+
+    /** Indexes of the current data, or null if not (yet) built */
+    private SalesIndexes indexes;
+
+    /** Default number of rendered reports kept, see {@link #setCacheCapacity(int)} */
+    static final int DEFAULT_CACHE_CAPACITY = 64;
+
+    /** Identifies a rendered report; results of other dataset versions never match */
+    private record ReportKey(String analysis, List<?> parameters, long version) {
+    }
+
+    /** Rendered reports of the current data */
+    private final ResultCache<ReportKey, String> reports = new ResultCache<>(DEFAULT_CACHE_CAPACITY);
+
+    /** Incremented whenever the data is replaced or appended to */
+    private long version;
+
+    /** Dedicated pool for parallel mode, or null in sequential mode */
+    private ForkJoinPool pool;
 
     /**
-     * Loads sales data from CSV file using functional stream approach.
+     * Loads sales data from CSV file with the byte-level {@link SalesCsvParser}.
+     *
+     * Rows are parsed straight from the file bytes into the columnar store;
+     * invalid lines are skipped with a warning naming their line number.
      *
      * @param resourcePath Path to the CSV file
      * @throws IOException if file cannot be read
@@ -36,57 +83,376 @@ class SalesDataAnalyzer {
                 throw new FileNotFoundException("Resource not found on classpath: " + resourcePath);
             }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-
-                // Functional approach: Stream pipeline for data loading
-                salesData = reader.lines()
-                        .skip(1)  // Skip header row
-                        .filter(line -> !line.trim().isEmpty())  // Remove empty lines
-                        .map(line -> line.split(","))   // ← use "," for normal CSV
-                        .filter(fields -> fields.length >= 13)  // Validate field count
-                        .map(fields -> {
-                            try {
-                                return new SalesRecord(fields);
-                            } catch (Exception e) {
-                                // Log and skip invalid records
-                                System.err.println("Warning: Skipping invalid record - " + e.getMessage());
-                                return null;
-                            }
-                        })
-                        .filter(Objects::nonNull)  // Remove null entries from parsing errors
-                        .collect(Collectors.toList());
+            SalesCsvParser parser = new SalesCsvParser(true);  // Skip header row
+            SalesColumns columns = new SalesColumns();
+            parser.parse(ByteBuffer.wrap(is.readAllBytes()), columns::add);
+
+            reportErrors(parser.getErrors());
+            columns.trimToSize();
+            setSalesData(columns);
+        }
+
+        return getRecordCount();
+    }
+
+    /**
+     * Loads sales data from a CSV file on the filesystem, parsing it on all
+     * available cores (see {@link ParallelSalesLoader}).
+     *
+     * @param file Path to the CSV file
+     * @throws IOException if file cannot be read
+     * @return Number of records successfully loaded
+     */
+    public int loadDataFromPath(Path file) throws IOException {
+        return loadDataFromPath(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Loads sales data from a CSV file on the filesystem with the given number
+     * of parsing threads. Rows and warnings come out in file order regardless
+     * of the thread count.
+     *
+     * @param file Path to the CSV file
+     * @param parallelism Number of parsing threads
+     * @throws IOException if file cannot be read
+     * @return Number of records successfully loaded
+     */
+    public int loadDataFromPath(Path file, int parallelism) throws IOException {
+        setSalesData(loadColumns(file, parallelism));
+        return getRecordCount();
+    }
+
+    /**
+     * Loads sales data from a CSV file, reusing a binary snapshot of it when
+     * one exists (see {@link SalesSnapshot}).
+     *
+     * If the snapshot was made from the file as it is now (same size and
+     * modification time), it is mapped and copied into memory instead of
+     * parsing the CSV. Otherwise the CSV is parsed on all cores and a new
+     * snapshot is written for the next run. A corrupt or unwritable snapshot
+     * only costs a warning.
+     *
+     * @param file Path to the CSV file
+     * @param snapshot Path of the snapshot file
+     * @throws IOException if the CSV file cannot be read
+     * @return Number of records successfully loaded
+     */
+    public int loadDataWithSnapshot(Path file, Path snapshot) throws IOException {
+        // Stamp before parsing: a file changed meanwhile is re-parsed on the next run
+        SalesSnapshot.SourceStamp stamp = SalesSnapshot.SourceStamp.of(file);
+        try {
+            SalesColumns cached = SalesSnapshot.read(snapshot, stamp);
+            if (cached != null) {
+                setSalesData(cached);
+                return getRecordCount();
             }
+        } catch (IOException e) {
+            System.err.println("Warning: Ignoring unreadable snapshot - " + e.getMessage());
         }
 
-        return salesData.size();
+        SalesColumns columns = loadColumns(file, Runtime.getRuntime().availableProcessors());
+        setSalesData(columns);
+        try {
+            SalesSnapshot.write(columns, stamp, snapshot);
+        } catch (IOException e) {
+            System.err.println("Warning: Unable to write snapshot " + snapshot + " - " + e.getMessage());
+        }
+        return getRecordCount();
     }
 
+    private static SalesColumns loadColumns(Path file, int parallelism) throws IOException {
+        ParallelSalesLoader.Result result = new ParallelSalesLoader(parallelism).load(file);
+        reportErrors(result.errors());
+        return result.columns();
+    }
 
     /**
      * Returns the number of loaded records.
      *
      * @return count of sales records, or 0 if data not loaded
      */
-    public int getRecordCount() {
+    public synchronized int getRecordCount() {
         return salesData != null ? salesData.size() : 0;
     }
 
+    /**
+     * Appends new sales to the loaded data and updates the materialized
+     * aggregates incrementally.
+     *
+     * @param records the new sales, in arrival order
+     */
+    public void append(SalesRecord... records) {
+        appendBatch(Arrays.asList(records));
+    }
+
+    /**
+     * Appends a batch of new sales to the loaded data.
+     *
+     * The first append materializes the aggregates of the data loaded so far
+     * (one full pass); from then on each appended row only updates them:
+     * region, rep, category, month, quarter, channel, payment and product
+     * groups, the summary and the bounded high-value list. Reports using the
+     * default high-value threshold then read the aggregates in O(groups)
+     * instead of scanning all rows, so a dashboard can refresh often while
+     * sales arrive. Other thresholds still scan the data.
+     *
+     * @param records the new sales, in arrival order; copied into the dataset
+     */
+    public synchronized void appendBatch(Collection<? extends SalesRow> records) {
+        SalesColumns columns = mutableColumns();
+        if (materialized == null) {
+            materialized = aggregate(DEFAULT_HIGH_VALUE_THRESHOLD);
+        }
+        for (SalesRow record : records) {
+            columns.add(record);
+            materialized.accept(columns.get(columns.size() - 1));
+        }
+        indexes = null; // Rebuilt on the next indexed query
+        dataChanged();
+    }
+
+    /** Returns the data as an appendable column store, converting it on first use. */
+    private SalesColumns mutableColumns() {
+        if (salesData instanceof SalesColumns columns) {
+            return columns;
+        }
+        SalesColumns columns = new SalesColumns();
+        if (salesData != null) {
+            columns.addAll(salesData);
+        }
+        salesData = columns;
+        return columns;
+    }
+
+    /** Moves to a new dataset version, dropping the reports of the old one. */
+    private synchronized void dataChanged() {
+        version++;
+        reports.clear();
+    }
+
+    /** Replaces the data, dropping aggregates materialized for the old data. */
+    private synchronized void setSalesData(List<? extends SalesRow> data) {
+        salesData = data;
+        materialized = null;
+        indexes = null;
+        dataChanged();
+        if (indexing) {
+            indexes();
+        }
+    }
+
+    /**
+     * Enables or disables secondary indexes on sales amount and sale date.
+     *
+     * When enabled, every load builds {@link SalesIndexes}; their build time
+     * and memory (20 bytes per record) are available from
+     * {@link #getIndexStats()}. Threshold queries
+     * ({@link #getSalesAbove(double)},
+     * {@link #analyzeHighValueTransactions(double)}) and date range queries
+     * ({@link #getSalesBetween(LocalDate, LocalDate)}) then take a binary
+     * search and a read of the matching rows instead of a full scan.
+     * Appended sales are indexed again on the next such query.
+     *
+     * @param enabled whether to index; data already loaded is indexed now
+     */
+    public synchronized void setIndexing(boolean enabled) {
+        indexing = enabled;
+        indexes = null;
+        if (enabled) {
+            indexes();
+        }
+    }
+
+    /** Returns the indexes of the current data, building them if needed; null if indexing is off. */
+    private synchronized SalesIndexes indexes() {
+        if (indexing && indexes == null && salesData != null) {
+            indexes = SalesIndexes.build(salesData);
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the record count, build time and memory of the indexes of the
+     * current data, building them first if appends made them stale.
+     *
+     * @return index statistics, or null if indexing is off or no data is loaded
+     */
+    public synchronized SalesIndexes.Stats getIndexStats() {
+        SalesIndexes index = indexes();
+        return index != null ? index.stats() : null;
+    }
+
+    /**
+     * Returns the sales with an amount above a threshold, largest first;
+     * sales with equal amounts keep their load order.
+     *
+     * @param threshold exclusive lower bound of the sales amount
+     * @return matching sales; with indexing on, a view backed by the loaded
+     *         data, otherwise a copy. Either way it must not be modified.
+     */
+    public synchronized List<SalesRow> getSalesAbove(double threshold) {
+        SalesIndexes index = indexes();
+        if (index != null) {
+            return index.salesAbove(threshold);
+        }
+        return dataOrEmpty().stream()
+                .filter(s -> s.getSalesAmount() > threshold)
+                .sorted(Comparator.comparingDouble(SalesRow::getSalesAmount).reversed())
+                .map(SalesRow.class::cast)
+                .toList();
+    }
+
+    /**
+     * Returns the sales made between two dates, both inclusive, oldest first;
+     * sales on the same day keep their load order.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @return matching sales; with indexing on, a view backed by the loaded
+     *         data, otherwise a copy. Either way it must not be modified.
+     */
+    public synchronized List<SalesRow> getSalesBetween(LocalDate from, LocalDate to) {
+        SalesIndexes index = indexes();
+        if (index != null) {
+            return index.salesBetween(from, to);
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        return dataOrEmpty().stream()
+                .filter(s -> s.getSaleEpochDay() >= first && s.getSaleEpochDay() <= last)
+                .sorted(Comparator.comparingInt(SalesRow::getSaleEpochDay))
+                .map(SalesRow.class::cast)
+                .toList();
+    }
+
+    private List<? extends SalesRow> dataOrEmpty() {
+        return salesData != null ? salesData : List.of();
+    }
+
+    /**
+     * Computes the aggregates for all reports in a single pass over the data.
+     *
+     * @param highValueThreshold minimum sales amount for high-value transactions
+     * @return aggregates of all loaded records
+     */
+    public synchronized SalesAggregates aggregate(double highValueThreshold) {
+        if (materialized != null && materialized.getHighValueThreshold() == highValueThreshold) {
+            return materialized.copy(); // O(groups); appends keep changing the original
+        }
+        if (pool == null) {
+            SalesAggregates aggregates = new SalesAggregates(highValueThreshold);
+            aggregates.acceptAll(salesData);
+            return aggregates;
+        }
+        // A parallel stream started from a pool task runs its subtasks on that pool
+        return pool.submit(() -> salesData.parallelStream()
+                .collect(SalesAggregates.collector(highValueThreshold))).join();
+    }
+
+    /**
+     * Builds a pre-aggregated cube of the loaded data for roll-up, slice and
+     * drill-down queries that no longer need to scan the records (see
+     * {@link SalesCube}). The cube does not see records appended later.
+     *
+     * @return cube over region, month, category, channel and customer type
+     */
+    public synchronized SalesCube buildCube() {
+        return SalesCube.build(salesData != null ? salesData : List.of());
+    }
+
+    /**
+     * Sets how many rendered reports are cached; the least recently used
+     * ones are evicted beyond that.
+     *
+     * @param capacity the number of reports kept, or 0 to disable caching
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public void setCacheCapacity(int capacity) {
+        reports.setCapacity(capacity);
+    }
+
+    /**
+     * Returns how many analyses were served from the report cache.
+     */
+    public long getCacheHits() {
+        return reports.hits();
+    }
+
+    /**
+     * Returns how many analyses had to be computed.
+     */
+    public long getCacheMisses() {
+        return reports.misses();
+    }
+
+    /**
+     * Prints a report, rendering it only if it is not cached for the current
+     * dataset version.
+     *
+     * @param analysis name of the analysis
+     * @param parameters the parameters the report depends on
+     * @param print renders the report to the given stream
+     */
+    private void report(String analysis, List<?> parameters, Consumer<PrintStream> print) {
+        String text;
+        synchronized (this) {
+            // Version and rendering under one lock: no append can slip in between
+            text = reports.get(new ReportKey(analysis, parameters, version), () -> {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+                print.accept(out);
+                out.flush();
+                return buffer.toString(StandardCharsets.UTF_8);
+            });
+        }
+        System.out.print(text);
+    }
+
+    /**
+     * Selects sequential or parallel execution for this analyzer.
+     *
+     * In parallel mode every analysis splits the data across a dedicated
+     * {@link ForkJoinPool} of the given size, not the common pool, so it
+     * neither competes with nor is starved by other parallel streams in the
+     * process. Each thread aggregates its part into its own
+     * {@link SalesAggregates}, and the partial aggregates are merged in
+     * encounter order, so reports are the same as in sequential mode (sums
+     * may differ in the last bits, far below the printed precision).
+     *
+     * @param parallelism 1 for sequential mode, or the number of threads
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public synchronized void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Returns the number of threads analyses run on; 1 in sequential mode.
+     */
+    public synchronized int getParallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
     /**
      * Analyzes total sales amount aggregated by region.
      */
     public void analyzeSalesByRegion() {
-        System.out.println("=== ANALYSIS 1: SALES BY REGION ===");
+        report("salesByRegion", List.of(),
+                out -> printSalesByRegion(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        Map<String, Double> salesByRegion = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getRegion,
-                        Collectors.summingDouble(SalesRecord::getSalesAmount)
-                ));
+    private void printSalesByRegion(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 1: SALES BY REGION ===");
 
-        salesByRegion.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .forEach(e -> System.out.printf("%-10s: $%,12.2f%n", e.getKey(), e.getValue()));
-        System.out.println();
+        aggregates.result(SalesAggregates.SALES_BY_REGION).groups().forEach(group ->
+                out.printf("%-10s: $%,12.2f%n", group.key(0), group.value(sum(Measure.SALES_AMOUNT))));
+        out.println();
     }
 
     /**
@@ -95,90 +461,70 @@ class SalesDataAnalyzer {
      * @param topN Number of top performers to display
      */
     public void analyzeTopSalesReps(int topN) {
-        System.out.println("=== ANALYSIS 2: TOP " + topN + " SALES REPRESENTATIVES ===");
+        report("topSalesReps", List.of(topN),
+                out -> printTopSalesReps(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), topN, out));
+    }
 
-        salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getSalesRep,
-                        Collectors.summingDouble(SalesRecord::getSalesAmount)
-                ))
-                .entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(topN)
-                .forEach(e -> System.out.printf("%-10s: $%,12.2f%n", e.getKey(), e.getValue()));
-        System.out.println();
+    private void printTopSalesReps(SalesAggregates aggregates, int topN, PrintStream out) {
+        out.println("=== ANALYSIS 2: TOP " + topN + " SALES REPRESENTATIVES ===");
+
+        aggregates.result(SalesAggregates.SALES_BY_REP, topN).groups()
+                .forEach(group -> out.printf("%-10s: $%,12.2f%n",
+                        group.key(0), group.value(sum(Measure.SALES_AMOUNT))));
+        out.println();
     }
 
     /**
      * Analyzes product category performance with comprehensive statistics.
      */
     public void analyzeCategoryPerformance() {
-        System.out.println("=== ANALYSIS 3: CATEGORY PERFORMANCE WITH STATISTICS ===");
+        report("categoryPerformance", List.of(),
+                out -> printCategoryPerformance(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        Map<String, DoubleSummaryStatistics> categoryStats = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getProductCategory,
-                        Collectors.summarizingDouble(SalesRecord::getSalesAmount)
-                ));
+    private void printCategoryPerformance(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 3: CATEGORY PERFORMANCE WITH STATISTICS ===");
 
-        categoryStats.forEach((category, stats) -> {
-            System.out.printf("%-12s: %s%n", category, new SalesStats(stats));
+        aggregates.getSalesByCategory().forEach((category, stats) -> {
+            out.printf("%-12s: %s%n", category, new SalesStats(stats));
         });
-        System.out.println();
+        out.println();
     }
 
     /**
      * Analyzes monthly sales trend over time.
      */
     public void analyzeMonthlyTrend() {
-        System.out.println("=== ANALYSIS 4: MONTHLY SALES TREND ===");
+        report("monthlyTrend", List.of(),
+                out -> printMonthlyTrend(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        Map<String, Double> monthlyTrend = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getMonth,
-                        TreeMap::new,
-                        Collectors.summingDouble(SalesRecord::getSalesAmount)
-                ));
+    private void printMonthlyTrend(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 4: MONTHLY SALES TREND ===");
 
-        monthlyTrend.forEach((month, sales) ->
-                System.out.printf("%s: $%,12.2f%n", month, sales));
-        System.out.println();
+        aggregates.result(SalesAggregates.MONTHLY_TREND).groups().forEach(group ->
+                out.printf("%s: $%,12.2f%n", group.key(0), group.value(sum(Measure.SALES_AMOUNT))));
+        out.println();
     }
 
     /**
      * Performs comprehensive customer type analysis with multiple metrics.
      */
     public void analyzeCustomerTypes() {
-        System.out.println("=== ANALYSIS 5: CUSTOMER TYPE ANALYSIS ===");
-
-        Map<String, Map<String, Object>> customerAnalysis = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getCustomerType,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                list -> {
-                                    Map<String, Object> metrics = new HashMap<>();
-                                    metrics.put("count", list.size());
-                                    metrics.put("totalSales", list.stream()
-                                            .mapToDouble(SalesRecord::getSalesAmount).sum());
-                                    metrics.put("avgSales", list.stream()
-                                            .mapToDouble(SalesRecord::getSalesAmount)
-                                            .average().orElse(0));
-                                    metrics.put("avgDiscount", list.stream()
-                                            .mapToDouble(SalesRecord::getDiscount)
-                                            .average().orElse(0));
-                                    return metrics;
-                                }
-                        )
-                ));
-
-        customerAnalysis.forEach((type, metrics) -> {
-            System.out.printf("%-10s: Transactions=%,5d, Total=$%,12.2f, " +
+        report("customerTypes", List.of(),
+                out -> printCustomerTypes(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
+
+    private void printCustomerTypes(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 5: CUSTOMER TYPE ANALYSIS ===");
+
+        aggregates.getCustomerTypes().forEach((type, metrics) -> {
+            out.printf("%-10s: Transactions=%,5d, Total=$%,12.2f, " +
                             "Avg Sale=$%,8.2f, Avg Discount=%.1f%%%n",
-                    type, metrics.get("count"), metrics.get("totalSales"),
-                    metrics.get("avgSales"), (Double)metrics.get("avgDiscount") * 100);
+                    type, (int) metrics.sales.getCount(), metrics.sales.getSum(),
+                    metrics.sales.getAverage(), metrics.discount.getAverage() * 100);
         });
-        System.out.println();
+        out.println();
     }
 
     /**
@@ -187,199 +533,279 @@ class SalesDataAnalyzer {
      * @param topN Number of top products to display
      */
     public void analyzeProfitableProducts(int topN) {
-        System.out.println("=== ANALYSIS 6: TOP " + topN + " MOST PROFITABLE PRODUCTS ===");
+        report("profitableProducts", List.of(topN),
+                out -> printProfitableProducts(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), topN, out));
+    }
+
+    private void printProfitableProducts(SalesAggregates aggregates, int topN, PrintStream out) {
+        out.println("=== ANALYSIS 6: TOP " + topN + " MOST PROFITABLE PRODUCTS ===");
 
-        salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getProductId,
-                        Collectors.summingDouble(SalesRecord::getProfit)
-                ))
-                .entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(topN)
-                .forEach(e -> System.out.printf("Product %s: $%,10.2f profit%n",
-                        e.getKey(), e.getValue()));
-        System.out.println();
+        aggregates.result(SalesAggregates.PROFIT_BY_PRODUCT, topN).groups()
+                .forEach(group -> out.printf("Product %s: $%,10.2f profit%n",
+                        group.key(0), group.value(sum(Measure.PROFIT))));
+        out.println();
     }
 
     /**
      * Analyzes payment method distribution and calculates percentages.
      */
     public void analyzePaymentMethods() {
-        System.out.println("=== ANALYSIS 7: PAYMENT METHOD DISTRIBUTION ===");
+        report("paymentMethods", List.of(),
+                out -> printPaymentMethods(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        Map<String, Long> paymentCounts = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getPaymentMethod,
-                        Collectors.counting()
-                ));
+    private void printPaymentMethods(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 7: PAYMENT METHOD DISTRIBUTION ===");
 
-        long total = paymentCounts.values().stream()
-                .mapToLong(Long::longValue)
-                .sum();
+        long total = aggregates.getCount();
 
-        paymentCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .forEach(e -> System.out.printf("%-15s: %,6d transactions (%.1f%%)%n",
-                        e.getKey(), e.getValue(), (e.getValue() * 100.0) / total));
-        System.out.println();
+        aggregates.result(SalesAggregates.PAYMENT_METHODS).groups().forEach(group ->
+                out.printf("%-15s: %,6d transactions (%.1f%%)%n",
+                        group.key(0), group.count(), (group.count() * 100.0) / total));
+        out.println();
     }
 
     /**
      * Performs multi-level grouping: quarterly performance by region.
      */
     public void analyzeQuarterlyPerformance() {
-        System.out.println("=== ANALYSIS 8: QUARTERLY PERFORMANCE BY REGION ===");
-
-        Map<String, Map<String, Double>> quarterlyByRegion = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getRegion,
-                        Collectors.groupingBy(
-                                SalesRecord::getQuarter,
-                                Collectors.summingDouble(SalesRecord::getSalesAmount)
-                        )
-                ));
-
-        quarterlyByRegion.forEach((region, quarters) -> {
-            System.out.println(region + ":");
+        report("quarterlyPerformance", List.of(),
+                out -> printQuarterlyPerformance(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
+
+    private void printQuarterlyPerformance(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 8: QUARTERLY PERFORMANCE BY REGION ===");
+
+        aggregates.getSalesByRegionAndQuarter().forEach((region, quarters) -> {
+            out.println(region + ":");
             quarters.entrySet().stream()
                     .sorted(Map.Entry.comparingByKey())
-                    .forEach(e -> System.out.printf("  %s: $%,12.2f%n",
-                            e.getKey(), e.getValue()));
+                    .forEach(e -> out.printf("  %s: $%,12.2f%n",
+                            e.getKey(), e.getValue().getSum()));
         });
-        System.out.println();
+        out.println();
     }
 
     /**
      * Analyzes effectiveness of different sales channels.
      */
     public void analyzeSalesChannels() {
-        System.out.println("=== ANALYSIS 9: SALES CHANNEL EFFECTIVENESS ===");
-
-        Map<String, Map<String, Double>> channelMetrics = salesData.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getSalesChannel,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                list -> {
-                                    double totalSales = list.stream()
-                                            .mapToDouble(SalesRecord::getSalesAmount).sum();
-                                    double avgProfit = list.stream()
-                                            .mapToDouble(SalesRecord::getProfit)
-                                            .average().orElse(0);
-                                    return Map.of("total", totalSales, "avgProfit", avgProfit);
-                                }
-                        )
-                ));
-
-        channelMetrics.entrySet().stream()
-                .sorted((e1, e2) -> Double.compare(
-                        e2.getValue().get("total"),
-                        e1.getValue().get("total")))
-                .forEach(e -> System.out.printf("%-10s: Total=$%,12.2f, Avg Profit=$%,8.2f%n",
-                        e.getKey(), e.getValue().get("total"),
-                        e.getValue().get("avgProfit")));
-        System.out.println();
+        report("salesChannels", List.of(),
+                out -> printSalesChannels(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
+
+    private void printSalesChannels(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 9: SALES CHANNEL EFFECTIVENESS ===");
+
+        aggregates.result(SalesAggregates.SALES_CHANNELS).groups().forEach(group ->
+                out.printf("%-10s: Total=$%,12.2f, Avg Profit=$%,8.2f%n",
+                        group.key(0), group.value(sum(Measure.SALES_AMOUNT)),
+                        group.value(avg(Measure.PROFIT))));
+        out.println();
     }
 
     /**
      * Identifies and analyzes high-value transactions above threshold.
+     * With indexing on, only the matching rows are read.
      *
      * @param threshold Minimum sales amount to be considered high-value
      */
     public void analyzeHighValueTransactions(double threshold) {
-        System.out.println("=== ANALYSIS 10: HIGH-VALUE TRANSACTIONS (>$"
-                + String.format("%,.2f", threshold) + ") ===");
+        report("highValueTransactions", List.of(threshold), out -> {
+            SalesIndexes index = indexes();
+            if (index == null) {
+                printHighValueTransactions(aggregate(threshold), out);
+            } else {
+                List<SalesRow> above = index.salesAbove(threshold);
+                printHighValueTransactions(threshold,
+                        above.subList(0, Math.min(above.size(), SalesAggregates.HIGH_VALUE_LIMIT)), out);
+            }
+        });
+    }
 
-        List<SalesRecord> highValue = salesData.stream()
-                .filter(s -> s.getSalesAmount() > threshold)
-                .sorted(Comparator.comparingDouble(SalesRecord::getSalesAmount).reversed())
-                .limit(10)
-                .collect(Collectors.toList());
+    private void printHighValueTransactions(SalesAggregates aggregates, PrintStream out) {
+        printHighValueTransactions(aggregates.getHighValueThreshold(), aggregates.getHighValueTransactions(), out);
+    }
+
+    private void printHighValueTransactions(double threshold, List<? extends SalesRow> highValue, PrintStream out) {
+        out.println("=== ANALYSIS 10: HIGH-VALUE TRANSACTIONS (>$"
+                + String.format("%,.2f", threshold) + ") ===");
 
-        System.out.printf("Found %d high-value transactions%n", highValue.size());
-        highValue.forEach(s -> System.out.printf("Product %s: $%,10.2f (%s, Rep: %s)%n",
+        out.printf("Found %d high-value transactions%n", highValue.size());
+        highValue.forEach(s -> out.printf("Product %s: $%,10.2f (%s, Rep: %s)%n",
                 s.getProductId(), s.getSalesAmount(), s.getRegion(), s.getSalesRep()));
-        System.out.println();
+        out.println();
     }
 
     /**
      * Analyzes correlation between discount levels and sales/profit metrics.
      */
     public void analyzeDiscountImpact() {
-        System.out.println("=== ANALYSIS 11: DISCOUNT IMPACT ANALYSIS ===");
+        report("discountImpact", List.of(),
+                out -> printDiscountImpact(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        Map<String, List<SalesRecord>> discountGroups = salesData.stream()
-                .collect(Collectors.groupingBy(s -> {
-                    double d = s.getDiscount();
-                    if (d == 0) return "No Discount";
-                    if (d <= 0.10) return "1-10%";
-                    if (d <= 0.20) return "11-20%";
-                    return "21%+";
-                }));
+    private void printDiscountImpact(SalesAggregates aggregates, PrintStream out) {
+        out.println("=== ANALYSIS 11: DISCOUNT IMPACT ANALYSIS ===");
 
-        List<String> order = Arrays.asList("No Discount", "1-10%", "11-20%", "21%+");
+        // Buckets come in DISCOUNT_BUCKETS order
+        aggregates.result(SalesAggregates.DISCOUNT_IMPACT).groups().forEach(group -> {
+            double avgSales = group.value(avg(Measure.SALES_AMOUNT));
+            double avgProfit = group.value(avg(Measure.PROFIT));
+            double profitMargin = avgSales > 0 ? (avgProfit / avgSales) * 100 : 0;
 
-        order.stream()
-                .filter(discountGroups::containsKey)
-                .forEach(group -> {
-                    List<SalesRecord> records = discountGroups.get(group);
-                    double avgSales = records.stream()
-                            .mapToDouble(SalesRecord::getSalesAmount).average().orElse(0);
-                    double avgProfit = records.stream()
-                            .mapToDouble(SalesRecord::getProfit).average().orElse(0);
-                    double profitMargin = avgSales > 0 ? (avgProfit / avgSales) * 100 : 0;
+            out.printf("%-12s: Count=%,5d, Avg Sales=$%,8.2f, " +
+                            "Avg Profit=$%,8.2f, Margin=%.1f%%%n",
+                    group.key(0), (int) group.count(), avgSales, avgProfit, profitMargin);
+        });
+        out.println();
+    }
 
-                    System.out.printf("%-12s: Count=%,5d, Avg Sales=$%,8.2f, " +
-                                    "Avg Profit=$%,8.2f, Margin=%.1f%%%n",
-                            group, records.size(), avgSales, avgProfit, profitMargin);
-                });
-        System.out.println();
+    /**
+     * Rolls up the sales made between two dates into time buckets.
+     *
+     * Rows are grouped on int time keys (see {@link TimeBucket}); with
+     * indexing on, only the rows in the date range are read.
+     *
+     * @param bucket granularity: day, ISO week, month, quarter or year
+     * @param from first day of the range
+     * @param to last day of the range
+     * @return statistics of the sales amounts by bucket key, in time order
+     */
+    public synchronized SortedMap<Integer, DoubleSummaryStatistics> getSalesOverTime(
+            TimeBucket bucket, LocalDate from, LocalDate to) {
+        SalesIndexes index = indexes();
+        return bucket.rollup(index != null ? index.salesBetween(from, to) : dataOrEmpty(), from, to);
+    }
+
+    /**
+     * Analyzes sales over time between two dates at any granularity, e.g.
+     * weekly sales from March 3 to April 9.
+     *
+     * @param bucket granularity: day, ISO week, month, quarter or year
+     * @param from first day of the range
+     * @param to last day of the range
+     */
+    public void analyzeSalesOverTime(TimeBucket bucket, LocalDate from, LocalDate to) {
+        report("salesOverTime", List.of(bucket, from, to),
+                out -> printSalesOverTime(bucket, from, to, getSalesOverTime(bucket, from, to), out));
+    }
+
+    private void printSalesOverTime(TimeBucket bucket, LocalDate from, LocalDate to,
+                                    SortedMap<Integer, DoubleSummaryStatistics> buckets, PrintStream out) {
+        out.println("=== SALES BY " + bucket + " (" + from + " to " + to + ") ===");
+
+        // Labels are formatted only here, for the buckets printed
+        buckets.forEach((key, stats) -> out.printf("%-10s: $%,12.2f (%,d transactions)%n",
+                bucket.label(key), stats.getSum(), stats.getCount()));
+        out.println();
     }
 
     /**
      * Displays overall summary statistics for the entire dataset.
      */
     public void displaySummary() {
+        report("summary", List.of(), out -> printSummary(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
 
-        System.out.println("─".repeat(70));
-        System.out.println("          OVERALL SUMMARY STATISTICS                        ");
-        System.out.println("─".repeat(70));
+    private void printSummary(SalesAggregates aggregates, PrintStream out) {
 
-        DoubleSummaryStatistics salesStats = salesData.stream()
-                .mapToDouble(SalesRecord::getSalesAmount)
-                .summaryStatistics();
+        out.println("─".repeat(70));
+        out.println("          OVERALL SUMMARY STATISTICS                        ");
+        out.println("─".repeat(70));
 
-        DoubleSummaryStatistics profitStats = salesData.stream()
-                .mapToDouble(SalesRecord::getProfit)
-                .summaryStatistics();
+        DoubleSummaryStatistics salesStats = aggregates.getSalesSummary();
+        DoubleSummaryStatistics profitStats = aggregates.getProfitSummary();
 
-        System.out.println("Sales:  " + new SalesStats(salesStats));
-        System.out.println("Profit: " + new SalesStats(profitStats));
+        out.println("Sales:  " + new SalesStats(salesStats));
+        out.println("Profit: " + new SalesStats(profitStats));
 
         double totalProfit = profitStats.getSum();
         double totalSales = salesStats.getSum();
-        System.out.printf("Overall Profit Margin: %.2f%%%n",
+        out.printf("Overall Profit Margin: %.2f%%%n",
                 (totalProfit / totalSales) * 100);
-        System.out.println();
+        out.println();
     }
 
     /**
-     * Convenience method to run all analyses in sequence.
+     * Convenience method to run all analyses in sequence, computing all of
+     * their aggregates in a single pass over the data.
      */
     public void runAllAnalyses() {
-        displaySummary();
-        analyzeSalesByRegion();
-        analyzeTopSalesReps(5);
-        analyzeCategoryPerformance();
-        analyzeMonthlyTrend();
-        analyzeCustomerTypes();
-        analyzeProfitableProducts(5);
-        analyzePaymentMethods();
-        analyzeQuarterlyPerformance();
-        analyzeSalesChannels();
-        analyzeHighValueTransactions(9000);
-        analyzeDiscountImpact();
+        report("allAnalyses", List.of(),
+                out -> printAllAnalyses(aggregate(DEFAULT_HIGH_VALUE_THRESHOLD), out));
+    }
+
+    /**
+     * Streaming mode: runs all analyses on a CSV file without loading it.
+     *
+     * Rows are parsed block by block and fed straight into one
+     * {@link SalesAggregates}; nothing is kept per row, so memory is bounded
+     * by the number of groups (products, months, ...) rather than rows, and
+     * files far larger than the heap can be analyzed. Files starting with the
+     * gzip magic bytes are decompressed on the fly. Loaded data, if any, is
+     * left untouched.
+     *
+     * @param file Path to the CSV file, optionally gzip-compressed
+     * @throws IOException if file cannot be read
+     * @return Number of records analyzed
+     */
+    public long runAllAnalysesStreaming(Path file) throws IOException {
+        SalesAggregates aggregates = aggregateStreaming(file, DEFAULT_HIGH_VALUE_THRESHOLD);
+        printAllAnalyses(aggregates, System.out);
+        return aggregates.getCount();
+    }
+
+    /**
+     * Computes the aggregates of a CSV file in one streaming pass, without
+     * keeping any rows (see {@link #runAllAnalysesStreaming(Path)}).
+     *
+     * @param file Path to the CSV file, optionally gzip-compressed
+     * @param highValueThreshold Minimum sales amount for the high-value report
+     * @throws IOException if file cannot be read
+     * @return Aggregates of all valid records
+     */
+    public SalesAggregates aggregateStreaming(Path file, double highValueThreshold) throws IOException {
+        SalesAggregates aggregates = new SalesAggregates(highValueThreshold);
+        try (InputStream in = openDecompressed(file)) {
+            SalesCsvParser parser = new SalesCsvParser(true);  // Skip header row
+            parser.parse(in, aggregates::acceptTransient);
+            reportErrors(parser.getErrors());
+        }
+        return aggregates;
+    }
+
+    private void printAllAnalyses(SalesAggregates aggregates, PrintStream out) {
+        printSummary(aggregates, out);
+        printSalesByRegion(aggregates, out);
+        printTopSalesReps(aggregates, 5, out);
+        printCategoryPerformance(aggregates, out);
+        printMonthlyTrend(aggregates, out);
+        printCustomerTypes(aggregates, out);
+        printProfitableProducts(aggregates, 5, out);
+        printPaymentMethods(aggregates, out);
+        printQuarterlyPerformance(aggregates, out);
+        printSalesChannels(aggregates, out);
+        printHighValueTransactions(aggregates, out);
+        printDiscountImpact(aggregates, out);
+    }
+
+    /** Opens a file for reading, decompressing it if it starts with the gzip magic bytes. */
+    private static InputStream openDecompressed(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8)) {
+            return new GZIPInputStream(in, 1 << 16);
+        }
+        return in;
     }
-}
 
+    /** Logs the invalid records skipped while loading. */
+    private static void reportErrors(List<SalesCsvParser.ParseError> errors) {
+        errors.forEach(error -> System.err.println(
+                "Warning: Skipping invalid record at line " + error.line() + " - " + error.message()));
+    }
+}
@@ -0,0 +1,27 @@
+package buildChallengePartB;
+
+/**
+ * Shared dictionaries for the low-cardinality sales columns.
+ *
+ * Every {@link SalesRecord} and {@link SalesColumns} encodes region, sales
+ * rep, category, customer type, payment method and sales channel through
+ * these, so each distinct value exists once in memory and a code means the
+ * same value in every dataset. Group-bys can therefore use arrays indexed by
+ * code (see {@link SalesAggregates}) and merge them across datasets.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+final class SalesDictionaries {
+    static final StringDictionary REGIONS = new StringDictionary();
+    static final StringDictionary SALES_REPS = new StringDictionary();
+    static final StringDictionary CATEGORIES = new StringDictionary();
+    static final StringDictionary CUSTOMER_TYPES = new StringDictionary();
+    static final StringDictionary PAYMENT_METHODS = new StringDictionary();
+    static final StringDictionary SALES_CHANNELS = new StringDictionary();
+
+    private SalesDictionaries() {
+        // Holder for shared dictionaries
+    }
+}
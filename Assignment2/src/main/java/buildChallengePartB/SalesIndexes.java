@@ -0,0 +1,234 @@
+package buildChallengePartB;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Sorted secondary indexes over a dataset: by sales amount and by sale date.
+ *
+ * Architecture: Each index is a permutation of the row numbers sorted by
+ * its key, next to the keys in that order. A threshold or range query is a
+ * binary search for the bounds followed by a read of the contiguous slice
+ * between them, O(log n + k) for k matching rows instead of a scan of all
+ * n rows. Results are list views over the slice; nothing is copied.
+ *
+ * The amount index is sorted largest first, so "above a threshold" is a
+ * prefix and comes out in report order. The date index is sorted oldest
+ * first. Rows with equal keys keep their dataset order in both.
+ *
+ * Memory is 20 bytes per row (an int row number and a key per index), see
+ * {@link #estimatedBytes()}. Indexes are a snapshot: rows added to the
+ * dataset later are not in them.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesIndexes {
+    private final List<? extends SalesRow> data;
+    /** Row numbers by sales amount, largest first */
+    private final int[] byAmount;
+    private final double[] amounts;
+    /** Row numbers by sale date, oldest first */
+    private final int[] byDate;
+    private final int[] epochDays;
+    private final long buildNanos;
+
+    /**
+     * Size and cost of a set of indexes, for reporting.
+     *
+     * @param records number of indexed rows
+     * @param buildNanos how long building the indexes took
+     * @param estimatedBytes heap bytes held by the indexes
+     */
+    record Stats(int records, long buildNanos, long estimatedBytes) {
+        @Override
+        public String toString() {
+            return String.format("Indexed %,d records by sales amount and sale date in %.1f ms (%,.1f KB)",
+                    records, buildNanos / 1e6, estimatedBytes / 1024.0);
+        }
+    }
+
+    private SalesIndexes(List<? extends SalesRow> data, int[] byAmount, double[] amounts,
+                         int[] byDate, int[] epochDays, long buildNanos) {
+        this.data = data;
+        this.byAmount = byAmount;
+        this.amounts = amounts;
+        this.byDate = byDate;
+        this.epochDays = epochDays;
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Builds both indexes over the current rows of a dataset.
+     *
+     * @param data the rows; must not change while the indexes are used
+     */
+    static SalesIndexes build(List<? extends SalesRow> data) {
+        long start = System.nanoTime();
+        int size = data.size();
+        double[] amountKeys = new double[size];
+        int[] dayKeys = new int[size];
+        if (data instanceof SalesColumns columns) {
+            // Column order: see SalesColumns.intColumns() and doubleColumns()
+            System.arraycopy(columns.doubleColumns()[0], 0, amountKeys, 0, size);
+            System.arraycopy(columns.intColumns()[1], 0, dayKeys, 0, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                SalesRow row = data.get(i);
+                amountKeys[i] = row.getSalesAmount();
+                dayKeys[i] = row.getSaleEpochDay();
+            }
+        }
+
+        int[] byAmount = sortedByRank(descendingRanks(amountKeys));
+        int[] byDate = sortedByRank(dayKeys);
+        double[] amounts = new double[size];
+        int[] epochDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = amountKeys[byAmount[i]];
+            epochDays[i] = dayKeys[byDate[i]];
+        }
+        return new SalesIndexes(data, byAmount, amounts, byDate, epochDays, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the rows with a sales amount above the threshold, largest first.
+     */
+    List<SalesRow> salesAbove(double threshold) {
+        // First position whose amount is not above the threshold
+        int low = 0;
+        int high = amounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (amounts[mid] > threshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return new Slice(byAmount, 0, low);
+    }
+
+    /**
+     * Returns the rows sold between two dates, both inclusive, oldest first.
+     */
+    List<SalesRow> salesBetween(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        if (first > last) {
+            return List.of();
+        }
+        return new Slice(byDate, firstDayAtLeast(first), firstDayAtLeast(last + 1));
+    }
+
+    private int firstDayAtLeast(long epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Returns the number of indexed rows. */
+    int size() {
+        return byAmount.length;
+    }
+
+    /** Returns how long building the indexes took. */
+    long buildNanos() {
+        return buildNanos;
+    }
+
+    /** Returns the heap bytes held by the indexes. */
+    long estimatedBytes() {
+        // Four arrays: 16-byte header each, 4 + 8 + 4 + 4 bytes per row
+        return 4 * 16L + 20L * byAmount.length;
+    }
+
+    /** Returns the size and cost of these indexes. */
+    Stats stats() {
+        return new Stats(size(), buildNanos, estimatedBytes());
+    }
+
+    @Override
+    public String toString() {
+        return stats().toString();
+    }
+
+    /**
+     * Returns the rank of each amount among the distinct amounts, largest
+     * first, so that amounts can be sorted as ints. NaN ranks last: it is
+     * above no threshold, so it must stay behind every number for the binary
+     * search in {@link #salesAbove(double)}.
+     */
+    private static int[] descendingRanks(double[] amounts) {
+        double[] distinct = amounts.clone();
+        Arrays.sort(distinct); // NaN sorts after every number
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (count == 0 || Double.compare(distinct[i], distinct[count - 1]) != 0) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int numbers = count > 0 && Double.isNaN(distinct[count - 1]) ? count - 1 : count;
+        int[] ranks = new int[amounts.length];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = Double.isNaN(amounts[i])
+                    ? numbers
+                    : numbers - 1 - Arrays.binarySearch(distinct, 0, numbers, amounts[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Returns the row numbers sorted by an int key, equal keys in row order.
+     * Key and row number are packed into one long each, so a primitive sort
+     * on the longs does it without boxing or comparator calls.
+     */
+    private static int[] sortedByRank(int[] keys) {
+        long[] packed = new long[keys.length];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) keys[i] << 32 | i;
+        }
+        Arrays.sort(packed);
+        int[] rows = new int[packed.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) packed[i];
+        }
+        return rows;
+    }
+
+    /** Rows at a contiguous range of an index */
+    private final class Slice extends AbstractList<SalesRow> implements RandomAccess {
+        private final int[] index;
+        private final int from;
+        private final int to;
+
+        Slice(int[] index, int from, int to) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public SalesRow get(int i) {
+            return data.get(index[from + Objects.checkIndex(i, to - from)]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
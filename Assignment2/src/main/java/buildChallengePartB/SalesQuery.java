@@ -0,0 +1,344 @@
+package buildChallengePartB;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+
+/**
+ * Declarative query over sales data: filter, group, aggregate, order, limit.
+ *
+ * A query only describes its result; it is run by a {@link SalesQueryPlan},
+ * which pushes its filters and the columns it reads down into the scan and
+ * fuses it with other queries over the same data. For example, the top five
+ * sales reps of the North region:
+ * <pre>{@code
+ * Aggregate total = Aggregate.sum(Measure.SALES_AMOUNT);
+ * SalesQuery query = SalesQuery.aggregate(total)
+ *         .where(Dimension.REGION, "North")
+ *         .groupBy(Dimension.SALES_REP)
+ *         .orderBy(total, Direction.DESCENDING)
+ *         .limit(5);
+ * }</pre>
+ *
+ * There are two kinds of query:
+ * <ul>
+ *   <li>{@link #aggregate(Aggregate...)} returns one {@link Group} per
+ *       combination of group-by values (a single group without group-by,
+ *       even for no rows);</li>
+ *   <li>{@link #rows()} returns the matching rows themselves, e.g. the
+ *       largest sales. With an order and a limit only the current top rows
+ *       are kept while scanning.</li>
+ * </ul>
+ * Groups without an explicit order come in order of the dimension codes:
+ * first appearance for dictionary-encoded values and products, natural
+ * order for quarters and discount buckets. Ties of an explicit order keep
+ * that order; tied rows keep encounter order.
+ *
+ * Design Decision: Queries are immutable values; each builder method
+ * returns a new query, so report queries can be shared constants.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+final class SalesQuery {
+    /** Numeric values a query can filter, aggregate or order rows by */
+    enum Measure {
+        SALES_AMOUNT, PROFIT, DISCOUNT, QUANTITY, UNIT_COST, UNIT_PRICE;
+
+        /** Reads this measure from a row. */
+        double of(SalesRow row) {
+            return switch (this) {
+                case SALES_AMOUNT -> row.getSalesAmount();
+                case PROFIT -> row.getProfit();
+                case DISCOUNT -> row.getDiscount();
+                case QUANTITY -> row.getQuantitySold();
+                case UNIT_COST -> row.getUnitCost();
+                case UNIT_PRICE -> row.getUnitPrice();
+            };
+        }
+    }
+
+    /** Categorical values a query can filter or group by */
+    enum Dimension {
+        REGION, SALES_REP, CATEGORY, CUSTOMER_TYPE, PAYMENT_METHOD, SALES_CHANNEL,
+        PRODUCT, MONTH, QUARTER, DISCOUNT_BUCKET
+    }
+
+    enum Function { COUNT, SUM, AVG, MIN, MAX }
+
+    enum Direction { ASCENDING, DESCENDING }
+
+    /**
+     * One aggregate of a group, e.g. the sum of sales amounts.
+     *
+     * @param function the aggregate function
+     * @param measure the aggregated measure, or null for {@link Function#COUNT}
+     */
+    record Aggregate(Function function, Measure measure) {
+        Aggregate {
+            Objects.requireNonNull(function);
+            if ((function == Function.COUNT) != (measure == null)) {
+                throw new IllegalArgumentException("COUNT takes no measure, every other function one");
+            }
+        }
+
+        static Aggregate count() { return new Aggregate(Function.COUNT, null); }
+        static Aggregate sum(Measure measure) { return new Aggregate(Function.SUM, measure); }
+        static Aggregate avg(Measure measure) { return new Aggregate(Function.AVG, measure); }
+        static Aggregate min(Measure measure) { return new Aggregate(Function.MIN, measure); }
+        static Aggregate max(Measure measure) { return new Aggregate(Function.MAX, measure); }
+
+        /**
+         * Returns the value of this aggregate for a group.
+         *
+         * @param count the number of rows in the group
+         * @param stats the statistics of this aggregate's measure over the group; unused for COUNT
+         */
+        double of(long count, DoubleSummaryStatistics stats) {
+            return switch (function) {
+                case COUNT -> count;
+                case SUM -> stats.getSum();
+                case AVG -> stats.getAverage();
+                case MIN -> stats.getMin();
+                case MAX -> stats.getMax();
+            };
+        }
+    }
+
+    /** Keeps rows whose measure passes a test */
+    record MeasureFilter(Measure measure, DoublePredicate test) {
+    }
+
+    /** Keeps rows whose dimension has a value */
+    record DimensionFilter(Dimension dimension, String value) {
+    }
+
+    /**
+     * One result row of an aggregating query.
+     *
+     * {@link #statistics(Measure)} returns the full summary (count, sum,
+     * min, max, average) of every aggregated measure, whichever functions
+     * were selected.
+     */
+    static final class Group {
+        private final List<String> key;
+        private final long count;
+        /** Indexed by measure ordinal; null for measures the query does not aggregate */
+        private final DoubleSummaryStatistics[] statistics;
+
+        Group(List<String> key, long count, DoubleSummaryStatistics[] statistics) {
+            this.key = key;
+            this.count = count;
+            this.statistics = statistics;
+        }
+
+        /** Returns the group-by values, in group-by order. */
+        List<String> key() {
+            return key;
+        }
+
+        /** Returns the value of the given group-by dimension, by position. */
+        String key(int index) {
+            return key.get(index);
+        }
+
+        /** Returns the number of rows in the group. */
+        long count() {
+            return count;
+        }
+
+        /**
+         * Returns the value of an aggregate.
+         *
+         * @throws IllegalArgumentException if the query does not aggregate its measure
+         */
+        double value(Aggregate aggregate) {
+            return aggregate.of(count, aggregate.measure() != null ? statistics(aggregate.measure()) : null);
+        }
+
+        /**
+         * Returns the summary statistics of a measure over the group.
+         *
+         * @throws IllegalArgumentException if the query does not aggregate the measure
+         */
+        DoubleSummaryStatistics statistics(Measure measure) {
+            DoubleSummaryStatistics stats = statistics[measure.ordinal()];
+            if (stats == null) {
+                throw new IllegalArgumentException("Measure not aggregated: " + measure);
+            }
+            return stats;
+        }
+
+        @Override
+        public String toString() {
+            return key + " (" + count + " rows)";
+        }
+    }
+
+    /**
+     * Result of a query: groups for an aggregating query, rows for a row query.
+     */
+    record Result(List<Group> groups, List<SalesRow> rows) {
+    }
+
+    private final List<Aggregate> aggregates;  // Null for a row query
+    private final List<MeasureFilter> measureFilters;
+    private final List<DimensionFilter> dimensionFilters;
+    private final List<Dimension> groupBy;
+    private final Aggregate orderAggregate;
+    private final Measure orderMeasure;
+    private final boolean orderByKey;
+    private final Direction direction;
+    private final int limit;
+
+    private SalesQuery(List<Aggregate> aggregates, List<MeasureFilter> measureFilters,
+                       List<DimensionFilter> dimensionFilters, List<Dimension> groupBy,
+                       Aggregate orderAggregate, Measure orderMeasure, boolean orderByKey,
+                       Direction direction, int limit) {
+        this.aggregates = aggregates;
+        this.measureFilters = measureFilters;
+        this.dimensionFilters = dimensionFilters;
+        this.groupBy = groupBy;
+        this.orderAggregate = orderAggregate;
+        this.orderMeasure = orderMeasure;
+        this.orderByKey = orderByKey;
+        this.direction = direction;
+        this.limit = limit;
+    }
+
+    /**
+     * Starts an aggregating query.
+     *
+     * @param aggregates the values computed per group
+     * @throws IllegalArgumentException if no aggregate is given
+     */
+    static SalesQuery aggregate(Aggregate... aggregates) {
+        if (aggregates.length == 0) {
+            throw new IllegalArgumentException("At least one aggregate is required");
+        }
+        return new SalesQuery(List.of(aggregates), List.of(), List.of(), List.of(),
+                null, null, false, null, Integer.MAX_VALUE);
+    }
+
+    /** Starts a query for the matching rows themselves. */
+    static SalesQuery rows() {
+        return new SalesQuery(null, List.of(), List.of(), List.of(), null, null, false, null, Integer.MAX_VALUE);
+    }
+
+    /** Keeps only rows whose measure passes the test; filters combine with AND. */
+    SalesQuery where(Measure measure, DoublePredicate test) {
+        List<MeasureFilter> filters = new ArrayList<>(measureFilters);
+        filters.add(new MeasureFilter(Objects.requireNonNull(measure), Objects.requireNonNull(test)));
+        return new SalesQuery(aggregates, List.copyOf(filters), dimensionFilters, groupBy,
+                orderAggregate, orderMeasure, orderByKey, direction, limit);
+    }
+
+    /** Keeps only rows whose dimension equals value; filters combine with AND. */
+    SalesQuery where(Dimension dimension, String value) {
+        List<DimensionFilter> filters = new ArrayList<>(dimensionFilters);
+        filters.add(new DimensionFilter(Objects.requireNonNull(dimension), Objects.requireNonNull(value)));
+        return new SalesQuery(aggregates, measureFilters, List.copyOf(filters), groupBy,
+                orderAggregate, orderMeasure, orderByKey, direction, limit);
+    }
+
+    /**
+     * Groups the rows by the given dimensions, outermost first.
+     *
+     * @throws IllegalStateException if this is a row query
+     */
+    SalesQuery groupBy(Dimension... dimensions) {
+        requireAggregating("groupBy");
+        return new SalesQuery(aggregates, measureFilters, dimensionFilters, List.of(dimensions),
+                orderAggregate, orderMeasure, orderByKey, direction, limit);
+    }
+
+    /**
+     * Orders the groups by an aggregate, which need not be selected.
+     *
+     * @throws IllegalStateException if this is a row query
+     */
+    SalesQuery orderBy(Aggregate aggregate, Direction direction) {
+        requireAggregating("orderBy(Aggregate)");
+        return new SalesQuery(aggregates, measureFilters, dimensionFilters, groupBy,
+                Objects.requireNonNull(aggregate), null, false, Objects.requireNonNull(direction), limit);
+    }
+
+    /**
+     * Orders the groups by their group-by values, compared as strings.
+     *
+     * @throws IllegalStateException if this is a row query
+     */
+    SalesQuery orderByKey() {
+        requireAggregating("orderByKey");
+        return new SalesQuery(aggregates, measureFilters, dimensionFilters, groupBy,
+                null, null, true, Direction.ASCENDING, limit);
+    }
+
+    /**
+     * Orders the rows by a measure.
+     *
+     * @throws IllegalStateException if this is an aggregating query
+     */
+    SalesQuery orderBy(Measure measure, Direction direction) {
+        if (isAggregating()) {
+            throw new IllegalStateException("orderBy(Measure) applies to row queries");
+        }
+        return new SalesQuery(aggregates, measureFilters, dimensionFilters, groupBy,
+                null, Objects.requireNonNull(measure), false, Objects.requireNonNull(direction), limit);
+    }
+
+    /**
+     * Keeps at most the first maxResults groups or rows. With an order,
+     * only that many are kept while scanning or ranking (see {@link TopN}).
+     *
+     * @throws IllegalArgumentException if maxResults is negative
+     */
+    SalesQuery limit(int maxResults) {
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + maxResults);
+        }
+        return new SalesQuery(aggregates, measureFilters, dimensionFilters, groupBy,
+                orderAggregate, orderMeasure, orderByKey, direction, maxResults);
+    }
+
+    private void requireAggregating(String operation) {
+        if (!isAggregating()) {
+            throw new IllegalStateException(operation + " applies to aggregating queries");
+        }
+    }
+
+    // Getters for the planner
+    boolean isAggregating() { return aggregates != null; }
+    List<Aggregate> aggregates() { return aggregates != null ? aggregates : List.of(); }
+    List<MeasureFilter> measureFilters() { return measureFilters; }
+    List<DimensionFilter> dimensionFilters() { return dimensionFilters; }
+    List<Dimension> groupBy() { return groupBy; }
+    Aggregate orderAggregate() { return orderAggregate; }
+    Measure orderMeasure() { return orderMeasure; }
+    boolean isOrderedByKey() { return orderByKey; }
+    Direction direction() { return direction; }
+    int limit() { return limit; }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        parts.add(isAggregating() ? "aggregate " + aggregates : "rows");
+        measureFilters.forEach(filter -> parts.add("where " + filter.measure() + " matches"));
+        dimensionFilters.forEach(filter -> parts.add("where " + filter.dimension() + " = " + filter.value()));
+        if (!groupBy.isEmpty()) {
+            parts.add("groupBy " + groupBy);
+        }
+        if (orderByKey) {
+            parts.add("orderBy key");
+        } else if (direction != null) {
+            parts.add("orderBy " + (orderAggregate != null ? orderAggregate : orderMeasure) + " " + direction);
+        }
+        if (limit != Integer.MAX_VALUE) {
+            parts.add("limit " + limit);
+        }
+        return String.join(" ", parts);
+    }
+}
@@ -0,0 +1,878 @@
+package buildChallengePartB;
+
+import buildChallengePartB.SalesQuery.Aggregate;
+import buildChallengePartB.SalesQuery.Dimension;
+import buildChallengePartB.SalesQuery.DimensionFilter;
+import buildChallengePartB.SalesQuery.Direction;
+import buildChallengePartB.SalesQuery.Group;
+import buildChallengePartB.SalesQuery.Measure;
+import buildChallengePartB.SalesQuery.MeasureFilter;
+import buildChallengePartB.SalesQuery.Result;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Executes a set of {@link SalesQuery queries} together in one scan.
+ *
+ * Planning: The plan collects the measures and dimensions the queries
+ * reference. The scan reads only those (projection pushdown): from the
+ * column arrays directly for {@link SalesColumns}, through the getters for
+ * any other rows. Filter columns are read first and every query's filters
+ * are evaluated inside the scan (predicate pushdown); the remaining
+ * columns are only read if some query keeps a row. All queries share the
+ * scan (fusion), so N reports cost one pass over the data, not N.
+ *
+ * Column scans run a batch of rows at a time: each projected column is
+ * copied into a small vector, each query's filters select rows of the batch,
+ * and each query then loops over its selected rows. The per-column and
+ * per-query dispatch is paid once per batch instead of once per row.
+ *
+ * Groups are kept in trees of arrays indexed by dimension code, as in the
+ * cube, so the scan does no hashing for dictionary-encoded dimensions.
+ * Products and months get codes local to the execution.
+ *
+ * Design Decision: An {@link Execution} accepts rows one at a time and can
+ * be combined with another execution of the same queries, so it also serves
+ * streaming, incremental and parallel aggregation (see {@link SalesAggregates}).
+ * Sums use {@link DoubleSummaryStatistics}, as the reports always have.
+ *
+ * Thread Safety: A plan is immutable; an execution must be confined to one
+ * thread at a time.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+final class SalesQueryPlan {
+    private static final Measure[] MEASURES = Measure.values();
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    /** Filter code of a value that has not occurred yet */
+    private static final int UNRESOLVED = -1;
+    /** Filter code of a value no row can have */
+    private static final int NO_MATCH = -2;
+    /** Rows per batch of a column scan */
+    private static final int BATCH_ROWS = 1024;
+    /** Selection of every row of a batch, for unfiltered queries */
+    private static final int[] ALL_ROWS = IntStream.range(0, BATCH_ROWS).toArray();
+    /** Widest range of sale dates whose month and quarter are cached (about 180 years) */
+    private static final int MAX_CACHED_DAYS = 1 << 16;
+
+    /** One query, resolved to ordinals for the scan */
+    private record Compiled(SalesQuery query, Dimension[] groupBy, int[] measures,
+                            MeasureFilter[] measureFilters, DimensionFilter[] dimensionFilters) {
+        boolean isFiltered() {
+            return measureFilters.length > 0 || dimensionFilters.length > 0;
+        }
+    }
+
+    private final List<SalesQuery> queries;
+    private final Compiled[] compiled;
+    // Projection, split into columns needed by filters and the rest
+    private final Measure[] filterMeasures;
+    private final Dimension[] filterDimensions;
+    private final Measure[] otherMeasures;
+    private final Dimension[] otherDimensions;
+
+    private SalesQueryPlan(List<SalesQuery> queries) {
+        this.queries = List.copyOf(queries);
+        this.compiled = new Compiled[queries.size()];
+        EnumSet<Measure> filterMeasures = EnumSet.noneOf(Measure.class);
+        EnumSet<Dimension> filterDimensions = EnumSet.noneOf(Dimension.class);
+        EnumSet<Measure> measures = EnumSet.noneOf(Measure.class);
+        EnumSet<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+
+        for (int q = 0; q < compiled.length; q++) {
+            SalesQuery query = queries.get(q);
+            EnumSet<Measure> aggregated = EnumSet.noneOf(Measure.class);
+            for (Aggregate aggregate : query.aggregates()) {
+                if (aggregate.measure() != null) {
+                    aggregated.add(aggregate.measure());
+                }
+            }
+            if (query.orderAggregate() != null && query.orderAggregate().measure() != null) {
+                aggregated.add(query.orderAggregate().measure());
+            }
+            if (query.orderMeasure() != null) {
+                measures.add(query.orderMeasure());
+            }
+            measures.addAll(aggregated);
+            dimensions.addAll(query.groupBy());
+            query.measureFilters().forEach(filter -> filterMeasures.add(filter.measure()));
+            query.dimensionFilters().forEach(filter -> filterDimensions.add(filter.dimension()));
+
+            compiled[q] = new Compiled(query, query.groupBy().toArray(new Dimension[0]),
+                    aggregated.stream().mapToInt(Enum::ordinal).toArray(),
+                    query.measureFilters().toArray(new MeasureFilter[0]),
+                    query.dimensionFilters().toArray(new DimensionFilter[0]));
+        }
+        measures.removeAll(filterMeasures);
+        dimensions.removeAll(filterDimensions);
+        this.filterMeasures = filterMeasures.toArray(new Measure[0]);
+        this.filterDimensions = filterDimensions.toArray(new Dimension[0]);
+        this.otherMeasures = measures.toArray(new Measure[0]);
+        this.otherDimensions = dimensions.toArray(new Dimension[0]);
+    }
+
+    /**
+     * Plans the given queries for execution in one scan.
+     *
+     * @throws IllegalArgumentException if no query is given
+     */
+    static SalesQueryPlan of(SalesQuery... queries) {
+        return of(List.of(queries));
+    }
+
+    /**
+     * Plans the given queries for execution in one scan.
+     *
+     * @throws IllegalArgumentException if no query is given
+     */
+    static SalesQueryPlan of(List<SalesQuery> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is required");
+        }
+        return new SalesQueryPlan(queries);
+    }
+
+    /**
+     * Runs all queries in one scan of the data.
+     *
+     * @return the results, in query order
+     */
+    List<Result> execute(List<? extends SalesRow> data) {
+        Execution execution = newExecution();
+        execution.acceptAll(data);
+        return execution.results();
+    }
+
+    /** Starts an execution that receives rows one at a time. */
+    Execution newExecution() {
+        return new Execution();
+    }
+
+    List<SalesQuery> queries() {
+        return queries;
+    }
+
+    /** Returns the measures the scan reads. */
+    Set<Measure> measures() {
+        EnumSet<Measure> measures = EnumSet.noneOf(Measure.class);
+        measures.addAll(List.of(filterMeasures));
+        measures.addAll(List.of(otherMeasures));
+        return measures;
+    }
+
+    /** Returns the dimensions the scan reads. */
+    Set<Dimension> dimensions() {
+        EnumSet<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        dimensions.addAll(List.of(filterDimensions));
+        dimensions.addAll(List.of(otherDimensions));
+        return dimensions;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder plan = new StringBuilder("Fused scan of " + queries.size() + " queries")
+                .append("\n  read first: ").append(Arrays.toString(filterMeasures))
+                .append(' ').append(Arrays.toString(filterDimensions))
+                .append("\n  read if kept: ").append(Arrays.toString(otherMeasures))
+                .append(' ').append(Arrays.toString(otherDimensions));
+        queries.forEach(query -> plan.append("\n  ").append(query));
+        return plan.toString();
+    }
+
+    /** Whether another plan's executions hold the same kind of state, query by query. */
+    private boolean isCompatible(SalesQueryPlan other) {
+        if (other == this) {
+            return true;
+        }
+        if (other.compiled.length != compiled.length) {
+            return false;
+        }
+        for (int q = 0; q < compiled.length; q++) {
+            Compiled mine = compiled[q];
+            Compiled theirs = other.compiled[q];
+            if (mine.query().isAggregating() != theirs.query().isAggregating()
+                    || !Arrays.equals(mine.groupBy(), theirs.groupBy())
+                    || !Arrays.equals(mine.measures(), theirs.measures())
+                    || mine.query().orderMeasure() != theirs.query().orderMeasure()
+                    || mine.query().direction() != theirs.query().direction()
+                    || mine.query().limit() != theirs.query().limit()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accumulators indexed by a dense code, created on first use.
+     *
+     * @param <A> the accumulator type
+     */
+    private static final class ByCode<A> {
+        private final Supplier<A> factory;
+        private Object[] slots = new Object[8];
+
+        ByCode(Supplier<A> factory) {
+            this.factory = factory;
+        }
+
+        /** Returns the accumulator for code, creating it if needed. */
+        @SuppressWarnings("unchecked")
+        A at(int code) {
+            if (code >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(code + 1, slots.length * 2));
+            }
+            Object slot = slots[code];
+            if (slot == null) {
+                slot = factory.get();
+                slots[code] = slot;
+            }
+            return (A) slot;
+        }
+
+        /** Returns the accumulator for code, or null if the code never occurred. */
+        @SuppressWarnings("unchecked")
+        A get(int code) {
+            return code < slots.length ? (A) slots[code] : null;
+        }
+
+        int length() {
+            return slots.length;
+        }
+    }
+
+    /** Count and statistics of one group */
+    private static final class Accumulator {
+        long count;
+        /** One per aggregated measure of the query */
+        final DoubleSummaryStatistics[] statistics;
+
+        Accumulator(int measures) {
+            statistics = new DoubleSummaryStatistics[measures];
+            for (int i = 0; i < measures; i++) {
+                statistics[i] = new DoubleSummaryStatistics();
+            }
+        }
+
+        void combine(Accumulator other) {
+            count += other.count;
+            for (int i = 0; i < statistics.length; i++) {
+                statistics[i].combine(other.statistics[i]);
+            }
+        }
+    }
+
+    /** A row kept by a row query, with the value it is ordered by */
+    private record Kept(SalesRow row, double orderValue) {
+    }
+
+    /** A group of an aggregating query while ranking; key labels only when ordered by key */
+    private record Leaf(int[] codes, List<String> key, Accumulator accumulator) {
+    }
+
+    /** Dense codes for year-months (TimeBucket.MONTH keys), in order of first appearance */
+    private static final class MonthCodes {
+        private final Map<Integer, Integer> codes = new HashMap<>();
+        private int[] months = new int[16];
+        private int size;
+
+        int encode(int month) {
+            Integer code = codes.get(month);
+            if (code != null) {
+                return code;
+            }
+            if (size == months.length) {
+                months = Arrays.copyOf(months, size * 2);
+            }
+            months[size] = month;
+            codes.put(month, size);
+            return size++;
+        }
+
+        int find(int month) {
+            Integer code = codes.get(month);
+            return code != null ? code : UNRESOLVED;
+        }
+
+        int decode(int code) {
+            return months[code];
+        }
+    }
+
+    /**
+     * Running state of the plan's queries over the rows accepted so far.
+     */
+    final class Execution {
+        // Values of the current batch of rows; only projected columns are allocated
+        private final double[][] values = new double[MEASURES.length][];
+        private final int[][] codes = new int[DIMENSIONS.length][];
+        /** Per query: the rows of the batch it keeps, and how many */
+        private final int[][] selections = new int[compiled.length][];
+        private final int[] selected = new int[compiled.length];
+        // Per query: the batch vectors of its group-by dimensions and aggregated measures
+        private final int[][][] keyVectors = new int[compiled.length][][];
+        private final double[][][] measureVectors = new double[compiled.length][][];
+
+        /** Per query: an Accumulator without group-by, otherwise a tree of ByCode levels */
+        private final Object[] groups = new Object[compiled.length];
+        /** Per row query: the rows kept so far */
+        private final List<TopN<Kept>> rows = new ArrayList<>();
+        /** Per query and dimension filter: the code to match, or UNRESOLVED */
+        private final int[][] filterCodes = new int[compiled.length][];
+
+        private final StringDictionary products = new StringDictionary();
+        private final MonthCodes months = new MonthCodes();
+        /** Month code * 4 + quarter + 1 by epoch day - firstCachedDay; 0 if not cached yet */
+        private int[] dayCache = new int[0];
+        private int firstCachedDay;
+
+        private Execution() {
+            for (Measure measure : measures()) {
+                values[measure.ordinal()] = new double[BATCH_ROWS];
+            }
+            for (Dimension dimension : dimensions()) {
+                codes[dimension.ordinal()] = new int[BATCH_ROWS];
+            }
+            for (int q = 0; q < compiled.length; q++) {
+                Compiled query = compiled[q];
+                if (query.query().isAggregating()) {
+                    groups[q] = newLevel(query, 0);
+                }
+                rows.add(query.query().isAggregating() ? null : new TopN<>(query.query().limit(), rowOrder(query)));
+                filterCodes[q] = new int[query.dimensionFilters().length];
+                Arrays.fill(filterCodes[q], UNRESOLVED);
+                selections[q] = query.isFiltered() ? new int[BATCH_ROWS] : ALL_ROWS;
+                keyVectors[q] = Arrays.stream(query.groupBy()).map(d -> codes[d.ordinal()]).toArray(int[][]::new);
+                measureVectors[q] = Arrays.stream(query.measures()).mapToObj(m -> values[m]).toArray(double[][]::new);
+            }
+        }
+
+        /** Returns the plan this execution runs. */
+        SalesQueryPlan plan() {
+            return SalesQueryPlan.this;
+        }
+
+        /**
+         * Adds all rows, reading the column arrays directly for {@link SalesColumns}.
+         */
+        void acceptAll(List<? extends SalesRow> data) {
+            if (data instanceof SalesColumns columns) {
+                scan(columns);
+            } else {
+                data.forEach(this::accept);
+            }
+        }
+
+        /** Adds one row. The row is kept by reference if a row query keeps it. */
+        void accept(SalesRow row) {
+            accept(row, false);
+        }
+
+        /**
+         * Adds a row that is only valid during the call; it is copied if a
+         * row query keeps it.
+         */
+        void acceptTransient(SalesRow row) {
+            accept(row, true);
+        }
+
+        /** Runs one row as a batch of one. */
+        private void accept(SalesRow row, boolean copyIfKept) {
+            for (Measure measure : filterMeasures) {
+                values[measure.ordinal()][0] = measure.of(row);
+            }
+            for (Dimension dimension : filterDimensions) {
+                codes[dimension.ordinal()][0] = code(dimension, row);
+            }
+            if (!filter(1)) {
+                return;
+            }
+            for (Measure measure : otherMeasures) {
+                values[measure.ordinal()][0] = measure.of(row);
+            }
+            for (Dimension dimension : otherDimensions) {
+                codes[dimension.ordinal()][0] = code(dimension, row);
+            }
+            consume(row, copyIfKept, null, 0);
+        }
+
+        /**
+         * Scans the column arrays a batch at a time: each projected column is
+         * copied or computed into its batch vector in one tight loop, then
+         * every query runs over the batch rows its filters select.
+         */
+        private void scan(SalesColumns columns) {
+            int size = columns.size();
+            int[][] ints = columns.intColumns();
+            double[][] doubles = columns.doubleColumns();
+            StringDictionary productIds = columns.productIdDictionary();
+            int[] productCodes = new int[productIds.size()]; // Dataset code to local code
+            Arrays.fill(productCodes, UNRESOLVED);
+
+            for (int from = 0; from < size; from += BATCH_ROWS) {
+                int n = Math.min(BATCH_ROWS, size - from);
+                for (Measure measure : filterMeasures) {
+                    load(measure, ints, doubles, from, n);
+                }
+                for (Dimension dimension : filterDimensions) {
+                    load(dimension, ints, doubles, from, n, productIds, productCodes);
+                }
+                if (!filter(n)) {
+                    continue; // No query keeps any row: skip reading the other columns
+                }
+                for (Measure measure : otherMeasures) {
+                    load(measure, ints, doubles, from, n);
+                }
+                for (Dimension dimension : otherDimensions) {
+                    load(dimension, ints, doubles, from, n, productIds, productCodes);
+                }
+                consume(null, false, columns, from);
+            }
+        }
+
+        /** Selects each query's rows of the batch; returns whether any query keeps a row. */
+        private boolean filter(int n) {
+            boolean any = false;
+            for (int q = 0; q < compiled.length; q++) {
+                selected[q] = select(q, n);
+                any |= selected[q] > 0;
+            }
+            return any;
+        }
+
+        private int select(int q, int n) {
+            Compiled query = compiled[q];
+            if (!query.isFiltered()) {
+                return n; // Selection is ALL_ROWS
+            }
+            DimensionFilter[] dimensionFilters = query.dimensionFilters();
+            for (int f = 0; f < dimensionFilters.length; f++) {
+                if (filterCodes[q][f] == UNRESOLVED) {
+                    filterCodes[q][f] = resolve(dimensionFilters[f]);
+                }
+            }
+            int[] selection = selections[q];
+            int count = 0;
+            rows:
+            for (int row = 0; row < n; row++) {
+                for (MeasureFilter filter : query.measureFilters()) {
+                    if (!filter.test().test(values[filter.measure().ordinal()][row])) {
+                        continue rows;
+                    }
+                }
+                for (int f = 0; f < dimensionFilters.length; f++) {
+                    if (codes[dimensionFilters[f].dimension().ordinal()][row] != filterCodes[q][f]) {
+                        continue rows;
+                    }
+                }
+                selection[count++] = row;
+            }
+            return count;
+        }
+
+        /**
+         * Feeds the selected rows of the batch to every query. Kept rows are
+         * the given row, or views of columns starting at index from.
+         */
+        @SuppressWarnings("unchecked")
+        private void consume(SalesRow row, boolean copyIfKept, SalesColumns columns, int from) {
+            for (int q = 0; q < compiled.length; q++) {
+                int count = selected[q];
+                int[] selection = selections[q];
+                Compiled query = compiled[q];
+                if (query.query().isAggregating()) {
+                    Object root = groups[q];
+                    int[][] keys = keyVectors[q];
+                    double[][] measures = measureVectors[q];
+                    for (int k = 0; k < count; k++) {
+                        int r = selection[k];
+                        Object node = root;
+                        for (int[] key : keys) {
+                            node = ((ByCode<Object>) node).at(key[r]);
+                        }
+                        Accumulator accumulator = (Accumulator) node;
+                        accumulator.count++;
+                        for (int m = 0; m < measures.length; m++) {
+                            accumulator.statistics[m].accept(measures[m][r]);
+                        }
+                    }
+                } else {
+                    Measure order = query.query().orderMeasure();
+                    TopN<Kept> kept = rows.get(q);
+                    for (int k = 0; k < count; k++) {
+                        int r = selection[k];
+                        double orderValue = order != null ? values[order.ordinal()][r] : 0;
+                        // Test first, so rows that would be dropped are neither viewed nor copied
+                        if (kept.wouldKeep(new Kept(null, orderValue))) {
+                            SalesRow keptRow = row == null ? columns.get(from + r)
+                                    : copyIfKept ? new SalesRecord(row) : row;
+                            kept.offer(new Kept(keptRow, orderValue));
+                        }
+                    }
+                }
+            }
+        }
+
+        private Object newLevel(Compiled query, int depth) {
+            if (depth == query.groupBy().length) {
+                return new Accumulator(query.measures().length);
+            }
+            return new ByCode<>(() -> newLevel(query, depth + 1));
+        }
+
+        /** Returns the order of a row query's rows, best first; unordered rows all tie. */
+        private Comparator<Kept> rowOrder(Compiled query) {
+            if (query.query().orderMeasure() == null) {
+                return (a, b) -> 0; // Ties keep encounter order
+            }
+            Comparator<Kept> order = Comparator.comparingDouble(Kept::orderValue);
+            return query.query().direction() == Direction.DESCENDING ? order.reversed() : order;
+        }
+
+        /**
+         * Merges the state of an execution of the same queries over rows that
+         * follow this one's rows in encounter order.
+         *
+         * @return this
+         * @throws IllegalArgumentException if other runs different queries
+         */
+        Execution combine(Execution other) {
+            if (!isCompatible(other.plan())) {
+                throw new IllegalArgumentException("Cannot combine executions of different queries");
+            }
+            for (int q = 0; q < compiled.length; q++) {
+                Compiled query = compiled[q];
+                if (query.query().isAggregating()) {
+                    merge(query, 0, groups[q], other.groups[q], other);
+                } else {
+                    rows.get(q).combine(other.rows.get(q));
+                }
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void merge(Compiled query, int depth, Object target, Object source, Execution other) {
+            if (depth == query.groupBy().length) {
+                ((Accumulator) target).combine((Accumulator) source);
+                return;
+            }
+            Dimension dimension = query.groupBy()[depth];
+            ByCode<Object> sourceLevel = (ByCode<Object>) source;
+            ByCode<Object> targetLevel = (ByCode<Object>) target;
+            for (int code = 0; code < sourceLevel.length(); code++) {
+                Object child = sourceLevel.get(code);
+                if (child != null) {
+                    merge(query, depth + 1, targetLevel.at(translate(dimension, code, other)), child, other);
+                }
+            }
+        }
+
+        /** Maps a code of another execution to this one's. */
+        private int translate(Dimension dimension, int code, Execution other) {
+            return switch (dimension) {
+                case PRODUCT -> products.encode(other.products.decode(code));
+                case MONTH -> months.encode(other.months.decode(code));
+                default -> code; // Shared dictionaries or fixed codes
+            };
+        }
+
+        /** Returns the results of all queries, in query order. */
+        List<Result> results() {
+            List<Result> results = new ArrayList<>(compiled.length);
+            for (int q = 0; q < compiled.length; q++) {
+                results.add(result(q, Integer.MAX_VALUE));
+            }
+            return results;
+        }
+
+        /**
+         * Returns the result of one of the plan's queries.
+         *
+         * @throws IllegalArgumentException if the query is not part of the plan
+         */
+        Result result(SalesQuery query) {
+            return result(query, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Returns the first groups or rows of one of the plan's queries, at
+         * most limit of them (and at most the query's own limit). Ordered
+         * groups are ranked with a {@link TopN} heap of that size, so asking
+         * for the top 5 of many groups neither sorts nor copies them all.
+         *
+         * @throws IllegalArgumentException if the query is not part of the plan
+         */
+        Result result(SalesQuery query, int limit) {
+            int q = queries.indexOf(query);
+            if (q < 0) {
+                throw new IllegalArgumentException("Query is not part of this plan: " + query);
+            }
+            return result(q, limit);
+        }
+
+        private Result result(int q, int limit) {
+            Compiled query = compiled[q];
+            int max = Math.min(limit, query.query().limit());
+            if (!query.query().isAggregating()) {
+                List<SalesRow> kept = rows.get(q).toList().stream().map(Kept::row).toList();
+                return new Result(List.of(), kept.size() > max ? kept.subList(0, max) : kept);
+            }
+
+            Comparator<Leaf> order = groupOrder(query);
+            List<Leaf> leaves = new ArrayList<>();
+            if (order == null) {
+                collect(query, 0, groups[q], new int[query.groupBy().length], false, leaves::add);
+                if (leaves.size() > max) {
+                    leaves = leaves.subList(0, max);
+                }
+            } else {
+                TopN<Leaf> top = new TopN<>(max, order);
+                collect(query, 0, groups[q], new int[query.groupBy().length],
+                        query.query().isOrderedByKey(), top::offer);
+                leaves = top.toList();
+            }
+            return new Result(leaves.stream().map(leaf -> toGroup(query, leaf)).toList(), List.of());
+        }
+
+        /** Returns the order of a query's groups, best first, or null if unordered. */
+        private Comparator<Leaf> groupOrder(Compiled query) {
+            if (query.query().isOrderedByKey()) {
+                return (a, b) -> {
+                    for (int i = 0; i < a.key().size(); i++) {
+                        int cmp = a.key().get(i).compareTo(b.key().get(i));
+                        if (cmp != 0) {
+                            return cmp;
+                        }
+                    }
+                    return 0;
+                };
+            }
+            Aggregate aggregate = query.query().orderAggregate();
+            if (aggregate == null) {
+                return null;
+            }
+            int slot = aggregate.measure() == null ? -1
+                    : Arrays.binarySearch(query.measures(), aggregate.measure().ordinal());
+            Comparator<Leaf> order = Comparator.comparingDouble(leaf -> aggregate.of(leaf.accumulator().count,
+                    slot >= 0 ? leaf.accumulator().statistics[slot] : null));
+            return query.query().direction() == Direction.DESCENDING ? order.reversed() : order;
+        }
+
+        /** Visits the groups of a query in code order. */
+        @SuppressWarnings("unchecked")
+        private void collect(Compiled query, int depth, Object node, int[] codes, boolean withKey,
+                             Consumer<Leaf> visitor) {
+            if (depth == codes.length) {
+                visitor.accept(new Leaf(codes.clone(), withKey ? key(query, codes) : null, (Accumulator) node));
+                return;
+            }
+            ByCode<Object> level = (ByCode<Object>) node;
+            for (int code = 0; code < level.length(); code++) {
+                Object child = level.get(code);
+                if (child != null) {
+                    codes[depth] = code;
+                    collect(query, depth + 1, child, codes, withKey, visitor);
+                }
+            }
+        }
+
+        private List<String> key(Compiled query, int[] codes) {
+            String[] key = new String[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                key[i] = label(query.groupBy()[i], codes[i]);
+            }
+            return List.of(key);
+        }
+
+        private Group toGroup(Compiled query, Leaf leaf) {
+            Accumulator accumulator = leaf.accumulator();
+            DoubleSummaryStatistics[] statistics = new DoubleSummaryStatistics[MEASURES.length];
+            int[] measures = query.measures();
+            for (int m = 0; m < measures.length; m++) {
+                statistics[measures[m]] = new DoubleSummaryStatistics();
+                statistics[measures[m]].combine(accumulator.statistics[m]);
+            }
+            List<String> key = leaf.key() != null ? leaf.key() : key(query, leaf.codes());
+            return new Group(key, accumulator.count, statistics);
+        }
+
+        /** Fills the batch vector of a measure from rows from to from + n. */
+        private void load(Measure measure, int[][] ints, double[][] doubles, int from, int n) {
+            // Column order: see SalesColumns.intColumns() and doubleColumns()
+            double[] vector = values[measure.ordinal()];
+            switch (measure) {
+                case SALES_AMOUNT -> System.arraycopy(doubles[0], from, vector, 0, n);
+                case PROFIT -> {
+                    double[] amounts = doubles[0];
+                    double[] unitCosts = doubles[1];
+                    int[] quantities = ints[4];
+                    for (int i = 0; i < n; i++) {
+                        vector[i] = amounts[from + i] - (unitCosts[from + i] * quantities[from + i]);
+                    }
+                }
+                case DISCOUNT -> System.arraycopy(doubles[3], from, vector, 0, n);
+                case QUANTITY -> {
+                    int[] quantities = ints[4];
+                    for (int i = 0; i < n; i++) {
+                        vector[i] = quantities[from + i];
+                    }
+                }
+                case UNIT_COST -> System.arraycopy(doubles[1], from, vector, 0, n);
+                case UNIT_PRICE -> System.arraycopy(doubles[2], from, vector, 0, n);
+            }
+        }
+
+        /** Fills the batch vector of a dimension from rows from to from + n. */
+        private void load(Dimension dimension, int[][] ints, double[][] doubles, int from, int n,
+                          StringDictionary productIds, int[] productCodes) {
+            int[] vector = codes[dimension.ordinal()];
+            switch (dimension) {
+                case REGION -> System.arraycopy(ints[3], from, vector, 0, n);
+                case SALES_REP -> System.arraycopy(ints[2], from, vector, 0, n);
+                case CATEGORY -> System.arraycopy(ints[5], from, vector, 0, n);
+                case CUSTOMER_TYPE -> System.arraycopy(ints[6], from, vector, 0, n);
+                case PAYMENT_METHOD -> System.arraycopy(ints[7], from, vector, 0, n);
+                case SALES_CHANNEL -> System.arraycopy(ints[8], from, vector, 0, n);
+                case PRODUCT -> {
+                    int[] productIdCodes = ints[0];
+                    for (int i = 0; i < n; i++) {
+                        int code = productIdCodes[from + i];
+                        if (productCodes[code] == UNRESOLVED) {
+                            productCodes[code] = products.encode(productIds.decode(code));
+                        }
+                        vector[i] = productCodes[code];
+                    }
+                }
+                case MONTH -> {
+                    int[] days = ints[1];
+                    for (int i = 0; i < n; i++) {
+                        vector[i] = monthCode(days[from + i]);
+                    }
+                }
+                case QUARTER -> {
+                    int[] days = ints[1];
+                    for (int i = 0; i < n; i++) {
+                        vector[i] = quarter(days[from + i]);
+                    }
+                }
+                case DISCOUNT_BUCKET -> {
+                    double[] discounts = doubles[3];
+                    for (int i = 0; i < n; i++) {
+                        vector[i] = SalesAggregates.discountBucketIndex(discounts[from + i]);
+                    }
+                }
+            }
+        }
+
+        private int code(Dimension dimension, SalesRow row) {
+            return switch (dimension) {
+                case REGION -> row.getRegionCode();
+                case SALES_REP -> row.getSalesRepCode();
+                case CATEGORY -> row.getCategoryCode();
+                case CUSTOMER_TYPE -> row.getCustomerTypeCode();
+                case PAYMENT_METHOD -> row.getPaymentMethodCode();
+                case SALES_CHANNEL -> row.getSalesChannelCode();
+                case PRODUCT -> products.encode(row.getProductId());
+                case MONTH -> monthCode(row.getSaleEpochDay());
+                case QUARTER -> quarter(row.getSaleEpochDay());
+                case DISCOUNT_BUCKET -> SalesAggregates.discountBucketIndex(row.getDiscount());
+            };
+        }
+
+        private int monthCode(int epochDay) {
+            return (monthAndQuarter(epochDay) - 1) >> 2;
+        }
+
+        private int quarter(int epochDay) {
+            return (monthAndQuarter(epochDay) - 1) & 3;
+        }
+
+        /**
+         * Returns month code * 4 + quarter + 1 for a day. Sales span few
+         * distinct days, so each is converted from epoch days once and then
+         * looked up in an array covering the days seen so far.
+         */
+        private int monthAndQuarter(int epochDay) {
+            long slot = (long) epochDay - firstCachedDay;
+            if (slot >= 0 && slot < dayCache.length && dayCache[(int) slot] != 0) {
+                return dayCache[(int) slot];
+            }
+            int yearMonth = TimeBucket.MONTH.key(epochDay);
+            int entry = months.encode(yearMonth) * 4 + (yearMonth % 100 - 1) / 3 + 1;
+            cacheDay(epochDay, entry);
+            return entry;
+        }
+
+        private void cacheDay(int epochDay, int entry) {
+            if (dayCache.length == 0) {
+                firstCachedDay = epochDay;
+                dayCache = new int[64];
+            }
+            long slot = (long) epochDay - firstCachedDay;
+            if (slot < 0 || slot >= dayCache.length) {
+                long first = Math.min(firstCachedDay, epochDay);
+                long end = Math.max((long) firstCachedDay + dayCache.length, (long) epochDay + 1);
+                if (end - first > MAX_CACHED_DAYS) {
+                    return; // Dates too far apart to cover; convert these each time
+                }
+                long length = Math.min(MAX_CACHED_DAYS, Math.max(end - first, 2L * dayCache.length));
+                first = epochDay < firstCachedDay ? end - length : firstCachedDay;
+                int[] grown = new int[(int) length];
+                System.arraycopy(dayCache, 0, grown, (int) (firstCachedDay - first), dayCache.length);
+                dayCache = grown;
+                firstCachedDay = (int) first;
+            }
+            dayCache[epochDay - firstCachedDay] = entry;
+        }
+
+        private String label(Dimension dimension, int code) {
+            return switch (dimension) {
+                case REGION -> SalesDictionaries.REGIONS.decode(code);
+                case SALES_REP -> SalesDictionaries.SALES_REPS.decode(code);
+                case CATEGORY -> SalesDictionaries.CATEGORIES.decode(code);
+                case CUSTOMER_TYPE -> SalesDictionaries.CUSTOMER_TYPES.decode(code);
+                case PAYMENT_METHOD -> SalesDictionaries.PAYMENT_METHODS.decode(code);
+                case SALES_CHANNEL -> SalesDictionaries.SALES_CHANNELS.decode(code);
+                case PRODUCT -> products.decode(code);
+                case MONTH -> {
+                    yield TimeBucket.MONTH.label(months.decode(code));
+                }
+                case QUARTER -> TimeBucket.QUARTERS.get(code);
+                case DISCOUNT_BUCKET -> SalesAggregates.DISCOUNT_BUCKETS.get(code);
+            };
+        }
+
+        /** Returns the code a dimension filter matches, or UNRESOLVED while the value is unknown. */
+        private int resolve(DimensionFilter filter) {
+            String value = filter.value();
+            return switch (filter.dimension()) {
+                case REGION -> SalesDictionaries.REGIONS.find(value);
+                case SALES_REP -> SalesDictionaries.SALES_REPS.find(value);
+                case CATEGORY -> SalesDictionaries.CATEGORIES.find(value);
+                case CUSTOMER_TYPE -> SalesDictionaries.CUSTOMER_TYPES.find(value);
+                case PAYMENT_METHOD -> SalesDictionaries.PAYMENT_METHODS.find(value);
+                case SALES_CHANNEL -> SalesDictionaries.SALES_CHANNELS.find(value);
+                case PRODUCT -> products.find(value);
+                case MONTH -> {
+                    try {
+                        YearMonth month = YearMonth.parse(value);
+                        yield months.find(month.getYear() * 100 + month.getMonthValue());
+                    } catch (DateTimeParseException e) {
+                        yield NO_MATCH;
+                    }
+                }
+                case QUARTER -> TimeBucket.QUARTERS.contains(value) ? TimeBucket.QUARTERS.indexOf(value) : NO_MATCH;
+                case DISCOUNT_BUCKET -> SalesAggregates.DISCOUNT_BUCKETS.contains(value)
+                        ? SalesAggregates.DISCOUNT_BUCKETS.indexOf(value) : NO_MATCH;
+            };
+        }
+    }
+}
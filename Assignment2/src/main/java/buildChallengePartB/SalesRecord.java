@@ -12,22 +12,32 @@ import java.time.format.*;
  *
  * Design Decision: All fields are final and set through constructor,
  * following immutable object pattern for safer functional programming.
+ * Derived values (profit, margin, quarter, month) come from {@link SalesRow}.
+ * Low-cardinality fields are stored as codes of the shared
+ * {@link SalesDictionaries}, so rows do not each carry their own copies of
+ * "North" or "Credit Card".
  */
-class SalesRecord {
+class SalesRecord implements SalesRow {
     // Core fields from CSV
     private final String productId;
     private final LocalDate saleDate;
-    private final String salesRep;
-    private final String region;
+    private final int salesRepCode;
+    private final int regionCode;
     private final double salesAmount;
     private final int quantitySold;
-    private final String productCategory;
+    private final int categoryCode;
     private final double unitCost;
     private final double unitPrice;
-    private final String customerType;
+    private final int customerTypeCode;
     private final double discount;
-    private final String paymentMethod;
-    private final String salesChannel;
+    private final int paymentMethodCode;
+    private final int salesChannelCode;
+
+    // Time keys - Computed once at parse time for time-based group-bys
+    private final int saleEpochDay;
+    private final int yearMonth;
+    private final int yearQuarter;
+    private final int isoWeek;
 
     /**
      * Constructs a SalesRecord from CSV fields.
@@ -43,68 +53,75 @@ class SalesRecord {
     public SalesRecord(String[] fields) {
         this.productId = fields[0].trim();
         this.saleDate = LocalDate.parse(fields[1].trim());
-        this.salesRep = fields[2].trim();
-        this.region = fields[3].trim();
+        this.salesRepCode = SalesDictionaries.SALES_REPS.encode(fields[2].trim());
+        this.regionCode = SalesDictionaries.REGIONS.encode(fields[3].trim());
         this.salesAmount = Double.parseDouble(fields[4].trim());
         this.quantitySold = Integer.parseInt(fields[5].trim());
-        this.productCategory = fields[6].trim();
+        this.categoryCode = SalesDictionaries.CATEGORIES.encode(fields[6].trim());
         this.unitCost = Double.parseDouble(fields[7].trim());
         this.unitPrice = Double.parseDouble(fields[8].trim());
-        this.customerType = fields[9].trim();
+        this.customerTypeCode = SalesDictionaries.CUSTOMER_TYPES.encode(fields[9].trim());
         this.discount = Double.parseDouble(fields[10].trim());
-        this.paymentMethod = fields[11].trim();
-        this.salesChannel = fields[12].trim();
+        this.paymentMethodCode = SalesDictionaries.PAYMENT_METHODS.encode(fields[11].trim());
+        this.salesChannelCode = SalesDictionaries.SALES_CHANNELS.encode(fields[12].trim());
+        this.saleEpochDay = Math.toIntExact(saleDate.toEpochDay());
+        this.yearMonth = TimeBucket.MONTH.key(saleEpochDay);
+        this.yearQuarter = TimeBucket.QUARTER.key(saleEpochDay);
+        this.isoWeek = TimeBucket.WEEK.key(saleEpochDay);
+    }
+
+    /**
+     * Constructs a SalesRecord holding a copy of another row's values, e.g.
+     * to keep a parser's reused row beyond the callback.
+     *
+     * @param row the row to copy
+     */
+    public SalesRecord(SalesRow row) {
+        this.productId = row.getProductId();
+        this.saleDate = row.getSaleDate();
+        this.salesRepCode = row.getSalesRepCode();
+        this.regionCode = row.getRegionCode();
+        this.salesAmount = row.getSalesAmount();
+        this.quantitySold = row.getQuantitySold();
+        this.categoryCode = row.getCategoryCode();
+        this.unitCost = row.getUnitCost();
+        this.unitPrice = row.getUnitPrice();
+        this.customerTypeCode = row.getCustomerTypeCode();
+        this.discount = row.getDiscount();
+        this.paymentMethodCode = row.getPaymentMethodCode();
+        this.salesChannelCode = row.getSalesChannelCode();
+        this.saleEpochDay = row.getSaleEpochDay();
+        this.yearMonth = row.getYearMonth();
+        this.yearQuarter = row.getYearQuarter();
+        this.isoWeek = row.getIsoWeek();
     }
 
     // Getters - Essential for method references in streams
     public String getProductId() { return productId; }
     public LocalDate getSaleDate() { return saleDate; }
-    public String getSalesRep() { return salesRep; }
-    public String getRegion() { return region; }
+    public String getSalesRep() { return SalesDictionaries.SALES_REPS.decode(salesRepCode); }
+    public String getRegion() { return SalesDictionaries.REGIONS.decode(regionCode); }
     public double getSalesAmount() { return salesAmount; }
     public int getQuantitySold() { return quantitySold; }
-    public String getProductCategory() { return productCategory; }
+    public String getProductCategory() { return SalesDictionaries.CATEGORIES.decode(categoryCode); }
     public double getUnitCost() { return unitCost; }
     public double getUnitPrice() { return unitPrice; }
-    public String getCustomerType() { return customerType; }
+    public String getCustomerType() { return SalesDictionaries.CUSTOMER_TYPES.decode(customerTypeCode); }
     public double getDiscount() { return discount; }
-    public String getPaymentMethod() { return paymentMethod; }
-    public String getSalesChannel() { return salesChannel; }
-
-    /**
-     * Calculates profit for this transaction.
-     *
-     * @return profit amount in dollars
-     */
-    public double getProfit() {
-        return salesAmount - (unitCost * quantitySold);
-    }
-
-    /**
-     * Calculates profit margin percentage.
-     *
-     * @return profit margin as percentage (0-100)
-     */
-    public double getProfitMargin() {
-        return salesAmount > 0 ? (getProfit() / salesAmount) * 100 : 0;
-    }
+    public String getPaymentMethod() { return SalesDictionaries.PAYMENT_METHODS.decode(paymentMethodCode); }
+    public String getSalesChannel() { return SalesDictionaries.SALES_CHANNELS.decode(salesChannelCode); }
 
-    /**
-     * Determines the quarter of the year for this sale.
-     *
-     * @return Quarter string (Q1, Q2, Q3, or Q4)
-     */
-    public String getQuarter() {
-        int month = saleDate.getMonthValue();
-        return "Q" + ((month - 1) / 3 + 1);
-    }
+    // Dictionary codes - For array-indexed group-bys
+    @Override public int getSalesRepCode() { return salesRepCode; }
+    @Override public int getRegionCode() { return regionCode; }
+    @Override public int getCategoryCode() { return categoryCode; }
+    @Override public int getCustomerTypeCode() { return customerTypeCode; }
+    @Override public int getPaymentMethodCode() { return paymentMethodCode; }
+    @Override public int getSalesChannelCode() { return salesChannelCode; }
 
-    /**
-     * Gets the month in YYYY-MM format for time-series analysis.
-     *
-     * @return formatted month string
-     */
-    public String getMonth() {
-        return saleDate.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-    }
+    // Time keys
+    @Override public int getSaleEpochDay() { return saleEpochDay; }
+    @Override public int getYearMonth() { return yearMonth; }
+    @Override public int getYearQuarter() { return yearQuarter; }
+    @Override public int getIsoWeek() { return isoWeek; }
 }
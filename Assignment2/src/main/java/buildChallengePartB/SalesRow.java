@@ -0,0 +1,97 @@
+package buildChallengePartB;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of one sales transaction, independent of how it is stored.
+ *
+ * Implemented both by the row object {@link SalesRecord} and by the row views
+ * of the columnar {@link SalesColumns}, so every analysis can run on either
+ * representation. Derived values (profit, margin, quarter, month) are
+ * computed from the stored fields here once for all implementations. Time
+ * keys are compact ints (see {@link TimeBucket}); month and quarter labels
+ * are formatted from them without date objects.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+interface SalesRow {
+    String getProductId();
+    LocalDate getSaleDate();
+    String getSalesRep();
+    String getRegion();
+    double getSalesAmount();
+    int getQuantitySold();
+    String getProductCategory();
+    double getUnitCost();
+    double getUnitPrice();
+    String getCustomerType();
+    double getDiscount();
+    String getPaymentMethod();
+    String getSalesChannel();
+
+    // Codes in the shared SalesDictionaries; implementations that store codes override these
+    default int getSalesRepCode() { return SalesDictionaries.SALES_REPS.encode(getSalesRep()); }
+    default int getRegionCode() { return SalesDictionaries.REGIONS.encode(getRegion()); }
+    default int getCategoryCode() { return SalesDictionaries.CATEGORIES.encode(getProductCategory()); }
+    default int getCustomerTypeCode() { return SalesDictionaries.CUSTOMER_TYPES.encode(getCustomerType()); }
+    default int getPaymentMethodCode() { return SalesDictionaries.PAYMENT_METHODS.encode(getPaymentMethod()); }
+    default int getSalesChannelCode() { return SalesDictionaries.SALES_CHANNELS.encode(getSalesChannel()); }
+
+    /** Returns the sale date as days since 1970-01-01; overridden where dates are stored that way. */
+    default int getSaleEpochDay() {
+        return Math.toIntExact(getSaleDate().toEpochDay());
+    }
+
+    // Time keys, see TimeBucket; implementations that precompute them override these
+    default int getYearMonth() { return TimeBucket.MONTH.key(getSaleEpochDay()); }
+    default int getYearQuarter() { return TimeBucket.QUARTER.key(getSaleEpochDay()); }
+    default int getIsoWeek() { return TimeBucket.WEEK.key(getSaleEpochDay()); }
+
+    /**
+     * Calculates profit for this transaction.
+     *
+     * @return profit amount in dollars
+     */
+    default double getProfit() {
+        return getSalesAmount() - (getUnitCost() * getQuantitySold());
+    }
+
+    /**
+     * Calculates profit margin percentage.
+     *
+     * @return profit margin as percentage (0-100)
+     */
+    default double getProfitMargin() {
+        double salesAmount = getSalesAmount();
+        return salesAmount > 0 ? (getProfit() / salesAmount) * 100 : 0;
+    }
+
+    /**
+     * Determines the quarter of the year for this sale as 0-3.
+     *
+     * @return quarter index (0 for Q1)
+     */
+    default int getQuarterIndex() {
+        return Math.floorMod(getYearQuarter(), 4);
+    }
+
+    /**
+     * Determines the quarter of the year for this sale.
+     *
+     * @return Quarter string (Q1, Q2, Q3, or Q4)
+     */
+    default String getQuarter() {
+        return TimeBucket.QUARTERS.get(getQuarterIndex());
+    }
+
+    /**
+     * Gets the month in YYYY-MM format for time-series analysis.
+     *
+     * @return formatted month string
+     */
+    default String getMonth() {
+        return TimeBucket.MONTH.label(getYearMonth());
+    }
+}
@@ -0,0 +1,362 @@
+package buildChallengePartB;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary columnar snapshot of a loaded dataset, so later runs can skip
+ * parsing the CSV.
+ *
+ * File layout (little-endian):
+ * <ol>
+ *   <li>header: magic, format version, row count, size and modification
+ *       time of the source CSV, and the offset of the column blocks;</li>
+ *   <li>dictionaries: the product id dictionary and the shared
+ *       low-cardinality dictionaries (see {@link SalesDictionaries}), each as
+ *       a count followed by length-prefixed UTF-8 values in code order;</li>
+ *   <li>column blocks: the nine int columns and then the four double
+ *       columns of {@link SalesColumns}, each starting at an 8-byte
+ *       boundary;</li>
+ *   <li>trailer: CRC-32C of everything before it.</li>
+ * </ol>
+ *
+ * Reading maps the file and bulk-copies each column block into its array,
+ * which runs at memory-copy speed instead of parsing speed. A snapshot is
+ * only used if the source CSV still has the recorded size and modification
+ * time; a snapshot of another format version is treated the same way.
+ * Corrupt or truncated snapshots fail the checksum and are rejected.
+ *
+ * Dictionary codes of the shared dictionaries depend on the order in which
+ * a process first saw each value, so codes are remapped on read when they
+ * differ from those in the file.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class SalesSnapshot {
+    /** Format version; snapshots of other versions are rebuilt */
+    static final int VERSION = 1;
+
+    private static final long MAGIC = 0x50414E53454C4153L; // "SALESNAP"
+    private static final int HEADER_BYTES = 40;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    /** Int columns holding codes of the shared dictionaries, in dictionary order */
+    private static final int[] SHARED_CODE_COLUMNS = {2, 3, 5, 6, 7, 8};
+    private static final List<StringDictionary> SHARED_DICTIONARIES = List.of(
+            SalesDictionaries.SALES_REPS, SalesDictionaries.REGIONS, SalesDictionaries.CATEGORIES,
+            SalesDictionaries.CUSTOMER_TYPES, SalesDictionaries.PAYMENT_METHODS, SalesDictionaries.SALES_CHANNELS);
+
+    /** Identity of the source CSV a snapshot was made from */
+    record SourceStamp(long size, long lastModifiedMillis) {
+        /** Reads the stamp of a file. */
+        static SourceStamp of(Path source) throws IOException {
+            return new SourceStamp(Files.size(source), Files.getLastModifiedTime(source).toMillis());
+        }
+    }
+
+    private SalesSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot. The file is written under a temporary name and then
+     * moved into place, so readers never see a partial snapshot.
+     *
+     * @param columns the dataset
+     * @param source stamp of the CSV the dataset was loaded from
+     * @param snapshot the snapshot file
+     * @throws IOException if writing fails
+     */
+    static void write(SalesColumns columns, SourceStamp source, Path snapshot) throws IOException {
+        int rows = columns.size();
+        ByteBuffer dictionaries = encodeDictionaries(columns.productIdDictionary());
+        long columnsOffset = align(HEADER_BYTES + dictionaries.remaining());
+
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BlockWriter out = new BlockWriter(channel);
+            out.putLong(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(rows);
+            out.putLong(source.size());
+            out.putLong(source.lastModifiedMillis());
+            out.putLong(columnsOffset);
+            out.put(dictionaries);
+            out.padTo(columnsOffset);
+            for (int[] column : columns.intColumns()) {
+                out.putInts(column, rows);
+                out.padTo(align(out.position()));
+            }
+            for (double[] column : columns.doubleColumns()) {
+                out.putDoubles(column, rows);
+            }
+            out.finish();
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot made from the given source.
+     *
+     * @param snapshot the snapshot file
+     * @param source current stamp of the source CSV
+     * @return the dataset, or null if there is no snapshot or it was made
+     *         from a different version of the source or in another format
+     * @throws IOException if the snapshot is corrupt or cannot be read
+     */
+    static SalesColumns read(Path snapshot, SourceStamp source) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Truncated sales snapshot: " + snapshot);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getLong() != MAGIC) {
+                throw new IOException("Not a sales snapshot: " + snapshot);
+            }
+            if (header.getInt() != VERSION) {
+                return null;
+            }
+            int rows = header.getInt();
+            SourceStamp recorded = new SourceStamp(header.getLong(), header.getLong());
+            if (!recorded.equals(source)) {
+                return null;
+            }
+            long columnsOffset = header.getLong();
+            long expectedSize = columnsOffset + 9 * align(4L * rows) + 4 * 8L * rows + TRAILER_BYTES;
+            if (rows < 0 || columnsOffset < HEADER_BYTES || columnsOffset > Integer.MAX_VALUE
+                    || fileSize != expectedSize) {
+                throw new IOException("Truncated sales snapshot: " + snapshot);
+            }
+            verifyChecksum(channel, fileSize, snapshot);
+
+            ByteBuffer dictionaries = map(channel, HEADER_BYTES, columnsOffset - HEADER_BYTES);
+            StringDictionary productIds = new StringDictionary();
+            for (String value : decodeDictionary(dictionaries)) {
+                productIds.encode(value);
+            }
+            int[][] mappings = new int[SHARED_DICTIONARIES.size()][];
+            for (int d = 0; d < mappings.length; d++) {
+                List<String> values = decodeDictionary(dictionaries);
+                mappings[d] = new int[values.size()];
+                for (int code = 0; code < values.size(); code++) {
+                    mappings[d][code] = SHARED_DICTIONARIES.get(d).encode(values.get(code));
+                }
+            }
+
+            long offset = columnsOffset;
+            int[][] ints = new int[9][];
+            for (int c = 0; c < ints.length; c++) {
+                ints[c] = readInts(channel, offset, rows);
+                offset += align(4L * rows);
+            }
+            double[][] doubles = new double[4][];
+            for (int c = 0; c < doubles.length; c++) {
+                doubles[c] = readDoubles(channel, offset, rows);
+                offset += 8L * rows;
+            }
+            for (int d = 0; d < mappings.length; d++) {
+                remap(ints[SHARED_CODE_COLUMNS[d]], mappings[d]);
+            }
+            return new SalesColumns(productIds, rows, ints, doubles);
+        }
+    }
+
+    private static ByteBuffer encodeDictionaries(StringDictionary productIds) {
+        List<StringDictionary> all = new ArrayList<>();
+        all.add(productIds);
+        all.addAll(SHARED_DICTIONARIES);
+        List<byte[]> encoded = new ArrayList<>();
+        int bytes = 0;
+        for (StringDictionary dictionary : all) {
+            bytes += Integer.BYTES;
+            for (int code = 0; code < dictionary.size(); code++) {
+                byte[] value = dictionary.decode(code).getBytes(StandardCharsets.UTF_8);
+                encoded.add(value);
+                bytes += Integer.BYTES + value.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int next = 0;
+        for (StringDictionary dictionary : all) {
+            int size = dictionary.size();
+            buffer.putInt(size);
+            for (int code = 0; code < size; code++) {
+                byte[] value = encoded.get(next++);
+                buffer.putInt(value.length).put(value);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<String> decodeDictionary(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        String[] values = new String[size];
+        for (int code = 0; code < size; code++) {
+            byte[] value = new byte[buffer.getInt()];
+            buffer.get(value);
+            values[code] = new String(value, StandardCharsets.UTF_8);
+        }
+        return List.of(values);
+    }
+
+    private static void remap(int[] codes, int[] mapping) {
+        boolean identity = true;
+        for (int code = 0; code < mapping.length; code++) {
+            identity &= mapping[code] == code;
+        }
+        if (!identity) {
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = mapping[codes[i]];
+            }
+        }
+    }
+
+    private static void verifyChecksum(FileChannel channel, long fileSize, Path snapshot) throws IOException {
+        CRC32C crc = new CRC32C();
+        long end = fileSize - TRAILER_BYTES;
+        for (long pos = 0; pos < end; pos += WINDOW_BYTES) {
+            crc.update(map(channel, pos, Math.min(WINDOW_BYTES, end - pos)));
+        }
+        if (map(channel, end, TRAILER_BYTES).getInt() != (int) crc.getValue()) {
+            throw new IOException("Checksum mismatch in sales snapshot: " + snapshot);
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, long offset, int count) throws IOException {
+        int[] values = new int[count];
+        int perWindow = WINDOW_BYTES / Integer.BYTES;
+        for (int i = 0; i < count; i += perWindow) {
+            int n = Math.min(perWindow, count - i);
+            map(channel, offset + (long) i * Integer.BYTES, (long) n * Integer.BYTES).asIntBuffer().get(values, i, n);
+        }
+        return values;
+    }
+
+    private static double[] readDoubles(FileChannel channel, long offset, int count) throws IOException {
+        double[] values = new double[count];
+        int perWindow = WINDOW_BYTES / Double.BYTES;
+        for (int i = 0; i < count; i += perWindow) {
+            int n = Math.min(perWindow, count - i);
+            map(channel, offset + (long) i * Double.BYTES, (long) n * Double.BYTES).asDoubleBuffer().get(values, i, n);
+        }
+        return values;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /** Buffered little-endian writer that checksums everything it writes */
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long flushed;
+
+        private BlockWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /** Returns the number of bytes written so far. */
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void put(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                ensure(1);
+                int n = Math.min(bytes.remaining(), buffer.remaining());
+                buffer.put(bytes.slice(bytes.position(), n));
+                bytes.position(bytes.position() + n);
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            while (position() < offset) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        void putInts(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; ) {
+                ensure(Integer.BYTES);
+                int n = Math.min(count - i, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, i, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                i += n;
+            }
+        }
+
+        void putDoubles(double[] values, int count) throws IOException {
+            for (int i = 0; i < count; ) {
+                ensure(Double.BYTES);
+                int n = Math.min(count - i, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().put(values, i, n);
+                buffer.position(buffer.position() + n * Double.BYTES);
+                i += n;
+            }
+        }
+
+        /** Flushes the buffer and appends the checksum trailer. */
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            flushed += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package buildChallengePartB;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding for categorical string columns.
+ *
+ * Each distinct value is stored once and assigned a dense int code in order
+ * of first appearance, so a column of repeated values (regions, reps,
+ * payment methods) becomes an int[] of codes plus a handful of strings.
+ * Codes are small and dense, so group-bys can index arrays with them instead
+ * of hashing strings.
+ *
+ * Thread Safety: Dictionaries can be shared (see {@link SalesDictionaries})
+ * and used from several loading threads. Lookups of known values and
+ * decoding are lock-free; only assigning a new code synchronizes.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class StringDictionary {
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    /** Values by code; replaced (never mutated in place below size) when growing */
+    private volatile String[] values = new String[8];
+    private volatile int size;
+
+    /**
+     * Returns the code of value, assigning the next free code if it is new.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : assign(value);
+    }
+
+    private synchronized int assign(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code; // Assigned by another thread meanwhile
+        }
+        int next = size;
+        String[] current = values;
+        if (next == current.length) {
+            current = Arrays.copyOf(current, next * 2);
+        }
+        current[next] = value;
+        values = current;
+        size = next + 1;
+        codes.put(value, next); // Published last, so any reader of the code can decode it
+        return next;
+    }
+
+    /**
+     * Returns the code of value without assigning one.
+     *
+     * @return the code, or -1 if the value has never been encoded
+     */
+    public int find(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * Returns the value for a code.
+     *
+     * @throws IndexOutOfBoundsException if the code was never assigned
+     */
+    public String decode(int code) {
+        Objects.checkIndex(code, size); // Read size first: values is published before it
+        return values[code];
+    }
+
+    /** Returns the number of distinct values. */
+    public int size() {
+        return size;
+    }
+
+    /** Returns the approximate heap bytes held by the distinct values and their index. */
+    long estimatedBytes() {
+        long bytes = 0;
+        for (int code = 0; code < size; code++) {
+            // String object + byte[] (Latin-1) + map node + boxed code + array slot
+            bytes += 24 + 16 + values[code].length() + 32 + 16 + 4;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,180 @@
+package buildChallengePartB;
+
+import java.time.LocalDate;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Granularity of a time roll-up, with compact int keys for its buckets.
+ *
+ * Approach: Every bucket of a sale is derived from its epoch day with plain
+ * integer arithmetic (the civil-from-days conversion used by
+ * {@link LocalDate#ofEpochDay}, without creating a LocalDate). Keys sort in
+ * time order and stay readable: MONTH 202303 is March 2023, WEEK 202309 is
+ * ISO week 9 of 2023, QUARTER 8092 is 2023 * 4 + 0, i.e. 2023-Q1. Grouping
+ * therefore works on ints, and labels such as "2023-03" or "2023-W09" are
+ * only formatted for the buckets that are printed.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+enum TimeBucket {
+    /** Key: epoch day; label: 2023-03-15 */
+    DAY,
+    /** Key: ISO week-based year * 100 + week; label: 2023-W11 */
+    WEEK,
+    /** Key: year * 100 + month; label: 2023-03 */
+    MONTH,
+    /** Key: year * 4 + quarter index (0 for Q1); label: 2023-Q1 */
+    QUARTER,
+    /** Key: year; label: 2023 */
+    YEAR;
+
+    /** Quarter labels by quarter index */
+    static final List<String> QUARTERS = List.of("Q1", "Q2", "Q3", "Q4");
+
+    /** Days from 0000-03-01 to 1970-01-01, see {@link #yearMonthDay(int)} */
+    private static final int DAYS_0000_TO_1970 = 719_468;
+    private static final int DAYS_PER_400_YEARS = 146_097;
+
+    /**
+     * Returns the key of the bucket containing a day.
+     *
+     * @param epochDay days since 1970-01-01
+     */
+    int key(int epochDay) {
+        if (this == DAY) {
+            return epochDay;
+        }
+        if (this == WEEK) {
+            // The ISO week belongs to the year of its Thursday
+            int thursday = epochDay - Math.floorMod(epochDay + 3, 7) + 3;
+            int year = yearMonthDay(thursday) / 10_000;
+            int week = (thursday - epochDay(year, 1, 1)) / 7 + 1;
+            return year * 100 + week;
+        }
+        int date = yearMonthDay(epochDay);
+        int year = date / 10_000;
+        int month = date / 100 % 100;
+        return switch (this) {
+            case MONTH -> year * 100 + month;
+            case QUARTER -> year * 4 + (month - 1) / 3;
+            case YEAR -> year;
+            default -> throw new AssertionError(this);
+        };
+    }
+
+    /**
+     * Formats a key of this granularity for output.
+     */
+    String label(int key) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(key).toString();
+            case WEEK -> key / 100 + "-W" + twoDigits(key % 100);
+            case MONTH -> key / 100 + "-" + twoDigits(key % 100);
+            case QUARTER -> Math.floorDiv(key, 4) + "-" + QUARTERS.get(Math.floorMod(key, 4));
+            case YEAR -> Integer.toString(key);
+        };
+    }
+
+    /**
+     * Rolls up the sales amounts of rows sold between two days (both
+     * inclusive) into buckets of this granularity.
+     *
+     * Rows are first accumulated per day into an array indexed by day, so
+     * the bucket key is computed once per distinct day rather than per row.
+     * Days and buckets accumulate into {@link DoubleSummaryStatistics}, whose
+     * compensated sums keep rounding errors from building up, as in the
+     * other reports.
+     *
+     * @return statistics of the sales amounts by bucket key, in time order
+     */
+    SortedMap<Integer, DoubleSummaryStatistics> rollup(List<? extends SalesRow> rows, LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        int size = rows.size();
+        int[] days;
+        double[] amounts;
+        if (rows instanceof SalesColumns columns) {
+            // Column order: see SalesColumns.intColumns() and doubleColumns()
+            days = columns.intColumns()[1];
+            amounts = columns.doubleColumns()[0];
+        } else {
+            days = new int[size];
+            amounts = new double[size];
+            for (int i = 0; i < size; i++) {
+                SalesRow row = rows.get(i);
+                days[i] = row.getSaleEpochDay();
+                amounts[i] = row.getSalesAmount();
+            }
+        }
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            if (day >= first && day <= last) {
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            }
+        }
+        SortedMap<Integer, DoubleSummaryStatistics> buckets = new TreeMap<>();
+        if (minDay > maxDay) {
+            return buckets;
+        }
+
+        DoubleSummaryStatistics[] perDay = new DoubleSummaryStatistics[maxDay - minDay + 1];
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            if (day < minDay || day > maxDay) {
+                continue;
+            }
+            int slot = day - minDay;
+            if (perDay[slot] == null) {
+                perDay[slot] = new DoubleSummaryStatistics();
+            }
+            perDay[slot].accept(amounts[i]);
+        }
+        for (int slot = 0; slot < perDay.length; slot++) {
+            if (perDay[slot] != null) {
+                buckets.computeIfAbsent(key(minDay + slot), k -> new DoubleSummaryStatistics())
+                        .combine(perDay[slot]);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Converts an epoch day to year * 10000 + month * 100 + day, the
+     * arithmetic of {@link LocalDate#ofEpochDay} without the object.
+     */
+    static int yearMonthDay(int epochDay) {
+        // Years start on March 1 here, so the leap day is the last day of a year
+        long zeroDay = (long) epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(zeroDay, DAYS_PER_400_YEARS);
+        int dayOfEra = (int) (zeroDay - era * DAYS_PER_400_YEARS);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return year * 10_000 + month * 100 + day;
+    }
+
+    /** Inverse of {@link #yearMonthDay(int)} for a year, month and day. */
+    private static int epochDay(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(shiftedYear, 400);
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+}
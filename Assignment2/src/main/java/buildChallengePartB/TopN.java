@@ -0,0 +1,130 @@
+package buildChallengePartB;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * The first n elements of a sequence in a given order, kept in a bounded heap.
+ *
+ * Approach: Instead of sorting all elements and then taking the first n
+ * (O(m log m) time, all m elements in memory), a heap of at most n elements
+ * with the worst kept element on top is maintained. A new element only
+ * enters if it beats that one, so the cost is O(m log n) time and O(n)
+ * memory, which matters for high-cardinality groups such as products or
+ * for millions of rows above a threshold.
+ *
+ * Elements that compare equal keep their encounter order, as a stable sort
+ * would: the earlier one wins a tie. Partial results (e.g. of a parallel
+ * stream) are merged with {@link #combine(TopN)}, which treats the other's
+ * elements as coming after this one's.
+ *
+ * Thread Safety: Not thread-safe; use one instance per thread and combine.
+ *
+ * @param <T> the element type
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+class TopN<T> {
+    /** An element and its position in encounter order */
+    private record Entry<T>(T element, long sequence) {
+    }
+
+    private final int limit;
+    private final Comparator<Entry<T>> order;
+    /** Worst kept entry first */
+    private final PriorityQueue<Entry<T>> heap;
+    private long offered;
+
+    /**
+     * @param limit the number of elements to keep
+     * @param order the order in which elements are wanted, best first
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public TopN(int limit, Comparator<? super T> order) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        Comparator<Entry<T>> byElement = (a, b) -> order.compare(a.element(), b.element());
+        this.order = byElement.thenComparingLong(Entry::sequence);
+        // Bounded by the limit, but never pre-allocated for it: the limit may be huge
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, 64)), this.order.reversed());
+    }
+
+    /**
+     * Returns a collector of the first limit elements of a stream in the
+     * given order, best first. Works with parallel streams.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int limit, Comparator<? super T> order) {
+        return Collector.of(
+                () -> new TopN<T>(limit, order),
+                TopN::offer,
+                TopN::combine,
+                TopN::toList
+        );
+    }
+
+    /**
+     * Offers the next element in encounter order.
+     *
+     * @return whether the element is kept (for now)
+     */
+    public boolean offer(T element) {
+        return offer(new Entry<>(element, offered++));
+    }
+
+    /**
+     * Returns whether an element offered next would be kept, without
+     * offering it; lets callers skip building elements that would be dropped.
+     */
+    public boolean wouldKeep(T element) {
+        if (heap.size() < limit) {
+            return true;
+        }
+        return limit > 0 && order.compare(new Entry<>(element, offered), heap.peek()) < 0;
+    }
+
+    private boolean offer(Entry<T> entry) {
+        if (heap.size() < limit) {
+            heap.add(entry);
+            return true;
+        }
+        if (limit == 0 || order.compare(entry, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(entry);
+        return true;
+    }
+
+    /**
+     * Merges the elements of another instance, whose elements follow this
+     * one's in encounter order.
+     *
+     * @return this, for use as a collector combiner
+     */
+    public TopN<T> combine(TopN<T> other) {
+        long shift = offered;
+        for (Entry<T> entry : other.heap) {
+            offer(new Entry<>(entry.element(), shift + entry.sequence()));
+        }
+        offered += other.offered;
+        return this;
+    }
+
+    /** Returns the number of elements offered so far. */
+    public long offered() {
+        return offered;
+    }
+
+    /** Returns the kept elements, best first. */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(order);
+        return entries.stream().map(Entry::element).toList();
+    }
+}
@@ -1,12 +1,21 @@
 package buildChallengePartB;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
 import java.util.*;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Comprehensive unit test suite for Sales Data Analysis Application.
@@ -634,4 +643,1121 @@ public class SalesDataAnalysisTest {
         SalesRecord record = new SalesRecord(fields);
         assertEquals("2023-01", record.getMonth());
     }
+
+    // ==================== SINGLE-PASS AGGREGATION TESTS ====================
+
+    /**
+     * Test Case 26: Single-pass aggregates match the expected group totals.
+     */
+    @Test
+    @Order(26)
+    @DisplayName("Test Single-Pass Aggregates")
+    public void testSinglePassAggregates() {
+        SalesAggregates aggregates = analyzer.aggregate(8000);
+
+        assertAll("Aggregates",
+                () -> assertEquals(10, aggregates.getCount()),
+                () -> assertEquals(60200.00, aggregates.getSalesSummary().getSum(), 0.01),
+                () -> assertEquals(18500.00, aggregates.getSalesByRegion().get("North").getSum(), 0.01),
+                () -> assertEquals(25200.00, aggregates.getSalesByRep().get("Alice").getSum(), 0.01),
+                () -> assertEquals(5, aggregates.getSalesByCategory().get("Electronics").getCount()),
+                () -> assertEquals("2023-01", aggregates.getSalesByMonth().keySet().iterator().next()),
+                () -> assertEquals(14000.00, aggregates.getSalesByRegionAndQuarter()
+                        .get("North").get("Q1").getSum(), 0.01),
+                () -> assertEquals(3000.00, aggregates.getProfitByProduct().get("1001").getSum(), 0.01),
+                () -> assertEquals(4L, aggregates.getPaymentCounts().get("Credit Card")),
+                () -> assertEquals(5, aggregates.getCustomerTypes().get("New").sales.getCount()),
+                () -> assertEquals(5, aggregates.getSalesChannels().get("Online").sales.getCount()),
+                () -> assertEquals(2, aggregates.getDiscountBuckets().get("No Discount").sales.getCount()),
+                () -> assertEquals(List.of("1010", "1005", "1008"), aggregates.getHighValueTransactions()
+                        .stream().map(SalesRow::getProductId).toList())
+        );
+    }
+
+    /**
+     * Test Case 27: Combining partial aggregates equals aggregating all records.
+     */
+    @Test
+    @Order(27)
+    @DisplayName("Test Aggregates Combine")
+    public void testAggregatesCombine() {
+        List<SalesRecord> records = createTestSalesRecords();
+        SalesAggregates whole = records.stream().collect(SalesAggregates.collector(4000));
+        SalesAggregates first = records.subList(0, 4).stream().collect(SalesAggregates.collector(4000));
+        SalesAggregates second = records.subList(4, 10).stream().collect(SalesAggregates.collector(4000));
+        SalesAggregates combined = first.combine(second);
+
+        assertEquals(whole.getCount(), combined.getCount());
+        assertEquals(whole.getProfitSummary().getSum(), combined.getProfitSummary().getSum(), 0.001);
+        whole.getSalesByRegion().forEach((region, stats) ->
+                assertEquals(stats.getSum(), combined.getSalesByRegion().get(region).getSum(), 0.001));
+        assertEquals(whole.getPaymentCounts(), combined.getPaymentCounts());
+        assertEquals(whole.getHighValueTransactions(), combined.getHighValueTransactions());
+        assertEquals(8, combined.getHighValueTransactions().size(), "Eight records exceed the threshold");
+    }
+
+    /**
+     * Test Case 28: Running all analyses prints exactly what the individual analyses print.
+     */
+    @Test
+    @Order(28)
+    @DisplayName("Test Run All Analyses Output Matches Individual Analyses")
+    public void testRunAllAnalysesMatchesIndividualOutput() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        analyzer.runAllAnalyses();
+        String fused = outContent.toString();
+        outContent.reset();
+
+        analyzer.displaySummary();
+        analyzer.analyzeSalesByRegion();
+        analyzer.analyzeTopSalesReps(5);
+        analyzer.analyzeCategoryPerformance();
+        analyzer.analyzeMonthlyTrend();
+        analyzer.analyzeCustomerTypes();
+        analyzer.analyzeProfitableProducts(5);
+        analyzer.analyzePaymentMethods();
+        analyzer.analyzeQuarterlyPerformance();
+        analyzer.analyzeSalesChannels();
+        analyzer.analyzeHighValueTransactions(9000);
+        analyzer.analyzeDiscountImpact();
+
+        System.setOut(originalOut);
+        assertEquals(outContent.toString(), fused);
+    }
+
+    // ==================== COLUMNAR STORE TESTS ====================
+
+    /**
+     * Test Case 29: Columnar rows read back exactly what was added.
+     */
+    @Test
+    @Order(29)
+    @DisplayName("Test SalesColumns Round Trip")
+    public void testSalesColumnsRoundTrip() {
+        List<SalesRecord> records = createTestSalesRecords();
+        SalesColumns columns = new SalesColumns();
+        columns.addAll(records);
+        columns.trimToSize();
+
+        assertEquals(records.size(), columns.size());
+        for (int i = 0; i < records.size(); i++) {
+            SalesRecord expected = records.get(i);
+            SalesRow actual = columns.get(i);
+            assertAll("Row " + i,
+                    () -> assertEquals(expected.getProductId(), actual.getProductId()),
+                    () -> assertEquals(expected.getSaleDate(), actual.getSaleDate()),
+                    () -> assertEquals(expected.getSalesRep(), actual.getSalesRep()),
+                    () -> assertEquals(expected.getRegion(), actual.getRegion()),
+                    () -> assertEquals(expected.getSalesAmount(), actual.getSalesAmount()),
+                    () -> assertEquals(expected.getQuantitySold(), actual.getQuantitySold()),
+                    () -> assertEquals(expected.getProductCategory(), actual.getProductCategory()),
+                    () -> assertEquals(expected.getUnitCost(), actual.getUnitCost()),
+                    () -> assertEquals(expected.getUnitPrice(), actual.getUnitPrice()),
+                    () -> assertEquals(expected.getCustomerType(), actual.getCustomerType()),
+                    () -> assertEquals(expected.getDiscount(), actual.getDiscount()),
+                    () -> assertEquals(expected.getPaymentMethod(), actual.getPaymentMethod()),
+                    () -> assertEquals(expected.getSalesChannel(), actual.getSalesChannel()),
+                    () -> assertEquals(expected.getProfit(), actual.getProfit()),
+                    () -> assertEquals(expected.getMonth(), actual.getMonth())
+            );
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(records.size()));
+        assertThrows(UnsupportedOperationException.class, () -> columns.remove(0));
+        assertTrue(columns.estimatedBytes() < records.size() * 200L + 10_000, "Columns plus dictionaries stay compact");
+    }
+
+    /**
+     * Test Case 30: Analyses print the same report on columns as on row objects.
+     */
+    @Test
+    @Order(30)
+    @DisplayName("Test Analyses On Columnar Data")
+    public void testAnalysesOnColumnarData() throws Exception {
+        SalesDataAnalyzer columnarAnalyzer = new SalesDataAnalyzer();
+        SalesColumns columns = new SalesColumns();
+        columns.addAll(createTestSalesRecords());
+
+        Field salesDataField = SalesDataAnalyzer.class.getDeclaredField("salesData");
+        salesDataField.setAccessible(true);
+        salesDataField.set(columnarAnalyzer, columns);
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        analyzer.runAllAnalyses();
+        String fromRows = outContent.toString();
+        outContent.reset();
+        columnarAnalyzer.runAllAnalyses();
+
+        System.setOut(originalOut);
+        assertEquals(fromRows, outContent.toString());
+    }
+
+    /**
+     * Test Case 31: Loading the bundled CSV fills the columnar store.
+     */
+    @Test
+    @Order(31)
+    @DisplayName("Test Load Data Into Columns")
+    public void testLoadDataIntoColumns() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+
+        assertEquals(1000, loaded.loadDataFromFile("/sales_data.csv"));
+        assertEquals(1000, loaded.getRecordCount());
+        assertEquals(1000, loaded.aggregate(9000).getCount());
+    }
+
+    // ==================== DICTIONARY ENCODING TESTS ====================
+
+    /**
+     * Test Case 32: Low-cardinality fields share one dictionary value and code.
+     */
+    @Test
+    @Order(32)
+    @DisplayName("Test Shared Dictionary Codes")
+    public void testSharedDictionaryCodes() {
+        List<SalesRecord> records = createTestSalesRecords();
+        SalesRecord first = records.get(0);   // North, Credit Card, Online
+        SalesRecord fifth = records.get(4);   // North, Cash, Online
+
+        assertEquals(first.getRegionCode(), fifth.getRegionCode());
+        assertSame(first.getRegion(), fifth.getRegion(), "One shared String per distinct value");
+        assertNotEquals(first.getPaymentMethodCode(), fifth.getPaymentMethodCode());
+        assertEquals("North", SalesDictionaries.REGIONS.decode(first.getRegionCode()));
+
+        SalesColumns columns = new SalesColumns();
+        columns.addAll(records);
+        assertEquals(first.getSalesChannelCode(), columns.get(0).getSalesChannelCode(),
+                "Columns use the same codes as records");
+    }
+
+    /**
+     * Test Case 33: Dictionary assigns each value one code under concurrent use.
+     */
+    @Test
+    @Order(33)
+    @DisplayName("Test Dictionary Concurrent Encoding")
+    public void testDictionaryConcurrentEncoding() throws Exception {
+        StringDictionary dictionary = new StringDictionary();
+        int threadCount = 4;
+        int valueCount = 500;
+        int[][] codes = new int[threadCount][valueCount];
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int v = 0; v < valueCount; v++) {
+                    codes[thread][v] = dictionary.encode("Value-" + v);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(valueCount, dictionary.size());
+        for (int v = 0; v < valueCount; v++) {
+            for (int t = 1; t < threadCount; t++) {
+                assertEquals(codes[0][v], codes[t][v]);
+            }
+            assertEquals("Value-" + v, dictionary.decode(codes[0][v]));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.decode(valueCount));
+    }
+
+    // ==================== BYTE-LEVEL CSV PARSER TESTS ====================
+
+    /**
+     * Test Case 34: Parser handles quoting, whitespace and invalid lines.
+     */
+    @Test
+    @Order(34)
+    @DisplayName("Test CSV Parser Quoting And Errors")
+    public void testCsvParserQuotingAndErrors() {
+        String csv = "Product_ID,Sale_Date,Sales_Rep,Region,Sales_Amount,Quantity_Sold,Product_Category,"
+                + "Unit_Cost,Unit_Price,Customer_Type,Discount,Payment_Method,Sales_Channel\r\n"
+                + "1001,2023-01-15,Alice,North,5000.00,10,Electronics,200.00,500.00,New,0.10,Credit Card,Online\r\n"
+                + "\r\n"
+                + " 1002 , 2024-02-29 ,\"Bob, Jr.\",\"South\",-3000.5,5,\"Home \"\"Deluxe\"\"\",300,600,"
+                + "Returning,0,\"Bank\nTransfer\",Retail,extra\n"
+                + "1003,15-01-2023,Charlie,East,7500,15,Electronics,250,500,New,0.15,Cash,Online\n"
+                + "1004,2023-02-15,Alice,West,abc,7,Clothing,300,600,Returning,0.20,Cash,Retail\n"
+                + "1005,2023-03-05,Bob,North\n"
+                + "1006,2023-03-20,Eve,South,2500,5,Food,200,500,Returning,0.10,Cash,Retail";
+
+        SalesCsvParser parser = new SalesCsvParser(true);
+        SalesColumns rows = new SalesColumns();
+        long parsed = parser.parse(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)), rows::add);
+
+        assertEquals(3, parsed);
+        assertEquals(List.of("1001", "1002", "1006"), rows.stream().map(SalesRow::getProductId).toList());
+        SalesRow quoted = rows.get(1);
+        assertAll("Quoted row",
+                () -> assertEquals(LocalDate.of(2024, 2, 29), quoted.getSaleDate()),
+                () -> assertEquals("Bob, Jr.", quoted.getSalesRep()),
+                () -> assertEquals(-3000.5, quoted.getSalesAmount()),
+                () -> assertEquals("Home \"Deluxe\"", quoted.getProductCategory()),
+                () -> assertEquals("Bank\nTransfer", quoted.getPaymentMethod()),
+                () -> assertEquals("Retail", quoted.getSalesChannel())
+        );
+
+        List<SalesCsvParser.ParseError> errors = parser.getErrors();
+        assertEquals(List.of(6L, 7L, 8L), errors.stream().map(SalesCsvParser.ParseError::line).toList(),
+                "Line numbers count the header, the blank line and the quoted line break");
+        assertTrue(errors.get(0).message().contains("15-01-2023"));
+        assertTrue(errors.get(1).message().contains("abc"));
+        assertTrue(errors.get(2).message().contains("found 4"));
+    }
+
+    /**
+     * Test Case 35: Parser matches the String-based path on the bundled data.
+     */
+    @Test
+    @Order(35)
+    @DisplayName("Test CSV Parser Matches String Parsing")
+    public void testCsvParserMatchesStringParsing() throws Exception {
+        byte[] csv;
+        try (InputStream is = SalesDataAnalyzer.class.getResourceAsStream("/sales_data.csv")) {
+            csv = is.readAllBytes();
+        }
+
+        SalesColumns parsed = new SalesColumns();
+        new SalesCsvParser(true).parse(ByteBuffer.wrap(csv), parsed::add);
+        List<String> lines = new String(csv, StandardCharsets.UTF_8).lines().skip(1).toList();
+        assertEquals(lines.size(), parsed.size());
+        for (int i = 0; i < lines.size(); i++) {
+            SalesRecord expected = new SalesRecord(lines.get(i).split(","));
+            SalesRow actual = parsed.get(i);
+            assertEquals(expected.getSaleDate(), actual.getSaleDate());
+            assertEquals(expected.getSalesAmount(), actual.getSalesAmount(), "Bit-identical doubles");
+            assertEquals(expected.getUnitCost(), actual.getUnitCost());
+            assertEquals(expected.getDiscount(), actual.getDiscount());
+            assertEquals(expected.getQuantitySold(), actual.getQuantitySold());
+            assertEquals(expected.getRegionCode(), actual.getRegionCode());
+            assertEquals(expected.getProductId(), actual.getProductId());
+        }
+    }
+
+    // ==================== PARALLEL LOADING TESTS ====================
+
+    /**
+     * Test Case 36: Parallel loading gives the same rows and errors as one
+     * sequential parse, even when cuts fall inside quoted line breaks or
+     * follow a stray quote inside a value.
+     */
+    @Test
+    @Order(36)
+    @DisplayName("Test Parallel Loader Matches Sequential Parse")
+    public void testParallelLoaderMatchesSequential(@TempDir Path tempDir) throws Exception {
+        StringBuilder csv = new StringBuilder("Product_ID,Sale_Date,Sales_Rep,Region,Sales_Amount,"
+                + "Quantity_Sold,Product_Category,Unit_Cost,Unit_Price,Customer_Type,Discount,"
+                + "Payment_Method,Sales_Channel\n");
+        for (int i = 0; i < 500; i++) {
+            if (i % 37 == 0) {
+                csv.append(i).append(",2023-13-01,Alice,North,1,1,Food,1,2,New,0,Cash,Online\n");
+            } else if (i % 5 == 0) {
+                csv.append(i).append(",2023-01-15,\"Bob\n\"\"Jr\"\"\n,\",South,").append(i)
+                        .append(".25,3,Food,1,2,New,0,\"Bank\nTransfer\",Online\n");
+            } else {
+                // A quote inside a value is an ordinary character: 1"x is a product ID
+                csv.append(i == 1 ? "1\"x" : i).append(",2023-02-").append(10 + i % 18).append(",Alice,North,")
+                        .append(i * 1.5).append(",2,Clothing,10,20,Returning,0.1,Cash,Retail\n");
+            }
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        Path file = tempDir.resolve("sales.csv");
+        Files.write(file, bytes);
+
+        SalesCsvParser sequential = new SalesCsvParser(true);
+        SalesColumns expected = new SalesColumns();
+        sequential.parse(ByteBuffer.wrap(bytes), expected::add);
+        assertEquals(14, sequential.getErrors().size());
+        assertEquals("1\"x", expected.get(0).getProductId());
+
+        for (int threads = 1; threads <= 7; threads++) {
+            ParallelSalesLoader.Result result = new ParallelSalesLoader(threads, 64).load(file);
+            assertEquals(describe(expected), describe(result.columns()),
+                    "Rows in file order with " + threads + " threads");
+            assertEquals(sequential.getErrors(), result.errors(), "Errors with " + threads + " threads");
+            assertEquals(threads, result.rangeRows().size());
+            assertTrue(result.rangeRows().stream().allMatch(rows -> rows > 0),
+                    "Every range gets rows despite the stray quote: " + result.rangeRows());
+        }
+    }
+
+    /**
+     * Test Case 37: Loading the bundled data from a path produces the same
+     * report as loading it from the classpath.
+     */
+    @Test
+    @Order(37)
+    @DisplayName("Test Load From Path Matches Classpath Load")
+    public void testLoadFromPathMatchesClasspathLoad(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("sales_data.csv");
+        try (InputStream is = SalesDataAnalyzer.class.getResourceAsStream("/sales_data.csv")) {
+            Files.copy(is, file);
+        }
+        SalesDataAnalyzer fromClasspath = new SalesDataAnalyzer();
+        SalesDataAnalyzer fromPath = new SalesDataAnalyzer();
+        int loaded = fromClasspath.loadDataFromFile("/sales_data.csv");
+        assertEquals(loaded, fromPath.loadDataFromPath(file, 4));
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        fromClasspath.runAllAnalyses();
+        String expected = outContent.toString();
+        outContent.reset();
+        fromPath.runAllAnalyses();
+        System.setOut(originalOut);
+        assertEquals(expected, outContent.toString());
+    }
+
+    // ==================== STREAMING MODE TESTS ====================
+
+    /**
+     * Test Case 38: Streaming a plain or gzip-compressed file prints the same
+     * report as loading the data first.
+     */
+    @Test
+    @Order(38)
+    @DisplayName("Test Streaming Analyses Match Loaded Analyses")
+    public void testStreamingMatchesLoaded(@TempDir Path tempDir) throws Exception {
+        byte[] csv;
+        try (InputStream is = SalesDataAnalyzer.class.getResourceAsStream("/sales_data.csv")) {
+            csv = is.readAllBytes();
+        }
+        Path plain = tempDir.resolve("sales.csv");
+        Path gzip = tempDir.resolve("sales.csv.gz");
+        Files.write(plain, csv);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(csv);
+        }
+
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        int recordCount = loaded.loadDataFromFile("/sales_data.csv");
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        loaded.runAllAnalyses();
+        String expected = outContent.toString();
+        outContent.reset();
+        long plainCount = new SalesDataAnalyzer().runAllAnalysesStreaming(plain);
+        String streamed = outContent.toString();
+        outContent.reset();
+        long gzipCount = new SalesDataAnalyzer().runAllAnalysesStreaming(gzip);
+        String streamedGzip = outContent.toString();
+        System.setOut(originalOut);
+
+        assertEquals(recordCount, plainCount);
+        assertEquals(recordCount, gzipCount);
+        assertEquals(expected, streamed);
+        assertEquals(expected, streamedGzip);
+    }
+
+    /**
+     * Test Case 39: Stream parsing carries lines, including quoted line
+     * breaks, across block boundaries.
+     */
+    @Test
+    @Order(39)
+    @DisplayName("Test Stream Parsing Across Block Boundaries")
+    public void testStreamParsingAcrossBlocks() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; csv.length() < 3_000_000; i++) {
+            csv.append(i).append(",2023-04-0").append(1 + i % 9).append(",\"Rep\n").append(i % 7)
+                    .append("\",West,").append(i % 1000).append(".5,1,Food,1,2,New,0,Cash,Online\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        SalesColumns fromBuffer = new SalesColumns();
+        new SalesCsvParser(false).parse(ByteBuffer.wrap(bytes), fromBuffer::add);
+        SalesColumns fromStream = new SalesColumns();
+        SalesCsvParser parser = new SalesCsvParser(false);
+        long rows = parser.parse(new ByteArrayInputStream(bytes), fromStream::add);
+
+        assertEquals(fromBuffer.size(), rows);
+        assertEquals(List.of(), parser.getErrors());
+        assertEquals(bytes.length, parser.getByteCount());
+        assertEquals(describe(fromBuffer), describe(fromStream));
+    }
+
+    // ==================== SNAPSHOT TESTS ====================
+
+    /**
+     * Test Case 40: A snapshot reads back the same rows and is ignored once
+     * the source CSV changes.
+     */
+    @Test
+    @Order(40)
+    @DisplayName("Test Snapshot Round Trip And Staleness")
+    public void testSnapshotRoundTrip(@TempDir Path tempDir) throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        SalesColumns columns = (SalesColumns) getSalesData(loaded);
+        SalesSnapshot.SourceStamp stamp = new SalesSnapshot.SourceStamp(105_083, 1_700_000_000_000L);
+        Path snapshot = tempDir.resolve("sales.snapshot");
+
+        SalesSnapshot.write(columns, stamp, snapshot);
+        SalesColumns restored = SalesSnapshot.read(snapshot, stamp);
+
+        assertNotNull(restored);
+        assertEquals(describe(columns), describe(restored));
+        assertEquals(columns.get(7).getRegionCode(), restored.get(7).getRegionCode());
+        assertNull(SalesSnapshot.read(snapshot, new SalesSnapshot.SourceStamp(105_083, 1_700_000_000_001L)),
+                "Modified source");
+        assertNull(SalesSnapshot.read(tempDir.resolve("missing.snapshot"), stamp));
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshot, bytes);
+        IOException corrupt = assertThrows(IOException.class, () -> SalesSnapshot.read(snapshot, stamp));
+        assertTrue(corrupt.getMessage().contains("Checksum"));
+    }
+
+    /**
+     * Test Case 41: Loading with a snapshot writes it on the first run, uses
+     * it on later runs and rebuilds it when the CSV changes.
+     */
+    @Test
+    @Order(41)
+    @DisplayName("Test Load With Snapshot Reuses And Rebuilds")
+    public void testLoadWithSnapshot(@TempDir Path tempDir) throws Exception {
+        Path csv = tempDir.resolve("sales.csv");
+        Path snapshot = tempDir.resolve("sales.csv.snapshot");
+        Files.writeString(csv, "Product_ID,Sale_Date,Sales_Rep,Region,Sales_Amount,Quantity_Sold,"
+                + "Product_Category,Unit_Cost,Unit_Price,Customer_Type,Discount,Payment_Method,Sales_Channel\n"
+                + "1001,2023-01-15,Alice,North,5000.00,10,Electronics,200.00,500.00,New,0.10,Credit Card,Online\n");
+
+        assertEquals(1, new SalesDataAnalyzer().loadDataWithSnapshot(csv, snapshot));
+        assertTrue(Files.exists(snapshot));
+
+        // A valid snapshot is used even though the CSV on disk now differs in content
+        FileTime modified = Files.getLastModifiedTime(csv);
+        Files.writeString(csv, Files.readString(csv).replace("5000.00", "6000.00"));
+        Files.setLastModifiedTime(csv, modified);
+        SalesDataAnalyzer cached = new SalesDataAnalyzer();
+        assertEquals(1, cached.loadDataWithSnapshot(csv, snapshot));
+        assertEquals(5000.00, getSalesData(cached).get(0).getSalesAmount());
+
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(modified.toMillis() + 1000));
+        SalesDataAnalyzer rebuilt = new SalesDataAnalyzer();
+        assertEquals(1, rebuilt.loadDataWithSnapshot(csv, snapshot));
+        assertEquals(6000.00, getSalesData(rebuilt).get(0).getSalesAmount());
+        assertEquals(6000.00, SalesSnapshot.read(snapshot, SalesSnapshot.SourceStamp.of(csv)).get(0).getSalesAmount());
+    }
+
+    // ==================== PARALLEL MODE TESTS ====================
+
+    /**
+     * Test Case 42: Parallel mode prints the same reports as sequential mode.
+     */
+    @Test
+    @Order(42)
+    @DisplayName("Test Parallel Mode Matches Sequential Mode")
+    public void testParallelModeMatchesSequential() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        assertEquals(1, loaded.getParallelism());
+        assertThrows(IllegalArgumentException.class, () -> loaded.setParallelism(0));
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        List<String> reports = new ArrayList<>();
+        try {
+            for (int parallelism : new int[] {1, 2, 3, 8, 1}) {
+                loaded.setParallelism(parallelism);
+                loaded.runAllAnalyses();
+                loaded.analyzeHighValueTransactions(5000);
+                reports.add(outContent.toString());
+                outContent.reset();
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(1, loaded.getParallelism());
+        for (String report : reports) {
+            assertEquals(reports.get(0), report);
+        }
+    }
+
+    // ==================== INCREMENTAL APPEND TESTS ====================
+
+    /**
+     * Test Case 43: Appending sales one at a time and in batches gives the
+     * same reports as analyzing all of them at once.
+     */
+    @Test
+    @Order(43)
+    @DisplayName("Test Append Matches Full Recomputation")
+    public void testAppendMatchesRecomputation() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        List<SalesRecord> newSales = createTestSalesRecords();
+
+        SalesDataAnalyzer incremental = new SalesDataAnalyzer();
+        incremental.loadDataFromFile("/sales_data.csv");
+        incremental.append(newSales.get(0));
+        incremental.append(newSales.get(1), newSales.get(2));
+        incremental.appendBatch(newSales.subList(3, newSales.size()));
+
+        SalesColumns all = new SalesColumns();
+        all.addAll(getSalesData(loaded));
+        all.addAll(newSales);
+        SalesDataAnalyzer recomputed = new SalesDataAnalyzer();
+        Field salesDataField = SalesDataAnalyzer.class.getDeclaredField("salesData");
+        salesDataField.setAccessible(true);
+        salesDataField.set(recomputed, all);
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        recomputed.runAllAnalyses();
+        String expected = outContent.toString();
+        outContent.reset();
+        incremental.runAllAnalyses();
+        System.setOut(originalOut);
+
+        assertEquals(1000 + newSales.size(), incremental.getRecordCount());
+        assertEquals(expected, outContent.toString());
+        assertEquals(recomputed.aggregate(5000).getHighValueTransactions().size(),
+                incremental.aggregate(5000).getHighValueTransactions().size(), "Other thresholds rescan");
+    }
+
+    /**
+     * Test Case 44: Reports can be read while another thread appends sales.
+     */
+    @Test
+    @Order(44)
+    @DisplayName("Test Append Concurrently With Reads")
+    public void testAppendConcurrentlyWithReads() throws Exception {
+        List<SalesRecord> newSales = createTestSalesRecords();
+        int batches = 200;
+        Thread appender = new Thread(() -> {
+            for (int i = 0; i < batches; i++) {
+                analyzer.appendBatch(newSales);
+            }
+        });
+        appender.start();
+
+        long lastCount = 0;
+        while (appender.isAlive()) {
+            SalesAggregates aggregates = analyzer.aggregate(SalesDataAnalyzer.DEFAULT_HIGH_VALUE_THRESHOLD);
+            assertTrue(aggregates.getCount() >= lastCount, "Counts only grow");
+            assertEquals(aggregates.getCount(), aggregates.getSalesByRegion().values().stream()
+                    .mapToLong(DoubleSummaryStatistics::getCount).sum(), "Consistent copy");
+            lastCount = aggregates.getCount();
+        }
+        appender.join();
+
+        long expected = newSales.size() * (batches + 1L);
+        assertEquals(expected, analyzer.getRecordCount());
+        assertEquals(expected, analyzer.aggregate(SalesDataAnalyzer.DEFAULT_HIGH_VALUE_THRESHOLD).getCount());
+        assertEquals(expected, analyzer.aggregate(0).getCount(), "Full scan agrees");
+    }
+
+    // ==================== OLAP CUBE TESTS ====================
+
+    /**
+     * Test Case 45: Cube roll-ups match the aggregates of a full scan.
+     */
+    @Test
+    @Order(45)
+    @DisplayName("Test Cube Roll-Ups Match Aggregates")
+    public void testCubeRollUpsMatchAggregates() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        SalesAggregates aggregates = loaded.aggregate(9000);
+        SalesCube cube = loaded.buildCube();
+
+        SalesCube.Cell total = cube.total();
+        assertEquals(1000, total.count());
+        assertEquals(aggregates.getSalesSummary().getSum(), total.salesSum(), 1e-6);
+        assertEquals(aggregates.getSalesSummary().getMax(), total.salesMax());
+        assertEquals(aggregates.getProfitSummary().getMin(), total.profitMin());
+
+        aggregates.getSalesByRegion().forEach((region, stats) -> {
+            SalesCube.Cell cell = cube.rollUp(SalesCube.Dimension.REGION).get(List.of(region));
+            assertEquals(stats.getCount(), cell.count());
+            assertEquals(stats.getSum(), cell.salesSum(), 1e-6);
+            assertEquals(stats.getMin(), cell.salesMin());
+        });
+        aggregates.getSalesByMonth().forEach((month, stats) ->
+                assertEquals(stats.getSum(), cube.slice(SalesCube.Dimension.MONTH, month).total().salesSum(), 1e-6));
+        aggregates.getSalesByRegionAndQuarter().forEach((region, quarters) -> quarters.forEach((quarter, stats) ->
+                assertEquals(stats.getSum(), cube.rollUp(SalesCube.Dimension.REGION, SalesCube.Dimension.QUARTER)
+                        .get(List.of(region, quarter)).salesSum(), 1e-6)));
+        aggregates.getSalesChannels().forEach((channel, metrics) ->
+                assertEquals(metrics.profit.getSum(),
+                        cube.slice(SalesCube.Dimension.SALES_CHANNEL, channel).total().profitSum(), 1e-6));
+    }
+
+    /**
+     * Test Case 46: Slices and drill-downs on the cube select the same
+     * records as filtering them directly.
+     */
+    @Test
+    @Order(46)
+    @DisplayName("Test Cube Slice And Drill Down")
+    public void testCubeSliceAndDrillDown() {
+        SalesCube cube = analyzer.buildCube();
+        List<SalesRecord> records = createTestSalesRecords();
+
+        SalesCube northElectronics = cube.slice(SalesCube.Dimension.REGION, "North")
+                .slice(SalesCube.Dimension.CATEGORY, "Electronics");
+        assertEquals(records.stream().filter(r -> r.getRegion().equals("North")
+                && r.getProductCategory().equals("Electronics")).count(), northElectronics.total().count());
+
+        Map<List<String>, SalesCube.Cell> byQuarterAndChannel = cube.slice(SalesCube.Dimension.QUARTER, "Q1")
+                .rollUp(SalesCube.Dimension.MONTH, SalesCube.Dimension.SALES_CHANNEL);
+        for (Map.Entry<List<String>, SalesCube.Cell> entry : byQuarterAndChannel.entrySet()) {
+            List<String> key = entry.getKey();
+            double expected = records.stream()
+                    .filter(r -> r.getMonth().equals(key.get(0)) && r.getSalesChannel().equals(key.get(1)))
+                    .mapToDouble(SalesRecord::getSalesAmount).sum();
+            assertEquals(expected, entry.getValue().salesSum(), 1e-9, key.toString());
+        }
+        assertEquals(cube.slice(SalesCube.Dimension.QUARTER, "Q1").total().count(),
+                byQuarterAndChannel.values().stream().mapToLong(SalesCube.Cell::count).sum());
+
+        assertEquals(0, cube.slice(SalesCube.Dimension.REGION, "Atlantis").total().count());
+        assertEquals(0, cube.slice(SalesCube.Dimension.REGION, "North")
+                .slice(SalesCube.Dimension.REGION, "South").total().count());
+        assertThrows(IllegalArgumentException.class, () -> cube.slice(SalesCube.Dimension.QUARTER, "Q5"));
+    }
+
+    // ==================== QUERY ENGINE TESTS ====================
+
+    /**
+     * Test Case 47: Filtered, grouped, ordered and limited queries match
+     * the same computation done with streams, on records and on columns.
+     */
+    @Test
+    @Order(47)
+    @DisplayName("Test Query Filter Group Order Limit")
+    public void testQueryFilterGroupOrderLimit() {
+        List<SalesRecord> records = createTestSalesRecords();
+        SalesColumns columns = records.stream().collect(java.util.stream.Collectors.toCollection(SalesColumns::new));
+        SalesQuery.Aggregate total = SalesQuery.Aggregate.sum(SalesQuery.Measure.SALES_AMOUNT);
+        SalesQuery topReps = SalesQuery.aggregate(total, SalesQuery.Aggregate.count())
+                .where(SalesQuery.Dimension.REGION, "North")
+                .where(SalesQuery.Measure.DISCOUNT, discount -> discount > 0)
+                .groupBy(SalesQuery.Dimension.SALES_REP)
+                .orderBy(total, SalesQuery.Direction.DESCENDING)
+                .limit(2);
+        SalesQuery byMonth = SalesQuery.aggregate(SalesQuery.Aggregate.max(SalesQuery.Measure.PROFIT))
+                .groupBy(SalesQuery.Dimension.MONTH, SalesQuery.Dimension.SALES_CHANNEL)
+                .orderByKey();
+        SalesQuery cheapest = SalesQuery.rows()
+                .where(SalesQuery.Dimension.QUARTER, "Q1")
+                .orderBy(SalesQuery.Measure.SALES_AMOUNT, SalesQuery.Direction.ASCENDING)
+                .limit(3);
+        SalesQueryPlan plan = SalesQueryPlan.of(topReps, byMonth, cheapest);
+
+        assertEquals(EnumSet.of(SalesQuery.Measure.SALES_AMOUNT, SalesQuery.Measure.PROFIT,
+                SalesQuery.Measure.DISCOUNT), plan.measures(), "Only referenced measures are read");
+        assertEquals(EnumSet.of(SalesQuery.Dimension.REGION, SalesQuery.Dimension.SALES_REP,
+                SalesQuery.Dimension.MONTH, SalesQuery.Dimension.SALES_CHANNEL, SalesQuery.Dimension.QUARTER),
+                plan.dimensions());
+
+        Map<String, Double> expectedReps = new HashMap<>();
+        records.stream().filter(r -> r.getRegion().equals("North") && r.getDiscount() > 0)
+                .forEach(r -> expectedReps.merge(r.getSalesRep(), r.getSalesAmount(), Double::sum));
+        List<String> expectedTop = expectedReps.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(2).map(Map.Entry::getKey).toList();
+        Map<String, Double> expectedMaxProfit = new TreeMap<>();
+        records.forEach(r -> expectedMaxProfit.merge(r.getMonth() + "/" + r.getSalesChannel(), r.getProfit(), Math::max));
+        List<String> expectedCheapest = records.stream().filter(r -> r.getQuarter().equals("Q1"))
+                .sorted(Comparator.comparingDouble(SalesRecord::getSalesAmount))
+                .limit(3).map(SalesRecord::getProductId).toList();
+
+        for (List<? extends SalesRow> data : List.of(records, columns)) {
+            List<SalesQuery.Result> results = plan.execute(data);
+
+            List<SalesQuery.Group> reps = results.get(0).groups();
+            assertEquals(expectedTop, reps.stream().map(group -> group.key(0)).toList());
+            for (SalesQuery.Group group : reps) {
+                assertEquals(expectedReps.get(group.key(0)), group.value(total), 0.001);
+            }
+
+            Map<String, Double> maxProfit = new LinkedHashMap<>();
+            results.get(1).groups().forEach(group -> maxProfit.put(group.key(0) + "/" + group.key(1),
+                    group.value(SalesQuery.Aggregate.max(SalesQuery.Measure.PROFIT))));
+            assertEquals(new ArrayList<>(expectedMaxProfit.entrySet()), new ArrayList<>(maxProfit.entrySet()),
+                    "Ordered by month, then channel");
+
+            assertEquals(expectedCheapest, results.get(2).rows().stream().map(SalesRow::getProductId).toList());
+        }
+
+        SalesQuery.Group group = plan.execute(records).get(0).groups().get(0);
+        assertThrows(IllegalArgumentException.class, () -> group.statistics(SalesQuery.Measure.PROFIT));
+        assertThrows(IllegalStateException.class, () -> SalesQuery.rows().groupBy(SalesQuery.Dimension.REGION));
+        assertEquals(0, SalesQueryPlan.of(SalesQuery.aggregate(total).where(SalesQuery.Dimension.REGION, "Atlantis"))
+                .execute(records).get(0).groups().get(0).count(), "A global aggregate has one group, even if empty");
+    }
+
+    /**
+     * Test Case 48: The report queries fused into one scan give the same
+     * results as each query run alone, and partial executions combine.
+     */
+    @Test
+    @Order(48)
+    @DisplayName("Test Fused Queries Match Separate Queries")
+    public void testFusedQueriesMatchSeparateQueries() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        List<? extends SalesRow> data = getSalesData(loaded);
+        List<SalesQuery> reports = List.of(SalesAggregates.SUMMARY, SalesAggregates.SALES_BY_REGION,
+                SalesAggregates.SALES_BY_REP, SalesAggregates.CATEGORY_PERFORMANCE, SalesAggregates.MONTHLY_TREND,
+                SalesAggregates.CUSTOMER_TYPES, SalesAggregates.PROFIT_BY_PRODUCT, SalesAggregates.PAYMENT_METHODS,
+                SalesAggregates.QUARTERLY_BY_REGION, SalesAggregates.SALES_CHANNELS, SalesAggregates.DISCOUNT_IMPACT);
+        SalesQueryPlan fused = SalesQueryPlan.of(reports);
+        List<SalesQuery.Result> results = fused.execute(data);
+
+        SalesQueryPlan.Execution first = fused.newExecution();
+        SalesQueryPlan.Execution second = fused.newExecution();
+        first.acceptAll(data.subList(0, 400));
+        data.subList(400, data.size()).forEach(second::acceptTransient);
+        List<SalesQuery.Result> combined = first.combine(second).results();
+
+        for (int q = 0; q < reports.size(); q++) {
+            List<SalesQuery.Group> alone = SalesQueryPlan.of(reports.get(q)).execute(data).get(0).groups();
+            for (List<SalesQuery.Group> groups : List.of(results.get(q).groups(), combined.get(q).groups())) {
+                assertEquals(alone.size(), groups.size(), reports.get(q).toString());
+                for (int g = 0; g < alone.size(); g++) {
+                    assertEquals(alone.get(g).key(), groups.get(g).key(), reports.get(q).toString());
+                    assertEquals(alone.get(g).count(), groups.get(g).count());
+                    for (SalesQuery.Aggregate aggregate : reports.get(q).aggregates()) {
+                        assertEquals(alone.get(g).value(aggregate), groups.get(g).value(aggregate), 1e-6);
+                    }
+                }
+            }
+        }
+
+        SalesAggregates aggregates = loaded.aggregate(9000);
+        assertEquals(1000, aggregates.result(SalesAggregates.SUMMARY).groups().get(0).count());
+        assertEquals(aggregates.getHighValueTransactions().get(0).getSalesAmount(),
+                data.stream().mapToDouble(SalesRow::getSalesAmount).max().orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> fused.newExecution()
+                .combine(SalesQueryPlan.of(SalesAggregates.SUMMARY).newExecution()));
+    }
+
+    // ==================== TOP-N TESTS ====================
+
+    /**
+     * Test Case 49: The bounded-heap top-N matches a stable sort and limit,
+     * sequentially, in parallel and inside queries.
+     */
+    @Test
+    @Order(49)
+    @DisplayName("Test Top-N Matches Sort And Limit")
+    public void testTopNMatchesSortAndLimit() throws Exception {
+        Random random = new Random(42);
+        List<int[]> values = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            values.add(new int[] {random.nextInt(500), i}); // Many ties on the first value
+        }
+        Comparator<int[]> byValue = Comparator.comparingInt(v -> -v[0]);
+        for (int limit : new int[] {0, 1, 7, 100, 50_000}) {
+            List<int[]> expected = values.stream().sorted(byValue).limit(limit).toList();
+            List<int[]> sequential = values.stream().collect(TopN.collector(limit, byValue));
+            List<int[]> parallel = values.parallelStream().collect(TopN.collector(limit, byValue));
+            assertEquals(expected, sequential, "Ties keep encounter order, limit " + limit);
+            assertEquals(expected, parallel, "Partial heaps merge in encounter order, limit " + limit);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TopN<Integer>(-1, Comparator.naturalOrder()));
+
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        SalesAggregates aggregates = loaded.aggregate(100);
+        List<SalesQuery.Group> allProducts = aggregates.result(SalesAggregates.PROFIT_BY_PRODUCT).groups();
+        List<SalesQuery.Group> topProducts = aggregates.result(SalesAggregates.PROFIT_BY_PRODUCT, 5).groups();
+        assertEquals(allProducts.subList(0, 5).stream().map(SalesQuery.Group::key).toList(),
+                topProducts.stream().map(SalesQuery.Group::key).toList());
+
+        List<? extends SalesRow> highValue = aggregates.getHighValueTransactions();
+        assertEquals(SalesAggregates.HIGH_VALUE_LIMIT, highValue.size());
+        assertEquals(getSalesData(loaded).stream().map(SalesRow::getSalesAmount)
+                        .sorted(Comparator.reverseOrder()).limit(SalesAggregates.HIGH_VALUE_LIMIT).toList(),
+                highValue.stream().map(SalesRow::getSalesAmount).toList());
+    }
+
+    // ==================== SECONDARY INDEX TESTS ====================
+
+    /**
+     * Test Case 50: Indexed threshold and date range queries return the same
+     * rows in the same order as scans, and see appended sales.
+     */
+    @Test
+    @Order(50)
+    @DisplayName("Test Indexed Queries Match Scans")
+    public void testIndexedQueriesMatchScans() throws Exception {
+        SalesDataAnalyzer scanned = new SalesDataAnalyzer();
+        scanned.loadDataFromFile("/sales_data.csv");
+        SalesDataAnalyzer indexed = new SalesDataAnalyzer();
+        assertNull(indexed.getIndexStats(), "No statistics while indexing is off");
+        indexed.setIndexing(true);
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        try {
+            indexed.loadDataFromFile("/sales_data.csv");
+            indexed.getSalesAbove(0);
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals("", outContent.toString(), "Indexing reports through getIndexStats, not stdout");
+
+        SalesIndexes.Stats stats = indexed.getIndexStats();
+        assertEquals(scanned.getRecordCount(), stats.records());
+        assertEquals(4 * 16L + 20L * stats.records(), stats.estimatedBytes());
+        assertTrue(stats.buildNanos() > 0);
+        assertTrue(stats.toString().startsWith("Indexed "), stats::toString);
+
+        for (double threshold : new double[] {-1, 0, 100, 5000, 9000, 9999.99, 1e9}) {
+            assertEquals(describe(scanned.getSalesAbove(threshold)), describe(indexed.getSalesAbove(threshold)),
+                    "Above " + threshold);
+        }
+        LocalDate[][] ranges = {
+                {LocalDate.of(2023, 3, 3), LocalDate.of(2023, 4, 9)},
+                {LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 1)},
+                {LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1)},
+                {LocalDate.of(2023, 6, 1), LocalDate.of(2023, 5, 1)}
+        };
+        for (LocalDate[] range : ranges) {
+            List<SalesRow> expected = scanned.getSalesBetween(range[0], range[1]);
+            assertEquals(describe(expected), describe(indexed.getSalesBetween(range[0], range[1])),
+                    "Between " + range[0] + " and " + range[1]);
+        }
+        assertTrue(indexed.getSalesBetween(LocalDate.of(2023, 6, 1), LocalDate.of(2023, 5, 1)).isEmpty());
+
+        SalesRecord late = createRecord("9999", "2099-12-31", "Zed", "North", 1e8, 1,
+                "Food", 1, 2, "New", 0, "Cash", "Online");
+        indexed.append(late);
+        List<SalesRow> top = indexed.getSalesAbove(1e7);
+        assertEquals(List.of("9999"), top.stream().map(SalesRow::getProductId).toList(),
+                "Appended sales are indexed");
+        assertEquals(1, indexed.getSalesBetween(LocalDate.of(2099, 1, 1), LocalDate.of(2099, 12, 31)).size());
+
+        // "NaN" parses as an amount; it is above no threshold
+        SalesRecord notANumber = createRecord("NaN1", "2023-03-05", "Zed", "North", Double.NaN, 1,
+                "Food", 1, 2, "New", 0, "Cash", "Online");
+        scanned.append(late);
+        scanned.append(notANumber);
+        indexed.append(notANumber);
+        for (double threshold : new double[] {Double.NEGATIVE_INFINITY, 0, 9000, Double.NaN}) {
+            assertEquals(describe(scanned.getSalesAbove(threshold)), describe(indexed.getSalesAbove(threshold)),
+                    "Above " + threshold + " with a NaN amount");
+        }
+    }
+
+    // ==================== RESULT CACHE TESTS ====================
+
+    /**
+     * Test Case 51: Repeated analyses are served from the report cache until
+     * the data changes, and the cache evicts least recently used reports.
+     */
+    @Test
+    @Order(51)
+    @DisplayName("Test Result Cache Hits And Invalidation")
+    public void testResultCacheHitsAndInvalidation() throws Exception {
+        SalesDataAnalyzer cached = new SalesDataAnalyzer();
+        cached.loadDataFromFile("/sales_data.csv");
+
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+        String first;
+        String second;
+        String otherTopN;
+        String afterAppend;
+        try {
+            cached.analyzeTopSalesReps(5);
+            first = outContent.toString();
+            outContent.reset();
+            cached.analyzeTopSalesReps(5);
+            second = outContent.toString();
+            outContent.reset();
+            cached.analyzeTopSalesReps(3);
+            otherTopN = outContent.toString();
+            assertEquals(1, cached.getCacheHits());
+            assertEquals(2, cached.getCacheMisses());
+
+            cached.append(createRecord("9999", "2023-12-31", "Newcomer", "North", 1e8, 1,
+                    "Food", 1, 2, "New", 0, "Cash", "Online"));
+            outContent.reset();
+            cached.analyzeTopSalesReps(5);
+            afterAppend = outContent.toString();
+            assertEquals(3, cached.getCacheMisses(), "Appending invalidates cached reports");
+
+            cached.loadDataFromFile("/sales_data.csv");
+            outContent.reset();
+            cached.analyzeTopSalesReps(5);
+            assertEquals(first, outContent.toString());
+            assertEquals(4, cached.getCacheMisses(), "Reloading invalidates cached reports");
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertTrue(first.contains("TOP 5 SALES REPRESENTATIVES"));
+        assertEquals(first, second);
+        assertTrue(otherTopN.contains("TOP 3 SALES REPRESENTATIVES"));
+        assertTrue(afterAppend.contains("Newcomer"), "Reports after an append see the new sale");
+
+        ResultCache<String, Integer> cache = new ResultCache<>(2);
+        int[] computed = {0};
+        cache.get("a", () -> ++computed[0]);
+        cache.get("b", () -> ++computed[0]);
+        assertEquals(1, cache.get("a", () -> ++computed[0]));
+        cache.get("c", () -> ++computed[0]); // Evicts b, the least recently used
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a", () -> ++computed[0]));
+        assertEquals(4, cache.get("b", () -> ++computed[0]));
+        assertEquals(2, cache.hits());
+        assertEquals(4, cache.misses());
+        cache.setCapacity(0);
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> cache.setCapacity(-1));
+    }
+
+    // ==================== TIME BUCKET TESTS ====================
+
+    /**
+     * Test Case 52: Int time keys match java.time for every day of two
+     * centuries, and time roll-ups match a grouping of the matching rows.
+     */
+    @Test
+    @Order(52)
+    @DisplayName("Test Time Keys And Roll-Ups")
+    public void testTimeKeysAndRollups() throws Exception {
+        for (LocalDate date = LocalDate.of(1900, 1, 1); date.getYear() < 2100; date = date.plusDays(1)) {
+            int day = (int) date.toEpochDay();
+            int week = date.get(IsoFields.WEEK_BASED_YEAR) * 100 + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            assertEquals(date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth(),
+                    TimeBucket.yearMonthDay(day), date::toString);
+            assertEquals(week, TimeBucket.WEEK.key(day), date::toString);
+            assertEquals(date.getYear() * 100 + date.getMonthValue(), TimeBucket.MONTH.key(day));
+            assertEquals(date.getYear() * 4 + (date.getMonthValue() - 1) / 3, TimeBucket.QUARTER.key(day));
+            assertEquals(date.getYear(), TimeBucket.YEAR.key(day));
+        }
+        LocalDate sample = LocalDate.of(2021, 1, 3); // Sunday of ISO week 53 of 2020
+        assertEquals("2020-W53", TimeBucket.WEEK.label(TimeBucket.WEEK.key((int) sample.toEpochDay())));
+        assertEquals("2021-01", TimeBucket.MONTH.label(TimeBucket.MONTH.key((int) sample.toEpochDay())));
+        assertEquals("2021-Q1", TimeBucket.QUARTER.label(TimeBucket.QUARTER.key((int) sample.toEpochDay())));
+        assertEquals("2021-01-03", TimeBucket.DAY.label((int) sample.toEpochDay()));
+        assertEquals(YearMonth.from(sample).toString(), createRecord("1", "2021-01-03", "Alice", "North", 1, 1,
+                "Food", 1, 2, "New", 0, "Cash", "Online").getMonth());
+
+        SalesDataAnalyzer scanned = new SalesDataAnalyzer();
+        scanned.loadDataFromFile("/sales_data.csv");
+        SalesDataAnalyzer indexed = new SalesDataAnalyzer();
+        indexed.setIndexing(true);
+        indexed.loadDataFromFile("/sales_data.csv");
+        List<? extends SalesRow> rows = getSalesData(scanned);
+        LocalDate from = LocalDate.of(2023, 3, 3);
+        LocalDate to = LocalDate.of(2023, 4, 9);
+        for (TimeBucket bucket : TimeBucket.values()) {
+            Map<String, Long> expected = new TreeMap<>();
+            rows.stream()
+                    .filter(r -> !r.getSaleDate().isBefore(from) && !r.getSaleDate().isAfter(to))
+                    .forEach(r -> expected.merge(bucket.label(bucket.key(r.getSaleEpochDay())),
+                            Math.round(r.getSalesAmount() * 100), Long::sum));
+            for (SalesDataAnalyzer analyzer : List.of(scanned, indexed)) {
+                Map<String, Long> actual = new TreeMap<>();
+                analyzer.getSalesOverTime(bucket, from, to).forEach((key, stats) ->
+                        actual.put(bucket.label(key), Math.round(stats.getSum() * 100)));
+                assertEquals(expected, actual, bucket.toString());
+            }
+        }
+        assertEquals(rows.size(), scanned.getSalesOverTime(TimeBucket.YEAR, LocalDate.MIN.plusYears(1),
+                LocalDate.of(9999, 12, 31)).values().stream().mapToLong(DoubleSummaryStatistics::getCount).sum());
+        assertTrue(scanned.getSalesOverTime(TimeBucket.DAY, to, from).isEmpty());
+
+        // A plain double sum would round away every 1.0 added to 1e16
+        List<SalesRow> skewed = new ArrayList<>();
+        skewed.add(createRecord("1", "2023-03-15", "Alice", "North", 1e16, 1,
+                "Food", 1, 2, "New", 0, "Cash", "Online"));
+        for (int i = 0; i < 10; i++) {
+            skewed.add(createRecord("2", "2023-03-" + (16 + i), "Bob", "North", 1.0, 1,
+                    "Food", 1, 2, "New", 0, "Cash", "Online"));
+            skewed.add(createRecord("3", "2023-03-15", "Carol", "North", 1.0, 1,
+                    "Food", 1, 2, "New", 0, "Cash", "Online"));
+        }
+        DoubleSummaryStatistics march = TimeBucket.MONTH.rollup(skewed, from, to).get(202303);
+        assertEquals(21, march.getCount());
+        assertEquals(1e16 + 20, march.getSum(), "Sums are compensated per day and per bucket");
+    }
+
+    // ==================== MALFORMED STREAM TESTS ====================
+
+    /**
+     * Test Case 53: A stray quote inside a value does not hide the line ends
+     * after it from stream parsing, and a line that outgrows the limit after
+     * an unterminated quote is rejected on its own.
+     */
+    @Test
+    @Order(53)
+    @DisplayName("Test Stream Parsing With Stray Quotes")
+    public void testStreamParsingWithStrayQuotes() throws Exception {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; rows.length() < 3_000_000; i++) {
+            rows.append(i).append(",2023-04-0").append(1 + i % 9).append(",Rep").append(i % 7)
+                    .append(",West,").append(i % 1000).append(".5,1,Food,1,2,New,0,Cash,Online\n");
+        }
+        byte[] bytes = ("1052\"x,2023-04-01,Alice,West,10.5,1,Food,1,2,New,0,Cash,Online\n" + rows)
+                .getBytes(StandardCharsets.UTF_8);
+
+        SalesColumns fromBuffer = new SalesColumns();
+        new SalesCsvParser(false).parse(ByteBuffer.wrap(bytes), fromBuffer::add);
+        SalesColumns fromStream = new SalesColumns();
+        SalesCsvParser parser = new SalesCsvParser(false, 0, 1 << 16);
+        parser.parse(new ByteArrayInputStream(bytes), fromStream::add);
+
+        assertEquals(List.of(), parser.getErrors(), "Every line fits a 64 KB block");
+        assertEquals("1052\"x", fromStream.get(0).getProductId());
+        assertEquals(describe(fromBuffer), describe(fromStream));
+
+        byte[] broken = ("1001,2023-04-01,\"Alice,West,10.5,1,Food,1,2,New,0,Cash,Online\n" + rows)
+                .getBytes(StandardCharsets.UTF_8);
+        SalesColumns recovered = new SalesColumns();
+        SalesCsvParser limited = new SalesCsvParser(false, 0, 1 << 16);
+        limited.parse(new ByteArrayInputStream(broken), recovered::add);
+
+        assertEquals(List.of(new SalesCsvParser.ParseError(1, "Line longer than 65536 bytes")), limited.getErrors());
+        List<String> expected = describe(fromStream);
+        assertEquals(expected.subList(1, expected.size()), describe(recovered), "Only the unterminated line is lost");
+        assertEquals(fromStream.size(), limited.getLineCount());
+        assertEquals(broken.length, limited.getByteCount());
+    }
+
+    /** Reads the loaded dataset of an analyzer. */
+    @SuppressWarnings("unchecked")
+    private static List<? extends SalesRow> getSalesData(SalesDataAnalyzer analyzer) throws Exception {
+        Field salesDataField = SalesDataAnalyzer.class.getDeclaredField("salesData");
+        salesDataField.setAccessible(true);
+        return (List<? extends SalesRow>) salesDataField.get(analyzer);
+    }
+
+    /** Renders every field of every row, for comparing datasets by value. */
+    private static List<String> describe(List<? extends SalesRow> rows) {
+        return rows.stream()
+                .map(r -> String.join("|", r.getProductId(), r.getSaleDate().toString(), r.getSalesRep(),
+                        r.getRegion(), Double.toString(r.getSalesAmount()), Integer.toString(r.getQuantitySold()),
+                        r.getProductCategory(), Double.toString(r.getUnitCost()), Double.toString(r.getUnitPrice()),
+                        r.getCustomerType(), Double.toString(r.getDiscount()), r.getPaymentMethod(),
+                        r.getSalesChannel()))
+                .toList();
+    }
 }
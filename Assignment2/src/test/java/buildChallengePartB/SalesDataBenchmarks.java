@@ -0,0 +1,107 @@
+package buildChallengePartB;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Benchmarks for Sales Data Analysis; they only print timings.
+ *
+ * Timings depend on the machine and its load, so these are not part of the
+ * normal build and run only on demand:
+ * {@code mvn test -Dtest=SalesDataBenchmarks -Dbenchmarks=true}.
+ *
+ * @author Manan Vijayvargiya
+ * @version 1.0
+ * @since 2025-11-19
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SalesDataBenchmarks {
+
+    /**
+     * Benchmark 1: CSV parser throughput on the bundled data repeated to
+     * about 40 MB, parsed into a summing sink.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Benchmark CSV Parser Throughput")
+    public void benchmarkCsvParserThroughput() throws Exception {
+        byte[] csv;
+        try (InputStream is = SalesDataAnalyzer.class.getResourceAsStream("/sales_data.csv")) {
+            csv = is.readAllBytes();
+        }
+        long rowsPerCopy = new String(csv, StandardCharsets.UTF_8).lines().skip(1).count();
+
+        int body = new String(csv, StandardCharsets.UTF_8).indexOf('\n') + 1;
+        int copies = 40_000_000 / (csv.length - body);
+        ByteBuffer large = ByteBuffer.allocate((csv.length - body) * copies);
+        for (int i = 0; i < copies; i++) {
+            large.put(csv, body, csv.length - body);
+        }
+        large.flip();
+        double[] total = new double[1];
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            SalesCsvParser parser = new SalesCsvParser(false);
+            long start = System.nanoTime();
+            long rows = parser.parse(large, row -> total[0] += row.getSalesAmount());
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            assertEquals(rowsPerCopy * copies, rows);
+        }
+        System.out.printf("CSV parser throughput: %.0f MB/s%n", large.remaining() / 1e6 / (bestNanos / 1e9));
+    }
+
+    /**
+     * Benchmark 2: Parallel aggregation speedup by core count, on the
+     * bundled data repeated to one million rows.
+     */
+    @Test
+    @Order(2)
+    @DisplayName("Benchmark Parallel Mode Speedup By Core Count")
+    public void benchmarkParallelModeSpeedup() throws Exception {
+        SalesDataAnalyzer loaded = new SalesDataAnalyzer();
+        loaded.loadDataFromFile("/sales_data.csv");
+        SalesColumns base = (SalesColumns) salesData(loaded);
+        SalesColumns large = new SalesColumns(base.size() * 1000);
+        for (int i = 0; i < 1000; i++) {
+            large.appendAll(base);
+        }
+        SalesDataAnalyzer analyzer = new SalesDataAnalyzer();
+        Field salesDataField = SalesDataAnalyzer.class.getDeclaredField("salesData");
+        salesDataField.setAccessible(true);
+        salesDataField.set(analyzer, large);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long sequentialNanos = 0;
+        for (int parallelism = 1; parallelism <= Math.max(cores, 2); parallelism *= 2) {
+            analyzer.setParallelism(parallelism);
+            long bestNanos = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                assertEquals(large.size(), analyzer.aggregate(9000).getCount());
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            }
+            if (parallelism == 1) {
+                sequentialNanos = bestNanos;
+            }
+            System.out.printf("Parallelism %2d of %d cores: %4d ms, speedup %.2fx%n", parallelism, cores,
+                    bestNanos / 1_000_000, (double) sequentialNanos / bestNanos);
+        }
+        analyzer.setParallelism(1);
+    }
+
+    /** Reads the loaded dataset of an analyzer. */
+    @SuppressWarnings("unchecked")
+    private static List<? extends SalesRow> salesData(SalesDataAnalyzer analyzer) throws Exception {
+        Field salesDataField = SalesDataAnalyzer.class.getDeclaredField("salesData");
+        salesDataField.setAccessible(true);
+        return (List<? extends SalesRow>) salesDataField.get(analyzer);
+    }
+}